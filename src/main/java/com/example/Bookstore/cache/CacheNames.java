@@ -0,0 +1,22 @@
+package com.example.Bookstore.cache;
+
+/**
+ * {@link TwoLevelCacheManager} 가 관리하는 캐시 이름입니다. @Cacheable / @CacheEvict 에서 사용합니다.
+ */
+public final class CacheNames {
+
+    //도서 상세 (key : bookId)
+    public static final String BOOK_DETAIL = "bookDetail";
+
+    //인기 검색어 Top 10
+    public static final String TOP_KEYWORDS = "topKeywords";
+
+    //최근 구간 인기 검색어 (key : window:limit)
+    public static final String WINDOW_KEYWORDS = "windowKeywords";
+
+    //지금 뜨는 도서 (key : categoryId, 전체는 'all')
+    public static final String TRENDING_BOOKS = "trendingBooks";
+
+    private CacheNames() {
+    }
+}
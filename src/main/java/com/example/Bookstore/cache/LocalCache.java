@@ -0,0 +1,185 @@
+package com.example.Bookstore.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 힙에 두는 읽기 전용 캐시입니다. 항목 수가 아니라 값의 추정 크기(weigher) 합으로 용량을 제한하고,
+ * 넘치면 가장 오래 쓰이지 않은 항목(LRU)부터 내보냅니다. 항목은 TTL 이 지나면 만료됩니다.
+ * hit / miss / eviction 수와 크기는 Micrometer 지표(cache.gets, cache.evictions, cache.size ...)로 노출합니다.
+ */
+public class LocalCache<K, V> implements MeterBinder {
+
+    private record Entry<V>(V value, long weight, long expiresAt) {
+    }
+
+    private final String name;
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final ToLongFunction<? super V> weigher;
+
+    //접근 순서 LinkedHashMap : 맨 앞이 가장 오래 쓰이지 않은 항목
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    //무효화 세대 : 로딩 도중 무효화되면 그 결과는 넣지 않음
+    private final AtomicLong generation = new AtomicLong();
+
+    public LocalCache(String name, long maxWeight, Duration ttl, ToLongFunction<? super V> weigher) {
+        if (maxWeight <= 0) throw new IllegalArgumentException("maxWeight 는 0보다 커야 합니다. maxWeight = " + maxWeight);
+        this.name = Objects.requireNonNull(name, "name 은 null 일 수 없습니다");
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = Objects.requireNonNull(weigher, "weigher 는 null 일 수 없습니다");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    //캐시에 있으면 반환, 없으면 loader 로 읽어서 넣음 (loader 가 null 을 주면 캐시하지 않음)
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) return cached;
+
+        long startedAt = generation.get();
+        V value = loader.apply(key);
+        if (value != null) put(key, value, startedAt);
+        return value;
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && isExpired(entry, System.nanoTime())) {
+                remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, generation.get());
+    }
+
+    //로딩을 시작할 때의 세대 : 로딩 후 put(key, value, startedAt) 에 넘기면 그 사이 무효화된 결과는 넣지 않음
+    public long generation() {
+        return generation.get();
+    }
+
+    public synchronized void invalidate(K key) {
+        generation.incrementAndGet();
+        remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return totalWeight;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", name).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value.")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", name).tag("result", "miss")
+                .description("The number of times cache lookup methods have returned an uncached value.")
+                .register(registry);
+        FunctionCounter.builder("cache.puts", puts, LongAdder::sum)
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", name)
+                .description("Entries removed because of size limit or expiry.")
+                .register(registry);
+        Gauge.builder("cache.size", this, LocalCache::size)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.weight", this, LocalCache::weight)
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    //startedAt 이후 무효화가 있었으면 넣지 않음
+    public void put(K key, V value, long startedAt) {
+        long weight = Math.max(0, weigher.applyAsLong(value));
+        synchronized (this) {
+            if (generation.get() != startedAt) return;
+            remove(key);
+            //한 항목이 전체 용량보다 크면 캐시하지 않음
+            if (weight > maxWeight) return;
+
+            entries.put(key, new Entry<>(value, weight, System.nanoTime() + ttlNanos));
+            totalWeight += weight;
+            puts.increment();
+            evictIfNeeded();
+        }
+    }
+
+    //용량을 넘으면 가장 오래 쓰이지 않은 항목부터 제거
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext() && totalWeight > maxWeight) {
+            Entry<V> eldest = it.next().getValue();
+            it.remove();
+            totalWeight -= eldest.weight();
+            evictions.increment();
+        }
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) totalWeight -= removed.weight();
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.expiresAt() >= 0;
+    }
+}
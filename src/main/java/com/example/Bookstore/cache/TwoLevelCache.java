@@ -0,0 +1,246 @@
+package com.example.Bookstore.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * L1(노드 힙의 {@link LocalCache}) + L2(Redis) 2단 캐시입니다.
+ * <ul>
+ *   <li>조회 : L1 → L2 → (없으면) 호출 측 로딩. L2 에서 찾은 값은 L1 에 채웁니다.</li>
+ *   <li>저장/삭제 : L2 를 먼저 바꾸고 L1 을 갱신한 뒤, 다른 노드의 L1 을 비우도록 무효화 메시지를 발행합니다.</li>
+ * </ul>
+ * 조회/로딩은 시작할 때의 L1 무효화 세대를 들고 있다가, 그 사이 무효화가 있었으면 읽은 값을 L1/L2 에 다시 쓰지 않습니다.
+ * 다른 노드의 무효화는 메시지가 도착해야 세대에 반영되므로, 삭제 후 evictionRedelay 만큼 지나 L2 를 한 번 더 지웁니다.
+ * 값은 JDK 직렬화로 L2 에 저장하며, 직렬화된 바이트 수를 L1 용량 계산에 그대로 씁니다.
+ * Redis 장애 시에는 경고만 남기고 L1 만으로 동작합니다.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache implements MeterBinder {
+
+    //L1 에는 역직렬화된 값과 직렬화 크기를 함께 보관
+    private record Stored(Object value, long bytes) {
+    }
+
+    /**
+     * 다른 노드에 L1 무효화를 알리는 통로입니다. key 가 null 이면 캐시 전체입니다.
+     */
+    public interface InvalidationPublisher {
+        void publish(String cacheName, String key);
+    }
+
+    private final String name;
+    private final LocalCache<String, Stored> local;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final RedisSerializer<Object> serializer;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final InvalidationPublisher publisher;
+    //삭제 직전에 로딩을 시작한 다른 노드가 지운 뒤에 L2 에 써 넣은 값을 다시 지우는 지연 (0 이면 사용 안 함)
+    private final Duration evictionRedelay;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder remoteErrors = new LongAdder();
+
+    public TwoLevelCache(String name, long localMaxBytes, Duration localTtl, Duration ttl, String keyPrefix,
+                         RedisTemplate<String, byte[]> redisTemplate, RedisSerializer<Object> serializer,
+                         InvalidationPublisher publisher, Duration evictionRedelay, ScheduledExecutorService scheduler) {
+        super(true);
+        this.name = name;
+        this.local = new LocalCache<>(name, localMaxBytes, localTtl, Stored::bytes);
+        this.redisTemplate = redisTemplate;
+        this.serializer = serializer;
+        this.keyPrefix = keyPrefix + name + "::";
+        this.ttl = ttl;
+        this.publisher = publisher;
+        this.evictionRedelay = evictionRedelay == null ? Duration.ZERO : evictionRedelay;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = toCacheKey(key);
+        long startedAt = local.generation();
+        Stored stored = local.getIfPresent(cacheKey);
+        if (stored != null) return stored.value();
+
+        byte[] bytes = readRemote(cacheKey);
+        if (bytes == null) return null;
+        Object value = serializer.deserialize(bytes);
+        local.put(cacheKey, new Stored(value, bytes.length), startedAt);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        //로딩 전의 세대 : 로딩 중 커밋된 변경의 무효화보다 늦게 옛 값을 써 넣지 않도록
+        long startedAt = local.generation();
+        ValueWrapper cached = get(key);
+        if (cached != null) return (T) cached.get();
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        putLoaded(toCacheKey(key), toStoreValue(value), startedAt);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = toCacheKey(key);
+        Object storeValue = toStoreValue(value);
+        byte[] bytes = serializer.serialize(storeValue);
+        writeRemote(cacheKey, bytes);
+        local.put(cacheKey, new Stored(storeValue, bytes == null ? 0 : bytes.length));
+        publisher.publish(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = toCacheKey(key);
+        deleteRemote(List.of(cacheKey));
+        local.invalidate(cacheKey);
+        publisher.publish(name, cacheKey);
+        scheduleRedelete(cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        deleteRemote(scanRemoteKeys());
+        local.invalidateAll();
+        publisher.publish(name, null);
+    }
+
+    //다른 노드에서 온 무효화 메시지 처리 : L1 만 비움 (L2 는 보낸 쪽이 이미 변경)
+    public void evictLocal(String cacheKey) {
+        if (cacheKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(cacheKey);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        local.bindTo(registry);
+        FunctionCounter.builder("cache.remote.gets", remoteHits, LongAdder::sum)
+                .tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.remote.gets", remoteMisses, LongAdder::sum)
+                .tag("cache", name).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.remote.errors", remoteErrors, LongAdder::sum)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    //로딩한 값 저장 : startedAt 이후 무효화가 있었으면 L1/L2 모두 쓰지 않음
+    private void putLoaded(String cacheKey, Object storeValue, long startedAt) {
+        if (local.generation() != startedAt) return;
+        byte[] bytes = serializer.serialize(storeValue);
+        writeRemote(cacheKey, bytes);
+        if (local.generation() != startedAt) {
+            //SET 도중 무효화됨 : 무효화의 삭제보다 SET 이 늦었을 수 있으므로 다시 지움
+            deleteRemote(List.of(cacheKey));
+            return;
+        }
+        local.put(cacheKey, new Stored(storeValue, bytes == null ? 0 : bytes.length), startedAt);
+        publisher.publish(name, cacheKey);
+    }
+
+    private void scheduleRedelete(String cacheKey) {
+        if (scheduler == null || evictionRedelay.isZero() || evictionRedelay.isNegative()) return;
+        try {
+            scheduler.schedule(() -> {
+                deleteRemote(List.of(cacheKey));
+                local.invalidate(cacheKey);
+                publisher.publish(name, cacheKey);
+            }, evictionRedelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("[TwoLevelCache] re-delete skipped during shutdown. key = {}", cacheKey);
+        }
+    }
+
+    private String toCacheKey(Object key) {
+        return keyPrefix + key;
+    }
+
+    private byte[] readRemote(String cacheKey) {
+        try {
+            byte[] bytes = redisTemplate.opsForValue().get(cacheKey);
+            if (bytes == null) {
+                remoteMisses.increment();
+            } else {
+                remoteHits.increment();
+            }
+            return bytes;
+        } catch (RuntimeException e) {
+            remoteFailed("read", cacheKey, e);
+            return null;
+        }
+    }
+
+    private void writeRemote(String cacheKey, byte[] bytes) {
+        try {
+            redisTemplate.opsForValue().set(cacheKey, bytes, ttl);
+        } catch (RuntimeException e) {
+            remoteFailed("write", cacheKey, e);
+        }
+    }
+
+    private void deleteRemote(List<String> cacheKeys) {
+        if (cacheKeys.isEmpty()) return;
+        try {
+            redisTemplate.delete(cacheKeys);
+        } catch (RuntimeException e) {
+            remoteFailed("delete", cacheKeys.toString(), e);
+        }
+    }
+
+    private List<String> scanRemoteKeys() {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(500).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        } catch (RuntimeException e) {
+            remoteFailed("scan", keyPrefix + "*", e);
+        }
+        return keys;
+    }
+
+    private void remoteFailed(String operation, String cacheKey, RuntimeException e) {
+        remoteErrors.increment();
+        log.warn("[TwoLevelCache] redis {} failed, falling back to local cache. key = {}", operation, cacheKey, e);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.Bookstore.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * {@link TwoLevelCache} 를 만들어 관리하는 CacheManager 입니다.
+ * 캐시별 설정(Spec)이 없으면 기본 설정으로 만들고, 노드 간 L1 무효화는 Redis pub/sub 채널로 주고받습니다.
+ * 메시지 형식 : {@code nodeId|cacheName|key} (key 가 비어 있으면 캐시 전체)
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractCacheManager implements DisposableBean {
+
+    /**
+     * 캐시 하나의 설정입니다. localTtl 이 null 이면 ttl 을 따릅니다.
+     */
+    public record Spec(Duration ttl, Duration localTtl, long localMaxBytes) {
+        public Duration effectiveLocalTtl() {
+            return localTtl == null ? ttl : localTtl;
+        }
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Spec> specs;
+    private final Spec defaultSpec;
+    private final String keyPrefix;
+    private final String channel;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisSerializer<Object> serializer;
+    private final MeterRegistry meterRegistry;
+    private final Duration evictionRedelay;
+    //캐시들이 함께 쓰는 지연 재삭제 스레드
+    private final ScheduledExecutorService redeleteScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "cache-redelete");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TwoLevelCacheManager(Map<String, Spec> specs, Spec defaultSpec, String keyPrefix, String channel,
+                                RedisTemplate<String, byte[]> redisTemplate, StringRedisTemplate stringRedisTemplate,
+                                RedisSerializer<Object> serializer, MeterRegistry meterRegistry,
+                                Duration evictionRedelay) {
+        this.specs = Map.copyOf(specs);
+        this.defaultSpec = defaultSpec;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.serializer = serializer;
+        this.meterRegistry = meterRegistry;
+        this.evictionRedelay = evictionRedelay;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return specs.keySet().stream().map(this::createCache).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    //pub/sub 으로 받은 무효화 메시지 처리 (자기 노드가 보낸 메시지는 무시)
+    public void handleInvalidation(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) return;
+
+        Cache cache = lookupCache(parts[1]);
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.evictLocal(parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Spec spec = specs.getOrDefault(name, defaultSpec);
+        TwoLevelCache cache = new TwoLevelCache(name, spec.localMaxBytes(), spec.effectiveLocalTtl(), spec.ttl(),
+                keyPrefix, redisTemplate, serializer, this::publish, evictionRedelay, redeleteScheduler);
+        if (meterRegistry != null) {
+            cache.bindTo(meterRegistry);
+        }
+        return cache;
+    }
+
+    @Override
+    public void destroy() {
+        redeleteScheduler.shutdownNow();
+    }
+
+    private void publish(String cacheName, String key) {
+        String message = String.join(SEPARATOR, List.of(nodeId, cacheName, key == null ? "" : key));
+        try {
+            stringRedisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            log.warn("[TwoLevelCacheManager] invalidation publish failed. cache = {}, key = {}", cacheName, key, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 도서 상세 조회 이벤트 비동기 처리 설정(app.book-views.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.book-views")
+public class BookViewProperties {
+
+  /**
+   * 처리 대기 중인 조회 이벤트 큐 크기. 가득 차면 새 이벤트는 버리고 버린 수만 기록합니다.
+   */
+  private int queueCapacity = 10000;
+
+  /**
+   * 큐를 비우는 소비자 스레드 수.
+   */
+  private int consumers = 1;
+
+  /**
+   * 소비자가 한 번에 꺼내 처리하는 최대 이벤트 수.
+   */
+  private int batchSize = 500;
+
+  /**
+   * 모아 둔 조회수 증가분을 DB 에 반영하는 주기.
+   */
+  private Duration flushInterval = Duration.ofSeconds(5);
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public int getConsumers() {
+    return consumers;
+  }
+
+  public void setConsumers(int consumers) {
+    this.consumers = consumers;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Duration getFlushInterval() {
+    return flushInterval;
+  }
+
+  public void setFlushInterval(Duration flushInterval) {
+    this.flushInterval = flushInterval;
+  }
+}
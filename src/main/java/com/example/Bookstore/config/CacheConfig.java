@@ -0,0 +1,67 @@
+package com.example.Bookstore.config;
+
+import com.example.Bookstore.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 캐시 설정입니다. @Cacheable 등은 {@link TwoLevelCacheManager}(L1 힙 + L2 Redis)를 사용합니다.
+ * 캐시별 L1 hit/miss/eviction 과 L2 hit/miss/error 는 Micrometer 지표로 노출됩니다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  @Bean
+  public TwoLevelCacheManager cacheManager(TwoLevelCacheProperties properties,
+                                           RedisConnectionFactory connectionFactory,
+                                           StringRedisTemplate stringRedisTemplate,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+    //L2 값은 캐시가 직접 직렬화한 바이트 그대로 저장
+    RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+    redisTemplate.setConnectionFactory(connectionFactory);
+    redisTemplate.setKeySerializer(RedisSerializer.string());
+    redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+    redisTemplate.afterPropertiesSet();
+
+    Map<String, TwoLevelCacheManager.Spec> specs = new LinkedHashMap<>();
+    properties.getSpecs().forEach((name, spec) -> specs.put(name, toSpec(spec)));
+
+    //devtools 재시작 클래스로더에서도 캐시 값 클래스를 찾을 수 있도록 애플리케이션 클래스로더 사용
+    RedisSerializer<Object> serializer = new JdkSerializationRedisSerializer(CacheConfig.class.getClassLoader());
+
+    return new TwoLevelCacheManager(specs, toSpec(properties.getDefaults()), properties.getRedisKeyPrefix(),
+        properties.getInvalidationChannel(), redisTemplate, stringRedisTemplate, serializer,
+        meterRegistry.getIfAvailable(), properties.getEvictionRedelay());
+  }
+
+  //다른 노드가 보낸 L1 무효화 메시지 구독
+  @Bean
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          TwoLevelCacheManager cacheManager) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(
+        (message, pattern) -> cacheManager.handleInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+        new ChannelTopic(cacheManager.getChannel()));
+    return container;
+  }
+
+  private static TwoLevelCacheManager.Spec toSpec(TwoLevelCacheProperties.Spec spec) {
+    return new TwoLevelCacheManager.Spec(spec.getTtl(), spec.getLocalTtl(), spec.getLocalMaxBytes());
+  }
+}
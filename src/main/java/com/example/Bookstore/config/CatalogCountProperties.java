@@ -0,0 +1,53 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 도서 목록 총 개수 캐시 설정(app.catalog.count.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.catalog.count")
+public class CatalogCountProperties {
+
+  /**
+   * 계산한 총 개수를 다시 세지 않고 재사용하는 시간.
+   */
+  private Duration ttl = Duration.ofMinutes(5);
+
+  /**
+   * 보관할 (조회 종류, 카테고리, 검색어) 조합의 최대 개수.
+   */
+  private int maxEntries = 10_000;
+
+  /**
+   * true 면 요청 처리 중에는 COUNT 를 실행하지 않고 "약 N권" 추정치를 돌려줍니다.
+   * 만료된 값은 그대로 쓰면서 백그라운드에서 다시 세고, 처음 보는 조합은 현재 페이지로 알 수 있는 최소값을 씁니다.
+   */
+  private boolean estimate = false;
+
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  public void setTtl(Duration ttl) {
+    this.ttl = ttl;
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public void setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  public boolean isEstimate() {
+    return estimate;
+  }
+
+  public void setEstimate(boolean estimate) {
+    this.estimate = estimate;
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 한정 판매(flash sale) 재고 예약 설정(app.flash-sale.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.flash-sale")
+public class FlashSaleProperties {
+
+  /**
+   * true 면 bookIds 의 재고를 Redis 로 옮겨 예약 방식으로 판매합니다.
+   */
+  private boolean enabled = false;
+
+  /**
+   * 한정 판매 도서 id 목록.
+   */
+  private Set<Long> bookIds = new LinkedHashSet<>();
+
+  /**
+   * Redis 키 접두사. 재고 {prefix}stock:{bookId}, 예약 {prefix}reservation:{id},
+   * 만료 대기 {prefix}reservations, DB 반영 대기 {prefix}sold 를 씁니다.
+   * Redis Cluster 에서는 스크립트의 키가 한 슬롯에 모이도록 "{flash}:" 처럼 해시 태그를 넣어야 합니다.
+   */
+  private String keyPrefix = "flash:";
+
+  /**
+   * 예약 유지 시간. 확정/해제되지 않은 예약은 지나면 재고로 돌려놓습니다.
+   */
+  private Duration reservationTtl = Duration.ofMinutes(10);
+
+  /**
+   * 확정된 판매량을 inventory 테이블에 반영하는 작업이 여러 노드에서 겹치지 않도록 잡는 락의 유지 시간.
+   */
+  private Duration reconcileLockTtl = Duration.ofMinutes(1);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Set<Long> getBookIds() {
+    return bookIds;
+  }
+
+  public void setBookIds(Set<Long> bookIds) {
+    this.bookIds = bookIds;
+  }
+
+  public String getKeyPrefix() {
+    return keyPrefix;
+  }
+
+  public void setKeyPrefix(String keyPrefix) {
+    this.keyPrefix = keyPrefix;
+  }
+
+  public Duration getReservationTtl() {
+    return reservationTtl;
+  }
+
+  public void setReservationTtl(Duration reservationTtl) {
+    this.reservationTtl = reservationTtl;
+  }
+
+  public Duration getReconcileLockTtl() {
+    return reconcileLockTtl;
+  }
+
+  public void setReconcileLockTtl(Duration reconcileLockTtl) {
+    this.reconcileLockTtl = reconcileLockTtl;
+  }
+}
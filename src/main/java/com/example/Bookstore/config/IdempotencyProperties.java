@@ -0,0 +1,65 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 멱등 키(Idempotency-Key) 저장소 설정(app.idempotency.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+  /**
+   * Redis 키 접두사. 실제 키는 {prefix}{scope}:{ownerId}:{key} 입니다.
+   */
+  private String keyPrefix = "idem:";
+
+  /**
+   * 완료된 요청의 결과를 보관하는 시간. 이 안에 같은 키로 다시 요청하면 처음 결과를 돌려줍니다.
+   */
+  private Duration ttl = Duration.ofHours(24);
+
+  /**
+   * 처리 중 표시의 유지 시간. 처리하던 노드가 죽어도 이 시간이 지나면 같은 키로 다시 시도할 수 있습니다.
+   */
+  private Duration inProgressTtl = Duration.ofSeconds(30);
+
+  /**
+   * 허용하는 키의 최대 길이. (orders.idempotency_key 컬럼 길이와 같음)
+   */
+  private int maxKeyLength = 64;
+
+  public String getKeyPrefix() {
+    return keyPrefix;
+  }
+
+  public void setKeyPrefix(String keyPrefix) {
+    this.keyPrefix = keyPrefix;
+  }
+
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  public void setTtl(Duration ttl) {
+    this.ttl = ttl;
+  }
+
+  public Duration getInProgressTtl() {
+    return inProgressTtl;
+  }
+
+  public void setInProgressTtl(Duration inProgressTtl) {
+    this.inProgressTtl = inProgressTtl;
+  }
+
+  public int getMaxKeyLength() {
+    return maxKeyLength;
+  }
+
+  public void setMaxKeyLength(int maxKeyLength) {
+    this.maxKeyLength = maxKeyLength;
+  }
+}
@@ -0,0 +1,117 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문/결제 이벤트 outbox 릴레이 설정(app.outbox.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+  /**
+   * 릴레이가 한 트랜잭션에서 잠그고 전달하는 최대 이벤트 수.
+   */
+  private int batchSize = 100;
+
+  /**
+   * 한 번의 릴레이 실행에서 처리하는 최대 묶음 수. 밀린 이벤트가 많아도 스케줄러를 오래 붙잡지 않게 합니다.
+   */
+  private int maxBatchesPerRun = 10;
+
+  /**
+   * 전달 실패 시 첫 재시도까지의 대기 시간. 실패할 때마다 두 배로 늘어납니다.
+   */
+  private Duration retryBackoff = Duration.ofSeconds(5);
+
+  /**
+   * 재시도 대기 시간 상한.
+   */
+  private Duration maxRetryBackoff = Duration.ofMinutes(10);
+
+  /**
+   * 이 횟수만큼 실패한 이벤트는 전달을 포기(dead_at 기록)하고 더 이상 재시도하지 않습니다.
+   */
+  private int maxAttempts = 20;
+
+  /**
+   * 전달을 마친 이벤트를 보관하는 기간.
+   */
+  private Duration retention = Duration.ofDays(7);
+
+  /**
+   * 설정하면 모든 이벤트를 이 Redis Stream 에도 XADD 합니다. (비우면 사용 안 함)
+   */
+  private String redisStream = "";
+
+  /**
+   * Redis Stream 에 남길 대략적인 최대 항목 수. (MAXLEN ~)
+   */
+  private long redisStreamMaxLength = 100_000;
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getMaxBatchesPerRun() {
+    return maxBatchesPerRun;
+  }
+
+  public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+    this.maxBatchesPerRun = maxBatchesPerRun;
+  }
+
+  public Duration getRetryBackoff() {
+    return retryBackoff;
+  }
+
+  public void setRetryBackoff(Duration retryBackoff) {
+    this.retryBackoff = retryBackoff;
+  }
+
+  public Duration getMaxRetryBackoff() {
+    return maxRetryBackoff;
+  }
+
+  public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+    this.maxRetryBackoff = maxRetryBackoff;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public Duration getRetention() {
+    return retention;
+  }
+
+  public void setRetention(Duration retention) {
+    this.retention = retention;
+  }
+
+  public String getRedisStream() {
+    return redisStream;
+  }
+
+  public void setRedisStream(String redisStream) {
+    this.redisStream = redisStream;
+  }
+
+  public long getRedisStreamMaxLength() {
+    return redisStreamMaxLength;
+  }
+
+  public void setRedisStreamMaxLength(long redisStreamMaxLength) {
+    this.redisStreamMaxLength = redisStreamMaxLength;
+  }
+}
@@ -0,0 +1,118 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비동기 결제 처리 설정(app.payment.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.payment")
+public class PaymentProperties {
+
+  /**
+   * PG 요청(승인/매입/환불/조회)을 보내는 스레드 수이자 동시에 진행되는 PG 호출 수의 상한.
+   * 요청 스레드와 주문 트랜잭션은 PG 응답을 기다리지 않습니다.
+   */
+  private int dispatcherThreads = 4;
+
+  /**
+   * 실행을 기다리는 PG 요청의 최대 수. 가득 차면 새 요청은 버리고(결제는 대기 상태로 남아 조회 주기에 다시 다룸) 지표에 남깁니다.
+   */
+  private int dispatcherQueueCapacity = 200;
+
+  /**
+   * PG 호출 한 번의 제한 시간. 넘기면 호출 스레드를 인터럽트하고 실패로 셉니다.
+   */
+  private Duration callTimeout = Duration.ofSeconds(3);
+
+  /**
+   * 연속으로 이만큼 실패(오류/시간 초과)하면 회로를 열어 PG 호출을 잠시 멈춥니다.
+   */
+  private int circuitFailureThreshold = 5;
+
+  /**
+   * 회로를 열어 두는 시간. 지나면 호출 하나로 PG 가 회복됐는지 확인합니다.
+   */
+  private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+  /**
+   * PENDING/AUTHORIZED 상태로 이 시간 동안 바뀌지 않은 결제는 콜백을 놓친 것으로 보고 PG 에 상태를 조회합니다.
+   */
+  private Duration pollAfter = Duration.ofSeconds(30);
+
+  /**
+   * 한 번의 조회 주기에서 다루는 최대 결제 수.
+   */
+  private int pollBatchSize = 100;
+
+  /**
+   * 생성 후 이 시간이 지나도 승인되지 않은 결제는 실패로 처리하고 주문을 취소합니다.
+   */
+  private Duration authorizationTimeout = Duration.ofMinutes(15);
+
+  public int getDispatcherThreads() {
+    return dispatcherThreads;
+  }
+
+  public void setDispatcherThreads(int dispatcherThreads) {
+    this.dispatcherThreads = dispatcherThreads;
+  }
+
+  public int getDispatcherQueueCapacity() {
+    return dispatcherQueueCapacity;
+  }
+
+  public void setDispatcherQueueCapacity(int dispatcherQueueCapacity) {
+    this.dispatcherQueueCapacity = dispatcherQueueCapacity;
+  }
+
+  public Duration getCallTimeout() {
+    return callTimeout;
+  }
+
+  public void setCallTimeout(Duration callTimeout) {
+    this.callTimeout = callTimeout;
+  }
+
+  public int getCircuitFailureThreshold() {
+    return circuitFailureThreshold;
+  }
+
+  public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+    this.circuitFailureThreshold = circuitFailureThreshold;
+  }
+
+  public Duration getCircuitOpenDuration() {
+    return circuitOpenDuration;
+  }
+
+  public void setCircuitOpenDuration(Duration circuitOpenDuration) {
+    this.circuitOpenDuration = circuitOpenDuration;
+  }
+
+  public Duration getPollAfter() {
+    return pollAfter;
+  }
+
+  public void setPollAfter(Duration pollAfter) {
+    this.pollAfter = pollAfter;
+  }
+
+  public int getPollBatchSize() {
+    return pollBatchSize;
+  }
+
+  public void setPollBatchSize(int pollBatchSize) {
+    this.pollBatchSize = pollBatchSize;
+  }
+
+  public Duration getAuthorizationTimeout() {
+    return authorizationTimeout;
+  }
+
+  public void setAuthorizationTimeout(Duration authorizationTimeout) {
+    this.authorizationTimeout = authorizationTimeout;
+  }
+}
@@ -0,0 +1,92 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로컬 PG 시뮬레이터 설정(app.payment.simulator.*)을 바인딩하는 프로퍼티 클래스입니다.
+ * 부하 테스트에서 PG 지연과 거절, 콜백 유실을 흉내 낼 때 씁니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.payment.simulator")
+public class PaymentSimulatorProperties {
+
+  /**
+   * true 면 실제 PG 대신 프로세스 안의 시뮬레이터를 씁니다.
+   */
+  private boolean enabled = true;
+
+  /**
+   * PG API 호출 한 번에 걸리는 시간 (호출한 스레드가 이만큼 붙잡힘). 기본 0, 부하 테스트 프로필에서 늘립니다.
+   */
+  private Duration requestLatency = Duration.ZERO;
+
+  /**
+   * 호출 시간에 더해지는 0 ~ jitter 사이의 무작위 지연.
+   */
+  private Duration latencyJitter = Duration.ZERO;
+
+  /**
+   * 요청을 받은 뒤 결과 콜백이 오기까지의 시간.
+   */
+  private Duration callbackDelay = Duration.ofMillis(500);
+
+  /**
+   * 승인 요청을 거절할 확률 (0 ~ 1). 기본 0 이라 모든 승인이 성공하며, 부하 테스트 프로필에서만 올립니다.
+   */
+  private double failureRate = 0.0;
+
+  /**
+   * 결과 콜백을 보내지 않을 확률 (0 ~ 1). 잃어버린 결과는 상태 조회로만 알 수 있습니다.
+   */
+  private double callbackLossRate = 0.0;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Duration getRequestLatency() {
+    return requestLatency;
+  }
+
+  public void setRequestLatency(Duration requestLatency) {
+    this.requestLatency = requestLatency;
+  }
+
+  public Duration getLatencyJitter() {
+    return latencyJitter;
+  }
+
+  public void setLatencyJitter(Duration latencyJitter) {
+    this.latencyJitter = latencyJitter;
+  }
+
+  public Duration getCallbackDelay() {
+    return callbackDelay;
+  }
+
+  public void setCallbackDelay(Duration callbackDelay) {
+    this.callbackDelay = callbackDelay;
+  }
+
+  public double getFailureRate() {
+    return failureRate;
+  }
+
+  public void setFailureRate(double failureRate) {
+    this.failureRate = failureRate;
+  }
+
+  public double getCallbackLossRate() {
+    return callbackLossRate;
+  }
+
+  public void setCallbackLossRate(double callbackLossRate) {
+    this.callbackLossRate = callbackLossRate;
+  }
+}
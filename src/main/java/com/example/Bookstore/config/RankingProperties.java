@@ -0,0 +1,66 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실시간 베스트셀러 랭킹(Redis ZSET) 설정(app.ranking.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.ranking")
+public class RankingProperties {
+
+  /**
+   * 랭킹 ZSET 키 접두사. 실제 키는 {prefix}month:{yyyy-MM}, {prefix}day:{yyyy-MM-dd},
+   * {prefix}month:{yyyy-MM}:category:{id} 입니다.
+   */
+  private String keyPrefix = "ranking:bestseller:";
+
+  /**
+   * 일간 랭킹 키 보관 기간. 지나면 Redis 가 키를 만료시킵니다.
+   */
+  private Duration dailyRetention = Duration.ofDays(8);
+
+  /**
+   * 월간(카테고리 포함) 랭킹 키 보관 기간.
+   */
+  private Duration monthlyRetention = Duration.ofDays(400);
+
+  /**
+   * 재집계 작업이 여러 노드에서 동시에 돌지 않도록 잡는 락의 유지 시간.
+   */
+  private Duration reconcileLockTtl = Duration.ofMinutes(5);
+
+  public String getKeyPrefix() {
+    return keyPrefix;
+  }
+
+  public void setKeyPrefix(String keyPrefix) {
+    this.keyPrefix = keyPrefix;
+  }
+
+  public Duration getDailyRetention() {
+    return dailyRetention;
+  }
+
+  public void setDailyRetention(Duration dailyRetention) {
+    this.dailyRetention = dailyRetention;
+  }
+
+  public Duration getMonthlyRetention() {
+    return monthlyRetention;
+  }
+
+  public void setMonthlyRetention(Duration monthlyRetention) {
+    this.monthlyRetention = monthlyRetention;
+  }
+
+  public Duration getReconcileLockTtl() {
+    return reconcileLockTtl;
+  }
+
+  public void setReconcileLockTtl(Duration reconcileLockTtl) {
+    this.reconcileLockTtl = reconcileLockTtl;
+  }
+}
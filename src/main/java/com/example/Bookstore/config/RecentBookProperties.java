@@ -0,0 +1,65 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자별 최근 본 도서(Redis LIST) 설정(app.recent-books.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.recent-books")
+public class RecentBookProperties {
+
+  /**
+   * 최근 본 도서 LIST 키 접두사. 실제 키는 {prefix}{userId} 입니다.
+   */
+  private String keyPrefix = "recent:books:";
+
+  /**
+   * 사용자별로 남겨 둘 최대 도서 수. 넘치면 가장 오래 본 도서부터 잘라냅니다.
+   */
+  private int maxSize = 20;
+
+  /**
+   * 화면에 보여 줄 도서 수.
+   */
+  private int displaySize = 5;
+
+  /**
+   * 마지막 조회 후 키를 유지하는 기간. 지나면 Redis 가 키를 만료시킵니다.
+   */
+  private Duration retention = Duration.ofDays(30);
+
+  public String getKeyPrefix() {
+    return keyPrefix;
+  }
+
+  public void setKeyPrefix(String keyPrefix) {
+    this.keyPrefix = keyPrefix;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public int getDisplaySize() {
+    return displaySize;
+  }
+
+  public void setDisplaySize(int displaySize) {
+    this.displaySize = displaySize;
+  }
+
+  public Duration getRetention() {
+    return retention;
+  }
+
+  public void setRetention(Duration retention) {
+    this.retention = retention;
+  }
+}
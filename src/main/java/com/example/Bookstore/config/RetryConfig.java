@@ -0,0 +1,11 @@
+package com.example.Bookstore.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.EnableRetry;
+
+//재시도(@Retryable) 활성화 : 트랜잭션보다 바깥에서 감싸 시도마다 새 트랜잭션으로 다시 읽고 쓰게 함
+@Configuration
+@EnableRetry(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryConfig {
+}
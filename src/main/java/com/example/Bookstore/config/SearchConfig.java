@@ -0,0 +1,22 @@
+package com.example.Bookstore.config;
+
+import com.example.Bookstore.service.search.NGramTokenizer;
+import com.example.Bookstore.service.search.SearchTokenizer;
+import com.example.Bookstore.service.search.WhitespaceTokenizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 검색 인덱스가 사용할 토크나이저를 설정 값에 따라 선택합니다.
+ */
+@Configuration
+public class SearchConfig {
+
+  @Bean
+  public SearchTokenizer searchTokenizer(SearchProperties properties) {
+    if ("whitespace".equalsIgnoreCase(properties.getTokenizer())) {
+      return new WhitespaceTokenizer();
+    }
+    return new NGramTokenizer(properties.getMinGram(), properties.getMaxGram(), properties.isJamoDecomposition());
+  }
+}
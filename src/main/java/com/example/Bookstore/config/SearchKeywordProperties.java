@@ -0,0 +1,156 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인기 검색어 집계 설정(app.search-keywords.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.search-keywords")
+public class SearchKeywordProperties {
+
+  /**
+   * 메모리에 모은 검색 횟수를 DB 에 반영하는 주기.
+   */
+  private Duration flushInterval = Duration.ofSeconds(5);
+
+  /**
+   * 반영 전 메모리에 들고 있을 서로 다른 검색어의 최대 개수. 넘치면 새 검색어는 다음 반영까지 버립니다.
+   */
+  private int maxPendingKeywords = 10_000;
+
+  /**
+   * 저장할 검색어 최대 길이(컬럼 길이). 더 긴 검색어는 잘라서 셉니다.
+   */
+  private int maxKeywordLength = 120;
+
+  /**
+   * 정확히 따로 세는(=DB 에 반영하는) 상위 검색어 수. 나머지는 고정 크기 스케치로만 추정합니다.
+   */
+  private int trackedKeywords = 1_000;
+
+  /**
+   * Count-Min 스케치 폭(행당 카운터 수).
+   */
+  private int sketchWidth = 4_096;
+
+  /**
+   * Count-Min 스케치 깊이(해시 함수 수).
+   */
+  private int sketchDepth = 4;
+
+  /**
+   * search_keyword_stats 에 남길 최대 행 수. 주기적으로 횟수 하위 행을 지웁니다.
+   */
+  private int maxStoredKeywords = 1_000;
+
+  /**
+   * 분 -> 시 -> 일 버킷 롤업 주기.
+   */
+  private Duration rollupInterval = Duration.ofMinutes(1);
+
+  /**
+   * 분 단위 버킷 보관 기간. 직전 시 버킷 롤업(정시 후 5분까지)보다 길어야 합니다.
+   */
+  private Duration minuteRetention = Duration.ofHours(3);
+
+  /**
+   * 시 단위 버킷 보관 기간.
+   */
+  private Duration hourRetention = Duration.ofDays(3);
+
+  /**
+   * 일 단위 버킷 보관 기간.
+   */
+  private Duration dayRetention = Duration.ofDays(90);
+
+  public Duration getFlushInterval() {
+    return flushInterval;
+  }
+
+  public void setFlushInterval(Duration flushInterval) {
+    this.flushInterval = flushInterval;
+  }
+
+  public int getMaxPendingKeywords() {
+    return maxPendingKeywords;
+  }
+
+  public void setMaxPendingKeywords(int maxPendingKeywords) {
+    this.maxPendingKeywords = maxPendingKeywords;
+  }
+
+  public int getMaxKeywordLength() {
+    return maxKeywordLength;
+  }
+
+  public void setMaxKeywordLength(int maxKeywordLength) {
+    this.maxKeywordLength = maxKeywordLength;
+  }
+
+  public int getTrackedKeywords() {
+    return trackedKeywords;
+  }
+
+  public void setTrackedKeywords(int trackedKeywords) {
+    this.trackedKeywords = trackedKeywords;
+  }
+
+  public int getSketchWidth() {
+    return sketchWidth;
+  }
+
+  public void setSketchWidth(int sketchWidth) {
+    this.sketchWidth = sketchWidth;
+  }
+
+  public int getSketchDepth() {
+    return sketchDepth;
+  }
+
+  public void setSketchDepth(int sketchDepth) {
+    this.sketchDepth = sketchDepth;
+  }
+
+  public int getMaxStoredKeywords() {
+    return maxStoredKeywords;
+  }
+
+  public void setMaxStoredKeywords(int maxStoredKeywords) {
+    this.maxStoredKeywords = maxStoredKeywords;
+  }
+
+  public Duration getRollupInterval() {
+    return rollupInterval;
+  }
+
+  public void setRollupInterval(Duration rollupInterval) {
+    this.rollupInterval = rollupInterval;
+  }
+
+  public Duration getMinuteRetention() {
+    return minuteRetention;
+  }
+
+  public void setMinuteRetention(Duration minuteRetention) {
+    this.minuteRetention = minuteRetention;
+  }
+
+  public Duration getHourRetention() {
+    return hourRetention;
+  }
+
+  public void setHourRetention(Duration hourRetention) {
+    this.hourRetention = hourRetention;
+  }
+
+  public Duration getDayRetention() {
+    return dayRetention;
+  }
+
+  public void setDayRetention(Duration dayRetention) {
+    this.dayRetention = dayRetention;
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.Bookstore.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 도서 검색 인덱스 관련 설정(app.search.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+  /**
+   * 색인어를 만드는 방식. ngram(기본) 또는 whitespace 입니다.
+   */
+  private String tokenizer = "ngram";
+
+  /**
+   * n-gram 최소 길이. 이보다 짧은 검색어는 인덱스 후보 없이 메모리 문서를 훑어 찾습니다.
+   */
+  private int minGram = 2;
+
+  /**
+   * n-gram 최대 길이.
+   */
+  private int maxGram = 3;
+
+  /**
+   * 한글 음절을 자모로 분해해 색인할지 여부. 켜면 입력 중인 글자도 매칭되지만 색인 크기가 커집니다.
+   */
+  private boolean jamoDecomposition = false;
+
+  public String getTokenizer() {
+    return tokenizer;
+  }
+
+  public void setTokenizer(String tokenizer) {
+    this.tokenizer = tokenizer;
+  }
+
+  public int getMinGram() {
+    return minGram;
+  }
+
+  public void setMinGram(int minGram) {
+    this.minGram = minGram;
+  }
+
+  public int getMaxGram() {
+    return maxGram;
+  }
+
+  public void setMaxGram(int maxGram) {
+    this.maxGram = maxGram;
+  }
+
+  public boolean isJamoDecomposition() {
+    return jamoDecomposition;
+  }
+
+  public void setJamoDecomposition(boolean jamoDecomposition) {
+    this.jamoDecomposition = jamoDecomposition;
+  }
+}
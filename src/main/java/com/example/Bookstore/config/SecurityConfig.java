@@ -63,8 +63,9 @@ public class SecurityConfig {
             .requestMatchers(
                 "/", "/login", "/signup", "/signup/**", "/password/**",
                 "/error", "/error/**", "/css/**", "/js/**", "/images/**",
-                "/csrf-token", "/books/**").permitAll()
-            .requestMatchers("/admin/**").hasRole("ADMIN")
+                "/csrf-token", "/books/**", "/search/suggest", "/search/popular").permitAll()
+            .requestMatchers("/actuator/health").permitAll()
+            .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
             .anyRequest().authenticated())
         .formLogin(form -> form.disable())
         .httpBasic(httpBasic -> httpBasic.disable())
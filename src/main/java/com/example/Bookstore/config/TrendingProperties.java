@@ -0,0 +1,91 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * "지금 뜨는 도서" 감쇠 점수 설정(app.trending.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.trending")
+public class TrendingProperties {
+
+  /**
+   * 점수가 절반으로 줄어드는 시간. 짧을수록 갑작스러운 수요에 빠르게 반응합니다.
+   */
+  private Duration halfLife = Duration.ofHours(6);
+
+  /**
+   * 구매 1권당 점수.
+   */
+  private double purchaseWeight = 10.0;
+
+  /**
+   * 상세 조회 1회당 점수.
+   */
+  private double viewWeight = 1.0;
+
+  /**
+   * 전체/카테고리별로 계산해 둘 순위 수.
+   */
+  private int topK = 10;
+
+  /**
+   * 감쇠 점수가 이 값보다 낮아진 도서는 점수판에서 제거합니다.
+   */
+  private double minScore = 0.05;
+
+  /**
+   * 점수판 스냅숏 파일 경로. 비어 있으면 스냅숏을 쓰지 않습니다.
+   */
+  private String snapshotPath = "data/trending.snapshot";
+
+  public Duration getHalfLife() {
+    return halfLife;
+  }
+
+  public void setHalfLife(Duration halfLife) {
+    this.halfLife = halfLife;
+  }
+
+  public double getPurchaseWeight() {
+    return purchaseWeight;
+  }
+
+  public void setPurchaseWeight(double purchaseWeight) {
+    this.purchaseWeight = purchaseWeight;
+  }
+
+  public double getViewWeight() {
+    return viewWeight;
+  }
+
+  public void setViewWeight(double viewWeight) {
+    this.viewWeight = viewWeight;
+  }
+
+  public int getTopK() {
+    return topK;
+  }
+
+  public void setTopK(int topK) {
+    this.topK = topK;
+  }
+
+  public double getMinScore() {
+    return minScore;
+  }
+
+  public void setMinScore(double minScore) {
+    this.minScore = minScore;
+  }
+
+  public String getSnapshotPath() {
+    return snapshotPath;
+  }
+
+  public void setSnapshotPath(String snapshotPath) {
+    this.snapshotPath = snapshotPath;
+  }
+}
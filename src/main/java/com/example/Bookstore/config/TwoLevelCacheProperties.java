@@ -0,0 +1,123 @@
+package com.example.Bookstore.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 2단(L1 힙 + L2 Redis) 캐시 설정(app.cache.*)을 바인딩하는 프로퍼티 클래스입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class TwoLevelCacheProperties {
+
+  /**
+   * L2(Redis) 키 접두사. 실제 키는 {prefix}{cacheName}::{key} 입니다.
+   */
+  private String redisKeyPrefix = "cache:";
+
+  /**
+   * 노드 간 L1 무효화 메시지를 주고받는 Redis pub/sub 채널.
+   */
+  private String invalidationChannel = "cache:invalidation";
+
+  /**
+   * 삭제 후 L2 를 한 번 더 지우기까지의 시간. 삭제 직전에 다른 노드가 읽기 시작한 옛 값이 삭제 뒤에 L2 에 써지는 경우를 지웁니다.
+   * 0 이면 다시 지우지 않습니다.
+   */
+  private Duration evictionRedelay = Duration.ofSeconds(1);
+
+  /**
+   * specs 에 없는 캐시에 쓰는 기본 설정.
+   */
+  private Spec defaults = new Spec();
+
+  /**
+   * 캐시 이름별 설정.
+   */
+  private Map<String, Spec> specs = new LinkedHashMap<>();
+
+  public String getRedisKeyPrefix() {
+    return redisKeyPrefix;
+  }
+
+  public void setRedisKeyPrefix(String redisKeyPrefix) {
+    this.redisKeyPrefix = redisKeyPrefix;
+  }
+
+  public String getInvalidationChannel() {
+    return invalidationChannel;
+  }
+
+  public void setInvalidationChannel(String invalidationChannel) {
+    this.invalidationChannel = invalidationChannel;
+  }
+
+  public Duration getEvictionRedelay() {
+    return evictionRedelay;
+  }
+
+  public void setEvictionRedelay(Duration evictionRedelay) {
+    this.evictionRedelay = evictionRedelay;
+  }
+
+  public Spec getDefaults() {
+    return defaults;
+  }
+
+  public void setDefaults(Spec defaults) {
+    this.defaults = defaults;
+  }
+
+  public Map<String, Spec> getSpecs() {
+    return specs;
+  }
+
+  public void setSpecs(Map<String, Spec> specs) {
+    this.specs = specs;
+  }
+
+  public static class Spec {
+
+    /**
+     * L2(Redis) 보관 시간.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * L1(힙) 보관 시간. 비우면 ttl 과 같습니다. 다른 노드의 무효화 메시지를 놓쳤을 때 오래된 값을 보는 최대 시간이기도 합니다.
+     */
+    private Duration localTtl;
+
+    /**
+     * L1 용량 (직렬화 크기 합계, 바이트).
+     */
+    private long localMaxBytes = 8L * 1024 * 1024;
+
+    public Duration getTtl() {
+      return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+      this.ttl = ttl;
+    }
+
+    public Duration getLocalTtl() {
+      return localTtl;
+    }
+
+    public void setLocalTtl(Duration localTtl) {
+      this.localTtl = localTtl;
+    }
+
+    public long getLocalMaxBytes() {
+      return localMaxBytes;
+    }
+
+    public void setLocalMaxBytes(long localMaxBytes) {
+      this.localMaxBytes = localMaxBytes;
+    }
+  }
+}
@@ -1,17 +1,22 @@
 package com.example.Bookstore.controller;
 
-import com.example.Bookstore.domain.book.Book;
+import com.example.Bookstore.dto.book.BookDetailView;
+import com.example.Bookstore.dto.book.BookSort;
+import com.example.Bookstore.dto.book.BookSummary;
 import com.example.Bookstore.security.jwt.JwtPrincipal;
 import com.example.Bookstore.service.BookService;
-import com.example.Bookstore.service.RecentBookService;
+import com.example.Bookstore.service.view.BookViewTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
+
 
 @Controller
 @RequiredArgsConstructor
@@ -19,13 +24,14 @@ import org.springframework.web.bind.annotation.*;
 public class BookController {
 
     private final BookService bookService;
-    private final RecentBookService recentBookService;
+    private final BookViewTracker bookViewTracker;
 
     //전체 : /books
     //특정 카테고리 : /books?categoryId=3
     //제목 검색 : /books?field=title&keyword=토지
     //저자 검색 : /books?field=author&keyword=박경리
     //카테고리 + 검색 : /books?categoryId=3&field=publisher&keyword=문학동네
+    //커서 목록 : /books?after=&sort=latest (after 가 있으면 총 개수/페이지 번호 없이 다음 조각만 조회)
 
     @GetMapping
     public String books(@RequestParam(required = false) Long categoryId,
@@ -33,19 +39,31 @@ public class BookController {
                         @RequestParam(defaultValue = "title") String field,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "12") int size,
+                        @RequestParam(required = false) String after,
+                        @RequestParam(required = false) String sort,
                         Model model) {
+        model.addAttribute("categoryId", categoryId);
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("field", field);
+
+        //커서 모드
+        if (after != null) {
+            BookSort bookSort = BookSort.from(sort);
+            Slice<BookSummary> books = bookService.getBookSlice(categoryId, field, keyword, bookSort, after, size);
+            model.addAttribute("books", books.getContent());
+            model.addAttribute("page", books);
+            model.addAttribute("cursorMode", true);
+            model.addAttribute("sort", bookSort.name().toLowerCase(Locale.ROOT));
+            model.addAttribute("nextCursor", bookService.nextCursor(books, bookSort));
+            return "book/books";
+        }
+
         PageRequest pageable = PageRequest.of(page, size);
-        Page<Book> books;
+        Page<BookSummary> books;
 
-        //카테고리 + 검색 동시
-        if (categoryId != null && keyword != null && !keyword.isBlank()) {
-            books = switch (field) {
-                case "author" ->
-                        bookService.getBooksByCategoryIdAndAuthorContainingIgnoreCase(categoryId, keyword, pageable);
-                case "publisher" ->
-                        bookService.getBooksByCategoryIdAndPublisherContainingIgnoreCase(categoryId, keyword, pageable);
-                default -> bookService.getBooksByCategoryIdAndTitleContainingIgnoreCase(categoryId, keyword, pageable);
-            };
+        //검색 (카테고리 + 검색 포함)
+        if (keyword != null && !keyword.isBlank()) {
+            books = bookService.searchBooks(categoryId, field, keyword, pageable);
         }
 
         //카테고리
@@ -53,16 +71,6 @@ public class BookController {
             books = bookService.getBooksByCategoryId(categoryId, pageable);
         }
 
-        //검색
-        else if (keyword != null && !keyword.isBlank()) {
-            books = switch (field) {
-                case "author" -> bookService.getBooksByAuthorContainingIgnoreCase(keyword, pageable);
-                case "publisher" -> bookService.getBooksByPublisherContainingIgnoreCase(keyword, pageable);
-                case "all" -> bookService.getBooksByAllFields(keyword, pageable);
-                default -> bookService.getBooksByTitleContainingIgnoreCase(keyword, pageable);
-            };
-        }
-
         //전체
         else {
             books = bookService.getAllBooks(pageable);
@@ -70,9 +78,8 @@ public class BookController {
 
         model.addAttribute("books", books.getContent());
         model.addAttribute("page", books);
-        model.addAttribute("categoryId", categoryId);
-        model.addAttribute("keyword", keyword);
-        model.addAttribute("field", field);
+        model.addAttribute("cursorMode", false);
+        model.addAttribute("countEstimated", bookService.isCountEstimated());
 
         return "book/books";
     }
@@ -81,11 +88,9 @@ public class BookController {
     public String getBookDetail(@PathVariable Long id,
                                 @AuthenticationPrincipal JwtPrincipal principal,
                                 Model model) {
-        if(principal != null) {
-            recentBookService.recordRecentBook(principal.userId(), id);
-        }
-
-        Book book = bookService.getBookById(id);
+        BookDetailView book = bookService.getBookDetail(id);
+        //존재하는 도서만 기록 (최근 본 도서/조회수/지금 뜨는 도서는 큐에 넣고 비동기로 반영)
+        bookViewTracker.submit(principal != null ? principal.userId() : null, book.id(), book.categoryId());
         model.addAttribute("book", book);
         return "book/detail";
     }
@@ -1,11 +1,15 @@
 package com.example.Bookstore.controller;
 
+import com.example.Bookstore.dto.book.BookRanking;
 import com.example.Bookstore.service.BookRankingService;
+import com.example.Bookstore.service.trending.TrendingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -15,15 +19,37 @@ import java.util.List;
 public class BookRankingController {
 
     private final BookRankingService bookRankingService;
+    private final TrendingService trendingService;
 
     //월간 베스트셀러 페이지
     @GetMapping("/mothly-bestsellers")
     public String showMonthlyBestsellers(Model model) {
         //서비스에서 DB 결과 받아오기
-        List<Object[]> results = bookRankingService.getMonthlyBestsellers();
+        List<BookRanking> results = bookRankingService.getMonthlyBestsellers();
         //모델에 담기
         model.addAttribute("bestsellers", results);
         //view 이동
         return "book/home";
     }
+
+    //오늘의 베스트셀러 페이지
+    @GetMapping("/daily-bestsellers")
+    public String showDailyBestsellers(Model model) {
+        model.addAttribute("bestsellers", bookRankingService.getDailyBestsellers());
+        return "book/home";
+    }
+
+    //카테고리별 월간 베스트셀러 페이지
+    @GetMapping("/categories/{categoryId}/bestsellers")
+    public String showCategoryBestsellers(@PathVariable Long categoryId, Model model) {
+        model.addAttribute("bestsellers", bookRankingService.getCategoryBestsellers(categoryId));
+        return "book/home";
+    }
+
+    //지금 뜨는 도서 페이지 (categoryId 가 없으면 전체)
+    @GetMapping("/trending")
+    public String showTrending(@RequestParam(required = false) Long categoryId, Model model) {
+        model.addAttribute("trendingBooks", trendingService.getTrendingBooks(categoryId));
+        return "book/home";
+    }
 }
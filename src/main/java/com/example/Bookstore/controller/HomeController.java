@@ -4,6 +4,7 @@ import com.example.Bookstore.security.jwt.JwtPrincipal;
 import com.example.Bookstore.service.BookRankingService;
 import com.example.Bookstore.service.RecentBookService;
 import com.example.Bookstore.service.SearchKeywordService;
+import com.example.Bookstore.service.trending.TrendingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
@@ -17,11 +18,13 @@ public class HomeController {
     private final BookRankingService bookRankingService;
     private final RecentBookService recentBookService;
     private final SearchKeywordService searchKeywordService;
+    private final TrendingService trendingService;
 
     @GetMapping("/")
     public String home(@AuthenticationPrincipal JwtPrincipal principal, Model model) {
         model.addAttribute("bestsellers", bookRankingService.getMonthlyBestsellers());
         model.addAttribute("topKeywords", searchKeywordService.getTopKeywords());
+        model.addAttribute("trendingBooks", trendingService.getTrendingBooks(null));
 
         if (principal != null) {
             model.addAttribute("recentBooks", recentBookService.getRecentBooks(principal.userId()));
@@ -1,6 +1,6 @@
 package com.example.Bookstore.controller;
 
-import com.example.Bookstore.domain.book.Book;
+import com.example.Bookstore.dto.book.BookSummary;
 import com.example.Bookstore.service.RecentBookService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -20,7 +20,7 @@ public class RecentBookController {
 
     @GetMapping("/{userId}")
     public String showRecentBooks(@PathVariable Long userId, Model model){
-        List<Book> recentBooks = recentBookService.getRecentBooks(userId);
+        List<BookSummary> recentBooks = recentBookService.getRecentBooks(userId);
         model.addAttribute("recentBooks", recentBooks);
         return "book/home";
     }
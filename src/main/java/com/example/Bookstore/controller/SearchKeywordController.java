@@ -1,18 +1,33 @@
 package com.example.Bookstore.controller;
 
+import com.example.Bookstore.dto.search.KeywordCount;
 import com.example.Bookstore.service.SearchKeywordService;
+import com.example.Bookstore.service.search.SearchSuggestionService;
+import com.example.Bookstore.service.search.Suggestion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.Duration;
+import java.util.List;
+
 @Controller
 @RequiredArgsConstructor
 public class SearchKeywordController {
 
+    private static final Duration MIN_WINDOW = Duration.ofMinutes(1);
+    private static final Duration MAX_WINDOW = Duration.ofDays(90);
+    private static final int MAX_POPULAR = 50;
+
     private final SearchKeywordService searchKeywordService;
+    private final SearchSuggestionService searchSuggestionService;
 
     @GetMapping("/search/track")
     public String searchBooks(@RequestParam String field,
@@ -23,4 +38,28 @@ public class SearchKeywordController {
         attrs.addAttribute("keyword", keyword);
         return "redirect:/books";
     }
+
+    //검색어 자동완성 : /search/suggest?q=토
+    @GetMapping("/search/suggest")
+    @ResponseBody
+    public List<Suggestion> suggest(@RequestParam(defaultValue = "") String q,
+                                    @RequestParam(defaultValue = "10") int limit) {
+        return searchSuggestionService.suggest(q, limit);
+    }
+
+    //최근 구간 인기 검색어 : /search/popular?window=24h&limit=10 (window 는 1m ~ 90d 로 맞춤)
+    @GetMapping("/search/popular")
+    @ResponseBody
+    public List<KeywordCount> popular(@RequestParam(defaultValue = "24h") String window,
+                                      @RequestParam(defaultValue = "10") int limit) {
+        Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 window 형식입니다. window = " + window);
+        }
+        if (duration.compareTo(MIN_WINDOW) < 0) duration = MIN_WINDOW;
+        if (duration.compareTo(MAX_WINDOW) > 0) duration = MAX_WINDOW;
+        return searchKeywordService.getTopKeywords(duration, Math.max(1, Math.min(limit, MAX_POPULAR)));
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.Bookstore.controller.admin;
+
+import com.example.Bookstore.domain.order.OrderStatus;
+import com.example.Bookstore.domain.order.OrderSummary;
+import com.example.Bookstore.service.order.OrderService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+@RequestMapping("/admin/orders")
+public class AdminOrderController {
+
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private final OrderService orderService;
+
+  public AdminOrderController(OrderService orderService) {
+    this.orderService = Objects.requireNonNull(orderService, "orderService 는 null 일 수 없습니다");
+  }
+
+  @GetMapping
+  public String orders(@RequestParam(defaultValue = "0") int page,
+                       @RequestParam(defaultValue = "30") int size,
+                       Model model) {
+    int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    // 주문 요약 테이블만 읽음 (주문 항목/도서/회원 조인 없음)
+    Page<OrderSummary> orders = orderService.getOrderSummaries(Math.max(page, 0), pageSize);
+    List<OrderRow> items = orders.getContent().stream()
+        .map(s -> new OrderRow(s.getOrderId(), s.getCreatedAt(), s.getUserId(), s.getTotalAmount(), s.getStatus()))
+        .toList();
+
+    model.addAttribute("items", items);
+    model.addAttribute("page", orders.getNumber());
+    model.addAttribute("pageSize", pageSize);
+    model.addAttribute("totalPages", orders.getTotalPages());
+    return "admin/order-list";
+  }
+
+  /**
+   * 관리자 주문 목록 한 줄입니다.
+   */
+  public record OrderRow(
+      Long id,
+      LocalDateTime createdAt,
+      Long memberId,
+      BigDecimal totalPrice,
+      OrderStatus status) {
+  }
+}
@@ -1,85 +1,63 @@
 package com.example.Bookstore.controller.user;
 
-import com.example.Bookstore.domain.order.Order;
 import com.example.Bookstore.domain.order.OrderStatus;
-import com.example.Bookstore.domain.order.OrderItem;
-import com.example.Bookstore.domain.book.Book;
+import com.example.Bookstore.domain.order.OrderSummary;
 import com.example.Bookstore.security.jwt.JwtPrincipal;
 import com.example.Bookstore.service.order.OrderService;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 @RequestMapping("/mypage/orders")
 public class MyOrderController {
 
-  private final OrderService orderService;
+  private static final int PAGE_SIZE = 10;
 
-  private static final Comparator<Order> CREATED_AT_DESC =
-      Comparator.comparing(Order::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
-          .reversed();
+  private final OrderService orderService;
 
   public MyOrderController(OrderService orderService) {
     this.orderService = Objects.requireNonNull(orderService, "orderService 는 null 일 수 없습니다");
   }
 
   @GetMapping
-  public String myOrders(@AuthenticationPrincipal JwtPrincipal principal, Model model) {
+  public String myOrders(@AuthenticationPrincipal JwtPrincipal principal,
+                         @RequestParam(defaultValue = "0") int page,
+                         Model model) {
     if (principal == null) {
       return "redirect:/login";
     }
 
-    List<OrderView> myOrders = orderService.getUserOrders(principal.userId()).stream()
-        .sorted(CREATED_AT_DESC)
+    // 주문당 요약 한 행만 읽음 (주문 항목/도서는 상세 화면에서)
+    Slice<OrderSummary> orders = orderService.getUserOrderSummaries(principal.userId(), Math.max(page, 0), PAGE_SIZE);
+    List<OrderView> myOrders = orders.getContent().stream()
         .map(this::toView)
         .toList();
 
     model.addAttribute("myOrders", myOrders);
+    model.addAttribute("page", orders);
     return "user/my-orders";
   }
 
-  private OrderView toView(Order order) {
-    LocalDateTime createdAt = order.getCreatedAt();
-    List<OrderItem> orderItems = order.getItems();
-    if (orderItems == null) {
-      orderItems = List.of();
-    }
-    List<OrderItemView> items = orderItems.stream()
-        .map(this::toItemView)
-        .collect(Collectors.toList());
-    BigDecimal computedTotal = items.stream()
-        .map(OrderItemView::lineTotal)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
-    BigDecimal totalAmount = order.getTotalAmount();
-    if (totalAmount == null || totalAmount.compareTo(computedTotal) != 0) {
-      totalAmount = computedTotal;
-    }
-    int totalQuantity = items.stream().mapToInt(OrderItemView::quantity).sum();
-    return new OrderView(order.getId(), createdAt, order.getStatus(), totalAmount, totalQuantity, items);
-  }
-
-  private OrderItemView toItemView(OrderItem item) {
-    Book book = item.getBook();
-    String title = book != null ? book.getTitle() : "알 수 없는 도서";
-    String imageUrl = book != null ? book.getImageUrl() : null;
-    BigDecimal unitPrice = item.getUnitPrice() != null ? item.getUnitPrice() : BigDecimal.ZERO;
-    int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
-    BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
-    Long bookId = book != null ? book.getId() : null;
-    return new OrderItemView(item.getId(), bookId, title, imageUrl, quantity, unitPrice, lineTotal);
+  private OrderView toView(OrderSummary summary) {
+    String title = summary.getFirstItemTitle() != null ? summary.getFirstItemTitle() : "알 수 없는 도서";
+    BigDecimal totalAmount = summary.getTotalAmount() != null ? summary.getTotalAmount() : BigDecimal.ZERO;
+    int totalQuantity = summary.getItemCount() != null ? summary.getItemCount() : 0;
+    int otherLines = summary.getLineCount() != null ? Math.max(summary.getLineCount() - 1, 0) : 0;
+    return new OrderView(summary.getOrderId(), summary.getCreatedAt(), summary.getStatus(), totalAmount,
+        totalQuantity, summary.getFirstBookId(), title, summary.getFirstItemImageUrl(), otherLines);
   }
 
   /**
-   * 주문 리스트 화면에 필요한 최소 정보만 담은 뷰 모델입니다.
+   * 주문 리스트 화면에 필요한 최소 정보만 담은 뷰 모델입니다. (대표 도서 한 권과 나머지 종 수)
    */
   public record OrderView(
       Long id,
@@ -87,19 +65,12 @@ public class MyOrderController {
       OrderStatus status,
       BigDecimal totalAmount,
       int totalQuantity,
-      List<OrderItemView> items) {
-    public String statusLabel() {
-      return status.getLabel();
-    }
-  }
-
-  public record OrderItemView(
-      Long id,
       Long bookId,
       String title,
       String imageUrl,
-      int quantity,
-      BigDecimal unitPrice,
-      BigDecimal lineTotal) {
+      int otherLineCount) {
+    public String statusLabel() {
+      return status.getLabel();
+    }
   }
 }
@@ -18,8 +18,15 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Entity
+@EntityListeners(BookChangeListener.class)
 @Table(name = "book", uniqueConstraints = {
         @UniqueConstraint(name = "uk_books_isbn", columnNames = {"isbn"})
+}, indexes = {
+        //커서 목록 정렬용 (InnoDB 보조 인덱스에는 id 가 자동 포함)
+        @Index(name = "idx_book_category_created_at", columnList = "category_id, created_at"),
+        @Index(name = "idx_book_category_price", columnList = "category_id, price"),
+        @Index(name = "idx_book_created_at", columnList = "created_at"),
+        @Index(name = "idx_book_price", columnList = "price")
 })
 public class Book {
     @Id
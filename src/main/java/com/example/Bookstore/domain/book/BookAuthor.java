@@ -9,6 +9,7 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
+@EntityListeners(BookChangeListener.class)
 @Table(name = "book_author", uniqueConstraints = {
         @UniqueConstraint(name = "uk_book_author_book_id_author_id", columnNames = {"book_id", "author_id"})
 })
@@ -0,0 +1,45 @@
+package com.example.Bookstore.domain.book;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Book / BookAuthor 엔티티가 저장·수정·삭제될 때 {@link BookChangedEvent} 를,
+ * Inventory 가 변경될 때 {@link InventoryChangedEvent} 를 발행하는 JPA 리스너입니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        if (entity instanceof Inventory inventory) {
+            if (inventory.getBook() != null) {
+                eventPublisher.publishEvent(new InventoryChangedEvent(inventory.getBook().getId()));
+            }
+            return;
+        }
+        Long bookId = resolveBookId(entity);
+        if (bookId != null) {
+            eventPublisher.publishEvent(new BookChangedEvent(bookId));
+        }
+    }
+
+    private Long resolveBookId(Object entity) {
+        if (entity instanceof Book book) {
+            return book.getId();
+        }
+        if (entity instanceof BookAuthor bookAuthor && bookAuthor.getBook() != null) {
+            return bookAuthor.getBook().getId();
+        }
+        return null;
+    }
+}
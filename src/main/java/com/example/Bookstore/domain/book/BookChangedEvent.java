@@ -0,0 +1,8 @@
+package com.example.Bookstore.domain.book;
+
+/**
+ * 도서 정보(책, 저자 연결 등)가 변경되었음을 알리는 이벤트입니다.
+ * 검색 인덱스처럼 카탈로그를 메모리에 들고 있는 컴포넌트가 이 이벤트로 동기화합니다.
+ */
+public record BookChangedEvent(Long bookId) {
+}
@@ -2,6 +2,7 @@ package com.example.Bookstore.domain.book;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @Setter
@@ -9,12 +10,19 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
+@EntityListeners(BookChangeListener.class)
 @Table(name = "inventory")
 public class Inventory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    //낙관적 잠금 : 동시에 고친 쪽 중 나중 커밋은 OptimisticLockingFailureException 으로 실패 (기존 행은 0 으로 채움)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "book_id", nullable = false, unique = true)
     private Book book;
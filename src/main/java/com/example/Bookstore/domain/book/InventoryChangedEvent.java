@@ -0,0 +1,8 @@
+package com.example.Bookstore.domain.book;
+
+/**
+ * 도서 재고 수량이 변경되었음을 알리는 이벤트입니다.
+ * 주문마다 발생하므로 검색 인덱스나 목록 개수처럼 재고와 무관한 캐시는 이 이벤트를 받지 않습니다.
+ */
+public record InventoryChangedEvent(Long bookId) {
+}
@@ -3,6 +3,7 @@ package com.example.Bookstore.domain.order;
 import com.example.Bookstore.domain.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,12 +16,23 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_user_idempotency_key", columnNames = {"user_id", "idempotency_key"})
+}, indexes = {
+        //사용자별 최신 주문 조회 (목록 화면은 order_summaries 를 읽음)
+        @Index(name = "idx_orders_user_created_at", columnList = "user_id, created_at")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    //낙관적 잠금 : 취소와 관리자 상태 변경이 서로 덮어쓰지 않도록
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -39,6 +51,10 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    //주문 요청의 멱등 키 (같은 사용자가 같은 키로 두 번 주문하지 못하도록 유니크, Redis 가 없을 때의 중복 방지)
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
     @PrePersist
     public void prePersist() {
         if (createdAt == null) createdAt = LocalDateTime.now();
@@ -16,4 +16,9 @@ public enum OrderStatus {
     public String getLabel() {
         return label;
     }
+
+    //판매 집계(베스트셀러)에 포함되는 상태
+    public boolean isSold() {
+        return this == PAID || this == SHIPPED || this == COMPLETED;
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.Bookstore.domain.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//주문 상태 변경 이벤트 (판매 집계 등 읽기 모델 갱신용)
+public record OrderStatusChangedEvent(Long orderId,
+                                      OrderStatus from,
+                                      OrderStatus to,
+                                      LocalDateTime orderedAt,
+                                      List<Line> lines) {
+
+    public record Line(Long bookId, Long categoryId, int quantity) {
+    }
+
+    public static OrderStatusChangedEvent of(Order order, OrderStatus from) {
+        List<Line> lines = order.getItems().stream()
+                .map(oi -> new Line(
+                        oi.getBook().getId(),
+                        oi.getBook().getCategory() == null ? null : oi.getBook().getCategory().getId(),
+                        oi.getQuantity() == null ? 0 : oi.getQuantity()))
+                .toList();
+        return new OrderStatusChangedEvent(order.getId(), from, order.getStatus(), order.getCreatedAt(), lines);
+    }
+
+    //판매 집계 반영 방향 : 판매로 들어오면 +1, 판매에서 빠지면 -1, 그 외 0
+    public int salesSign() {
+        boolean before = from != null && from.isSold();
+        boolean after = to != null && to.isSold();
+        if (before == after) return 0;
+        return after ? 1 : -1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.Bookstore.domain.order;
+
+import com.example.Bookstore.domain.book.Book;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+//주문 목록용 요약 테이블 (주문당 한 행, 주문 상태 변경과 같은 트랜잭션에서 갱신되는 읽기 모델)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "order_summaries", indexes = {
+        //나의 주문 : 사용자별 최신순
+        @Index(name = "idx_order_summaries_user_created_at", columnList = "user_id, created_at, order_id"),
+        //관리자 주문 목록 : 전체 최신순
+        @Index(name = "idx_order_summaries_created_at", columnList = "created_at, order_id")
+})
+public class OrderSummary {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    //총 수량 (권)
+    @Column(nullable = false)
+    private Integer itemCount;
+
+    //주문 항목 줄 수 ("첫 도서 외 N종" 표시용)
+    @Column(nullable = false)
+    private Integer lineCount;
+
+    //대표 도서 (첫 주문 항목) : 주문 시점의 제목/이미지
+    @Column(name = "first_book_id")
+    private Long firstBookId;
+
+    @Column(name = "first_item_title", length = 200)
+    private String firstItemTitle;
+
+    @Column(name = "first_item_image_url")
+    private String firstItemImageUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public static OrderSummary from(Order order) {
+        List<OrderItem> items = order.getItems() == null ? List.of() : order.getItems();
+        //저장 전 항목은 id 가 없으므로 목록 순서, 저장된 항목은 가장 먼저 들어간 줄
+        OrderItem first = items.stream()
+                .filter(oi -> oi.getId() != null)
+                .min(Comparator.comparing(OrderItem::getId))
+                .orElse(items.isEmpty() ? null : items.get(0));
+        Book book = first == null ? null : first.getBook();
+        return OrderSummary.builder()
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .itemCount(items.stream().mapToInt(oi -> oi.getQuantity() == null ? 0 : oi.getQuantity()).sum())
+                .lineCount(items.size())
+                .firstBookId(book == null ? null : book.getId())
+                .firstItemTitle(book == null ? null : book.getTitle())
+                .firstItemImageUrl(book == null ? null : book.getImageUrl())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.Bookstore.domain.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+//outbox 이벤트를 받은 구독자 기록 (일부 구독자만 성공한 이벤트를 다시 보낼 때 이미 받은 구독자를 건너뜀)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_deliveries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_deliveries_event_subscriber", columnNames = {"event_id", "subscriber"})
+})
+public class OutboxDelivery {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    //구독자 이름 (OutboxSubscriber#subscriberName)
+    @Column(nullable = false, length = 100)
+    private String subscriber;
+
+    @Column(name = "delivered_at", nullable = false)
+    private LocalDateTime deliveredAt;
+}
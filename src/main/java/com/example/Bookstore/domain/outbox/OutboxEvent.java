@@ -0,0 +1,62 @@
+package com.example.Bookstore.domain.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+//주문/결제 트랜잭션과 함께 기록하고 릴레이가 커밋 후에 구독자에게 전달하는 이벤트 (transactional outbox)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_relay_pending", columnList = "published_at, dead_at, next_attempt_at, id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //이벤트 클래스 이름 (릴레이가 이 타입으로 payload 를 읽음)
+    @Column(name = "event_type", nullable = false, length = 200)
+    private String eventType;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    //전달을 마친 시각 (null 이면 대기 중)
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    //전달 실패 시 다음 시도 시각 (지수 백오프)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    //재시도 한도를 넘겨 전달을 포기한 시각 (릴레이가 더 이상 잡지 않음, 원인 확인 후 비우고 attempts 를 0 으로 되돌리면 다시 전달)
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) nextAttemptAt = createdAt;
+    }
+}
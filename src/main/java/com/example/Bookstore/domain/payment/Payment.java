@@ -3,6 +3,7 @@ package com.example.Bookstore.domain.payment;
 import com.example.Bookstore.domain.order.Order;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,12 +14,20 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_status_updated_at", columnList = "status, updated_at")
+})
 public class Payment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    //낙관적 잠금 : PG 콜백과 상태 조회(polling)가 같은 결제를 동시에 바꾸지 않도록
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "order_id", nullable = false, unique = true)
     private Order order;
@@ -36,13 +45,27 @@ public class Payment {
 
     private String providerTransactionId;
 
+    //실패/취소 사유 (PG 거절 메시지 등)
+    @Column(length = 200)
+    private String failureReason;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    //마지막 상태 변경 시각 (응답이 없는 결제를 골라 PG 에 조회할 때 기준)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @PrePersist
     public void prePersist() {
         if (createdAt == null) createdAt = LocalDateTime.now();
+        if (updatedAt == null) updatedAt = createdAt;
         if (status == null) status = PaymentStatus.PENDING;
     }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
 
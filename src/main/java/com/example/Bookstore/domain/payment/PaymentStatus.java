@@ -5,6 +5,7 @@ public enum PaymentStatus {
     AUTHORIZED,
     CAPTURED,
     FAILED,
+    //이쪽에서 취소/환불을 결정했지만 PG 확인 전 (PG 결과로 REFUNDED 또는 FAILED 가 됨)
+    REFUND_PENDING,
     REFUNDED
 }
-
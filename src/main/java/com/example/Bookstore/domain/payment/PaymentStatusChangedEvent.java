@@ -0,0 +1,17 @@
+package com.example.Bookstore.domain.payment;
+
+import java.math.BigDecimal;
+
+//결제 상태 변경 이벤트 (outbox 로 기록되어 커밋 후 구독자에게 전달)
+public record PaymentStatusChangedEvent(Long paymentId,
+                                        Long orderId,
+                                        PaymentStatus from,
+                                        PaymentStatus to,
+                                        BigDecimal amount) {
+
+    public static PaymentStatusChangedEvent of(Payment payment, PaymentStatus from) {
+        return new PaymentStatusChangedEvent(payment.getId(),
+                payment.getOrder() == null ? null : payment.getOrder().getId(),
+                from, payment.getStatus(), payment.getAmount());
+    }
+}
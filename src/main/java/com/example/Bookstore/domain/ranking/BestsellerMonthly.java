@@ -0,0 +1,41 @@
+package com.example.Bookstore.domain.ranking;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+//월간 베스트셀러 집계 테이블 (주문 상태 변경 시 증분 갱신되는 읽기 모델)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "bestseller_monthly", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bestseller_month_book", columnNames = {"sales_month", "book_id"})
+}, indexes = {
+        @Index(name = "idx_bestseller_month_qty", columnList = "sales_month, quantity"),
+        @Index(name = "idx_bestseller_month_category_qty", columnList = "sales_month, category_id, quantity")
+})
+public class BestsellerMonthly {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //집계 월 (yyyy-MM)
+    @Column(name = "sales_month", nullable = false, length = 7)
+    private String salesMonth;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.example.Bookstore.domain.search;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+//검색어 집계 버킷 단위 (분 -> 시 -> 일 로 롤업)
+public enum BucketGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    BucketGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    //time 이 속한 버킷의 시작 시각
+    public LocalDateTime truncate(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    //다음 버킷의 시작 시각
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+
+    //time 이후(포함) 처음 시작하는 버킷의 시작 시각
+    public LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime start = truncate(time);
+        return start.equals(time) ? start : next(start);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.Bookstore.domain.search;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+//시간 구간별 검색 횟수 (분 단위로 쌓고 시/일 단위로 롤업)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "search_keyword_buckets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_search_bucket", columnNames = {"granularity", "bucket_start", "keyword"})
+})
+public class SearchKeywordBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private BucketGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, length = 120)
+    private String keyword;
+
+    @Column(nullable = false)
+    private Long count;
+}
@@ -11,8 +11,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "search_keyword_stats", indexes = {
-        @Index(name = "idx_search_keyword", columnList = "keyword")
+@Table(name = "search_keyword_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_search_keyword", columnNames = "keyword")
+}, indexes = {
+        @Index(name = "idx_search_keyword_count", columnList = "count")
 })
 public class SearchKeywordStat {
     @Id
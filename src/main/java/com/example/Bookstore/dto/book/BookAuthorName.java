@@ -0,0 +1,5 @@
+package com.example.Bookstore.dto.book;
+
+//도서 id 별 저자 이름 (목록용 저자 일괄 조회 결과)
+public record BookAuthorName(Long bookId, String authorName) {
+}
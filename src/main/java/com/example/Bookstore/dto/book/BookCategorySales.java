@@ -0,0 +1,5 @@
+package com.example.Bookstore.dto.book;
+
+//도서 id + 카테고리 id 별 판매 수량 (랭킹 재집계용)
+public record BookCategorySales(Long bookId, Long categoryId, Long totalQty) {
+}
@@ -0,0 +1,59 @@
+package com.example.Bookstore.dto.book;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * 커서(keyset) 페이지네이션 위치입니다. 마지막으로 본 행의 정렬 키와 id 를 담고,
+ * 화면에는 {@link #encode()} 한 불투명 문자열(after=...)로만 노출합니다.
+ */
+public record BookCursor(BookSort sort, String value, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public BookCursor {
+        Objects.requireNonNull(sort, "sort 는 null 일 수 없습니다");
+        Objects.requireNonNull(id, "id 는 null 일 수 없습니다");
+    }
+
+    //마지막 행 기준 커서 생성
+    public static BookCursor of(BookSort sort, Long id, LocalDateTime createdAt, BigDecimal price) {
+        String value = switch (sort) {
+            case ID -> "";
+            case LATEST -> createdAt == null ? "" : createdAt.toString();
+            case PRICE -> price == null ? "" : price.toPlainString();
+        };
+        return new BookCursor(sort, value, id);
+    }
+
+    public static BookCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) throw new IllegalArgumentException(raw);
+            BookCursor cursor = new BookCursor(BookSort.valueOf(parts[0]), parts[1], Long.valueOf(parts[2]));
+            //값 형식 검증
+            cursor.lastCreatedAt();
+            cursor.lastPrice();
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다. after = " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime lastCreatedAt() {
+        return sort == BookSort.LATEST && !value.isEmpty() ? LocalDateTime.parse(value) : null;
+    }
+
+    public BigDecimal lastPrice() {
+        return sort == BookSort.PRICE && !value.isEmpty() ? new BigDecimal(value) : null;
+    }
+}
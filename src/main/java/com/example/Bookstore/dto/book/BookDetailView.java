@@ -0,0 +1,86 @@
+package com.example.Bookstore.dto.book;
+
+import com.example.Bookstore.domain.book.Author;
+import com.example.Bookstore.domain.book.Book;
+import com.example.Bookstore.domain.book.BookAuthor;
+import com.example.Bookstore.domain.book.SaleStatus;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 도서 상세 화면용 읽기 모델입니다. 카테고리·저자·재고까지 미리 채운 값이라
+ * 영속성 컨텍스트 없이 캐시(L1 힙, L2 Redis 직렬화)에 보관하고 그대로 렌더링할 수 있습니다.
+ */
+public record BookDetailView(
+        Long id,
+        Long isbn,
+        String title,
+        String description,
+        String publisher,
+        String imageUrl,
+        String previewUrl,
+        BigDecimal price,
+        String size,
+        BigDecimal rating,
+        SaleStatus saleStatus,
+        LocalDate publishedDate,
+        Integer viewCnt,
+        Long categoryId,
+        String categoryName,
+        List<String> authorNames,
+        Long stockQuantity) implements Serializable {
+
+    public BookDetailView {
+        authorNames = authorNames == null ? List.of() : List.copyOf(authorNames);
+    }
+
+    //category, bookAuthors.author, inventory 가 미리 로딩된 Book 에서 생성
+    public static BookDetailView from(Book book) {
+        List<String> authorNames = book.getBookAuthors().stream()
+                .sorted(Comparator.comparing(BookAuthor::getId, Comparator.nullsLast(Comparator.<Long>naturalOrder())))
+                .map(BookAuthor::getAuthor)
+                .filter(Objects::nonNull)
+                .map(Author::getName)
+                .toList();
+        return new BookDetailView(
+                book.getId(),
+                book.getIsbn(),
+                book.getTitle(),
+                book.getDescription(),
+                book.getPublisher(),
+                book.getImageUrl(),
+                book.getPreviewUrl(),
+                book.getPrice(),
+                book.getSize(),
+                book.getRating(),
+                book.getSaleStatus(),
+                book.getPublishedDate(),
+                book.getViewCnt(),
+                book.getCategory() == null ? null : book.getCategory().getId(),
+                book.getCategory() == null ? null : book.getCategory().getName(),
+                authorNames,
+                book.getInventory() == null ? null : book.getInventory().getQuantity());
+    }
+
+    //캐시 용량 계산용 대략적인 힙 크기 (문자열은 UTF-16 기준)
+    public long estimatedBytes() {
+        long bytes = 200;
+        for (String text : List.of(nullToEmpty(title), nullToEmpty(description), nullToEmpty(publisher),
+                nullToEmpty(imageUrl), nullToEmpty(previewUrl), nullToEmpty(size), nullToEmpty(categoryName))) {
+            bytes += 40 + 2L * text.length();
+        }
+        for (String authorName : authorNames) {
+            bytes += 40 + 2L * authorName.length();
+        }
+        return bytes;
+    }
+
+    private static String nullToEmpty(String text) {
+        return text == null ? "" : text;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.Bookstore.dto.book;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 도서 목록 한 줄에 필요한 컬럼만 담는 JPQL 생성자 프로젝션입니다.
+ * description(TEXT) 과 연관 엔티티를 읽지 않으므로 Book 엔티티보다 행 크기와 쿼리 수가 작습니다.
+ */
+public record BookListRow(
+        Long id,
+        String title,
+        String imageUrl,
+        BigDecimal price,
+        String publisher,
+        String categoryName,
+        LocalDate publishedDate,
+        BigDecimal rating,
+        Integer viewCnt,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,7 @@
+package com.example.Bookstore.dto.book;
+
+import java.io.Serializable;
+
+//순위표 한 줄 : 도서 요약 + 판매 수량
+public record BookRanking(BookSummary book, long totalQty) implements Serializable {
+}
@@ -0,0 +1,5 @@
+package com.example.Bookstore.dto.book;
+
+//도서 id 별 판매 수량 (베스트셀러 집계 결과)
+public record BookSales(Long bookId, Long totalQty) {
+}
@@ -0,0 +1,20 @@
+package com.example.Bookstore.dto.book;
+
+import java.util.Locale;
+
+//커서 목록 정렬 기준 (동률은 항상 id 로 구분)
+public enum BookSort {
+    ID,         //id 오름차순
+    LATEST,     //등록일 내림차순
+    PRICE;      //가격 오름차순
+
+    //요청 파라미터(id, latest, price) → 정렬 기준, 모르는 값은 ID
+    public static BookSort from(String value) {
+        if (value == null || value.isBlank()) return ID;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ID;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.Bookstore.dto.book;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 도서 목록/홈 화면용 읽기 모델입니다.
+ * {@link BookListRow} 에 저자 이름(한 번의 일괄 조회로 채움)을 붙인 형태라 화면 렌더링 중 지연 로딩이 없습니다.
+ */
+public record BookSummary(
+        Long id,
+        String title,
+        String imageUrl,
+        BigDecimal price,
+        String publisher,
+        String categoryName,
+        LocalDate publishedDate,
+        BigDecimal rating,
+        Integer viewCnt,
+        LocalDateTime createdAt,
+        List<String> authorNames) implements Serializable {
+
+    public BookSummary {
+        authorNames = authorNames == null ? List.of() : List.copyOf(authorNames);
+    }
+
+    public static BookSummary of(BookListRow row, List<String> authorNames) {
+        return new BookSummary(row.id(), row.title(), row.imageUrl(), row.price(), row.publisher(),
+                row.categoryName(), row.publishedDate(), row.rating(), row.viewCnt(), row.createdAt(), authorNames);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Bookstore.dto.book;
+
+import java.io.Serializable;
+
+//지금 뜨는 도서 한 줄 : 도서 요약 + 현재 감쇠 점수
+public record TrendingBook(BookSummary book, double score) implements Serializable {
+}
@@ -0,0 +1,7 @@
+package com.example.Bookstore.dto.search;
+
+import java.io.Serializable;
+
+//인기 검색어 한 줄 : 검색어 + 누적 검색 횟수
+public record KeywordCount(String keyword, long count) implements Serializable {
+}
@@ -1,8 +1,12 @@
 package com.example.Bookstore.repository.book;
 
 import com.example.Bookstore.domain.book.BookAuthor;
+import com.example.Bookstore.dto.book.BookAuthorName;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +26,13 @@ public interface BookAuthorRepository extends JpaRepository<BookAuthor, Long> {
 
     //특정 author 이름으로 연결된 관계 조회
     List<BookAuthor> findByAuthor_NameContainingIgnoreCase(String name);
+
+    //여러 book 의 저자 이름을 한 번에 조회 (목록 화면용)
+    @Query("""
+            select new com.example.Bookstore.dto.book.BookAuthorName(ba.book.id, a.name)
+            from BookAuthor ba join ba.author a
+            where ba.book.id in :bookIds
+            order by ba.id
+            """)
+    List<BookAuthorName> findAuthorNamesByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
 }
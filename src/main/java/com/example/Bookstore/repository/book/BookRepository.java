@@ -1,14 +1,22 @@
 package com.example.Bookstore.repository.book;
 
 import com.example.Bookstore.domain.book.Book;
+import com.example.Bookstore.dto.book.BookListRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
 
     //Isbn으로 book 조회
     Optional<Book> findByIsbn(Long isbn);
@@ -42,5 +50,113 @@ public interface BookRepository extends JpaRepository<Book, Long> {
             String title, String author, String publisher, Pageable pageable
     );
 
+    //상세 화면용 : 카테고리, 저자, 재고까지 한 번에 조회
+    @EntityGraph(attributePaths = {"category", "bookAuthors", "bookAuthors.author", "inventory"})
+    Optional<Book> findDetailById(Long id);
+
+    //목록 화면용 프로젝션 : 목록에 보이는 컬럼만 읽음 (description, 연관 엔티티 제외)
+    String LIST_ROW_SELECT = """
+            select new com.example.Bookstore.dto.book.BookListRow(
+                b.id, b.title, b.imageUrl, b.price, b.publisher, c.name, b.publishedDate, b.rating, b.viewCnt, b.createdAt)
+            from Book b join b.category c
+            """;
+
+    //검색어 포함 조건 : 검색어의 %, _, \ 는 글자 그대로 찾도록 이스케이프 (파생 쿼리 ...ContainingIgnoreCase 와 같은 규칙)
+    String KEYWORD_PATTERN = "lower(concat('%', :#{escape(#keyword)}, '%')) escape :#{escapeCharacter()}";
+
+    //저자 조건 : join 대신 exists 로 걸어 한 책이 여러 번 나오지 않게 함
+    String AUTHOR_MATCH = "exists (select ba.id from BookAuthor ba join ba.author a "
+            + "where ba.book = b and lower(a.name) like " + KEYWORD_PATTERN + ")";
+
+    String TITLE_MATCH = "lower(b.title) like " + KEYWORD_PATTERN;
+
+    String PUBLISHER_MATCH = "lower(b.publisher) like " + KEYWORD_PATTERN;
+
+    //목록 본문만 조회 (Slice : COUNT 쿼리 없음), 총 개수는 아래 count 쿼리 + BookCountCache 로 따로 구함
+    //categoryId 가 null 이면 전체
+    @Query(LIST_ROW_SELECT + """
+            where (:categoryId is null or c.id = :categoryId)
+            """)
+    Slice<BookListRow> findListRows(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "where (:categoryId is null or c.id = :categoryId) and " + TITLE_MATCH)
+    Slice<BookListRow> findListRowsByTitle(@Param("categoryId") Long categoryId,
+                                           @Param("keyword") String keyword,
+                                           Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "where (:categoryId is null or c.id = :categoryId) and " + PUBLISHER_MATCH)
+    Slice<BookListRow> findListRowsByPublisher(@Param("categoryId") Long categoryId,
+                                               @Param("keyword") String keyword,
+                                               Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "where (:categoryId is null or c.id = :categoryId) and " + AUTHOR_MATCH)
+    Slice<BookListRow> findListRowsByAuthor(@Param("categoryId") Long categoryId,
+                                            @Param("keyword") String keyword,
+                                            Pageable pageable);
+
+    //책제목 + 저자 + 출판사
+    @Query(LIST_ROW_SELECT + "where " + TITLE_MATCH + " or " + PUBLISHER_MATCH + " or " + AUTHOR_MATCH)
+    Slice<BookListRow> findListRowsByAnyField(@Param("keyword") String keyword, Pageable pageable);
+
+    //id 목록으로 목록 행 조회 (검색 인덱스 결과용, 순서는 호출 측에서 맞춤)
+    @Query(LIST_ROW_SELECT + "where b.id in :ids")
+    List<BookListRow> findListRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByCategory_Id(Long categoryId);
+
+    @Query("select count(b) from Book b where (:categoryId is null or b.category.id = :categoryId) and " + TITLE_MATCH)
+    long countByTitle(@Param("categoryId") Long categoryId, @Param("keyword") String keyword);
+
+    @Query("select count(b) from Book b where (:categoryId is null or b.category.id = :categoryId) and " + PUBLISHER_MATCH)
+    long countByPublisher(@Param("categoryId") Long categoryId, @Param("keyword") String keyword);
+
+    @Query("select count(b) from Book b where (:categoryId is null or b.category.id = :categoryId) and " + AUTHOR_MATCH)
+    long countByAuthor(@Param("categoryId") Long categoryId, @Param("keyword") String keyword);
+
+    @Query("select count(b) from Book b where " + TITLE_MATCH + " or " + PUBLISHER_MATCH + " or " + AUTHOR_MATCH)
+    long countByAnyField(@Param("keyword") String keyword);
+
+    //검색 인덱스 구축용 : 저자까지 한 번에 조회
+    @Query("select distinct b from Book b left join fetch b.bookAuthors ba left join fetch ba.author")
+    List<Book> findAllWithAuthors();
+
+    //id 목록으로 조회 (카테고리, 저자 함께 로딩)
+    @EntityGraph(attributePaths = {"category", "bookAuthors", "bookAuthors.author"})
+    List<Book> findAllWithAuthorsByIdIn(Collection<Long> ids);
+
+    //커서(keyset) 목록 : 마지막으로 본 행 다음부터 조회, Slice 라서 COUNT 쿼리 없음
+    //categoryId, 커서 값이 null 이면 조건 생략 (첫 조각)
+    @Query(LIST_ROW_SELECT + """
+            where (:categoryId is null or c.id = :categoryId)
+            and (:lastId is null or b.id > :lastId)
+            order by b.id asc
+            """)
+    Slice<BookListRow> findSliceOrderById(@Param("categoryId") Long categoryId,
+                                          @Param("lastId") Long lastId,
+                                          Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + """
+            where (:categoryId is null or c.id = :categoryId)
+            and (:lastCreatedAt is null
+                 or b.createdAt < :lastCreatedAt
+                 or (b.createdAt = :lastCreatedAt and b.id < :lastId))
+            order by b.createdAt desc, b.id desc
+            """)
+    Slice<BookListRow> findSliceOrderByCreatedAtDesc(@Param("categoryId") Long categoryId,
+                                                     @Param("lastCreatedAt") LocalDateTime lastCreatedAt,
+                                                     @Param("lastId") Long lastId,
+                                                     Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + """
+            where (:categoryId is null or c.id = :categoryId)
+            and (:lastPrice is null
+                 or b.price > :lastPrice
+                 or (b.price = :lastPrice and b.id > :lastId))
+            order by b.price asc, b.id asc
+            """)
+    Slice<BookListRow> findSliceOrderByPrice(@Param("categoryId") Long categoryId,
+                                             @Param("lastPrice") BigDecimal lastPrice,
+                                             @Param("lastId") Long lastId,
+                                             Pageable pageable);
 
 }
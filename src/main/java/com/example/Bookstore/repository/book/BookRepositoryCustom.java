@@ -0,0 +1,10 @@
+package com.example.Bookstore.repository.book;
+
+import java.util.Map;
+
+//JPA 로 표현하기 어려운 일괄 쓰기 (JdbcTemplate 구현)
+public interface BookRepositoryCustom {
+
+    //도서별 조회수 증가분을 batch UPDATE 로 한 번에 반영
+    void addViewCounts(Map<Long, Long> increments);
+}
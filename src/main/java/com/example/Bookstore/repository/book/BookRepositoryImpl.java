@@ -0,0 +1,27 @@
+package com.example.Bookstore.repository.book;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class BookRepositoryImpl implements BookRepositoryCustom {
+
+    private static final String ADD_VIEW_COUNT =
+            "UPDATE book SET view_cnt = COALESCE(view_cnt, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addViewCounts(Map<Long, Long> increments) {
+        if (increments.isEmpty()) return;
+        //노드끼리 동시에 반영해도 같은 순서로 행 잠금을 잡도록 id 순으로 정렬
+        List<Object[]> args = new ArrayList<>(increments.size());
+        new TreeMap<>(increments).forEach((bookId, count) -> args.add(new Object[]{count, bookId}));
+        jdbcTemplate.batchUpdate(ADD_VIEW_COUNT, args);
+    }
+}
@@ -3,13 +3,18 @@ package com.example.Bookstore.repository.book;
 import com.example.Bookstore.domain.book.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryRepositoryCustom {
 
     //책 재고 조회
     Optional<Inventory> findByBook_Id(Long bookId);
 
+    //여러 책 재고 한 번에 조회 (주문 전 재고 확인용)
+    List<Inventory> findAllByBook_IdIn(Collection<Long> bookIds);
+
     //책 존재 여부 확인
     boolean existsByBook_Id(Long bookId);
 }
@@ -0,0 +1,14 @@
+package com.example.Bookstore.repository.book;
+
+import java.util.List;
+import java.util.Map;
+
+//JPA 로 표현하기 어려운 일괄 쓰기 (JdbcTemplate 구현)
+public interface InventoryRepositoryCustom {
+
+    //재고가 충분한 도서만 수량만큼 차감하고, 재고가 모자라 차감하지 못한 도서 id 를 반환
+    List<Long> decrementStock(Map<Long, Long> quantitiesByBookId);
+
+    //다른 곳(Redis 한정 판매 재고)에서 확정된 판매량을 반영 (음수는 취소로 돌아온 수량, 0 미만으로는 내려가지 않음)
+    void applySoldQuantities(Map<Long, Long> soldByBookId);
+}
@@ -0,0 +1,50 @@
+package com.example.Bookstore.repository.book;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class InventoryRepositoryImpl implements InventoryRepositoryCustom {
+
+    //조건부 차감 : 재고가 모자라면 0 행이 바뀌므로 읽고-쓰기 사이의 경합 없이 초과 판매를 막음
+    //version 도 올려서 이 행을 먼저 읽어 둔 JPA 쪽 저장이 차감을 덮어쓰지 않게 함
+    private static final String DECREMENT_STOCK =
+            "UPDATE inventory SET quantity = quantity - ?, version = version + 1 WHERE book_id = ? AND quantity >= ?";
+
+    private static final String APPLY_SOLD =
+            "UPDATE inventory SET quantity = GREATEST(quantity - ?, 0), version = version + 1 WHERE book_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> decrementStock(Map<Long, Long> quantitiesByBookId) {
+        if (quantitiesByBookId.isEmpty()) return List.of();
+        //동시 주문끼리 같은 순서로 행 잠금을 잡도록 book_id 순으로 정렬 (교착 방지)
+        List<Map.Entry<Long, Long>> rows = new ArrayList<>(new TreeMap<>(quantitiesByBookId).entrySet());
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Map.Entry<Long, Long> row : rows) {
+            args.add(new Object[]{row.getValue(), row.getKey(), row.getValue()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_STOCK, args);
+
+        //행별 결과가 필요하므로 rewriteBatchedStatements 처럼 결과를 알 수 없게(SUCCESS_NO_INFO) 만드는 설정에서는 실패로 취급
+        List<Long> insufficient = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] != 1) insufficient.add(rows.get(i).getKey());
+        }
+        return insufficient;
+    }
+
+    @Override
+    public void applySoldQuantities(Map<Long, Long> soldByBookId) {
+        if (soldByBookId.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(soldByBookId.size());
+        new TreeMap<>(soldByBookId).forEach((bookId, sold) -> args.add(new Object[]{sold, bookId}));
+        jdbcTemplate.batchUpdate(APPLY_SOLD, args);
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.Bookstore.repository.order;
 
 import com.example.Bookstore.domain.order.OrderItem;
+import com.example.Bookstore.dto.book.BookCategorySales;
+import com.example.Bookstore.dto.book.BookSales;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,17 +22,30 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     boolean existsByOrderIdAndBookId(Long orderId, Long bookId);
 
+    //월간 베스트셀러 : 도서 id 별 판매 수량 (집계 테이블 검증/비교용, 화면은 bestseller_monthly 사용)
     @Query("""
-            SELECT oi.book as book, sum(oi.quantity) as totalQty
+            SELECT new com.example.Bookstore.dto.book.BookSales(oi.book.id, sum(oi.quantity))
             FROM OrderItem oi
             JOIN oi.order o
             WHERE o.status IN ('PAID', 'SHIPPED', 'COMPLETED')
             AND o.createdAt BETWEEN :start AND :end
-            GROUP BY oi.book
+            GROUP BY oi.book.id
             ORDER BY SUM(oi.quantity) DESC
             """)
-    List<Object[]> findMonthlyBestsellers(@Param("start") LocalDateTime start,
-                                          @Param("end") LocalDateTime end);
-}
-
+    List<BookSales> findMonthlyBestsellers(@Param("start") LocalDateTime start,
+                                           @Param("end") LocalDateTime end,
+                                           Pageable pageable);
 
+    //기간 내 도서/카테고리별 판매 수량 (Redis 랭킹 재집계용)
+    @Query("""
+            SELECT new com.example.Bookstore.dto.book.BookCategorySales(b.id, b.category.id, sum(oi.quantity))
+            FROM OrderItem oi
+            JOIN oi.order o
+            JOIN oi.book b
+            WHERE o.status IN ('PAID', 'SHIPPED', 'COMPLETED')
+            AND o.createdAt >= :start AND o.createdAt < :end
+            GROUP BY b.id, b.category.id
+            """)
+    List<BookCategorySales> findSalesByBookAndCategory(@Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end);
+}
@@ -18,5 +18,6 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findTopByUserIdOrderByCreatedAtDesc(Long userId);
 
     boolean existsByUserIdAndStatus(Long userId, OrderStatus status);
-}
 
+    Optional<Order> findByUser_IdAndIdempotencyKey(Long userId, String idempotencyKey);
+}
@@ -0,0 +1,55 @@
+package com.example.Bookstore.repository.order;
+
+import com.example.Bookstore.domain.order.OrderStatus;
+import com.example.Bookstore.domain.order.OrderSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    //나의 주문 한 페이지 (Slice : COUNT 쿼리 없음, (user_id, created_at, order_id) 인덱스 순서대로 읽음)
+    Slice<OrderSummary> findByUserIdOrderByCreatedAtDescOrderIdDesc(Long userId, Pageable pageable);
+
+    //관리자 주문 목록 (전체 페이지 수가 필요해 COUNT 포함, 좁은 요약 테이블에서 셈)
+    Page<OrderSummary> findAllByOrderByCreatedAtDescOrderIdDesc(Pageable pageable);
+
+    //주문 생성 시 요약 행 기록 (이미 있으면 덮어씀, PK 조회 없이 한 문장)
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_summaries (order_id, user_id, status, total_amount, item_count, line_count,
+                                         first_book_id, first_item_title, first_item_image_url, created_at, updated_at)
+            VALUES (:#{#s.orderId}, :#{#s.userId}, :#{#s.status.name()}, :#{#s.totalAmount}, :#{#s.itemCount},
+                    :#{#s.lineCount}, :#{#s.firstBookId}, :#{#s.firstItemTitle}, :#{#s.firstItemImageUrl},
+                    :#{#s.createdAt}, NOW())
+            ON DUPLICATE KEY UPDATE status = VALUES(status), updated_at = NOW()
+            """, nativeQuery = true)
+    int upsert(@Param("s") OrderSummary summary);
+
+    //상태 변경 반영 (요약 행이 없으면 0 을 돌려줌)
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.status = :status, s.updatedAt = CURRENT_TIMESTAMP WHERE s.orderId = :orderId")
+    int updateStatus(@Param("orderId") Long orderId, @Param("status") OrderStatus status);
+
+    //요약 행이 없는 주문을 주문 원장에서 채움 (초기 적재/보정용)
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_summaries (order_id, user_id, status, total_amount, item_count, line_count,
+                                         first_book_id, first_item_title, first_item_image_url, created_at, updated_at)
+            SELECT o.id, o.user_id, o.status, o.total_amount, agg.item_count, agg.line_count,
+                   b.id, b.title, b.image_url, o.created_at, NOW()
+            FROM orders o
+            JOIN (SELECT order_id, SUM(quantity) AS item_count, COUNT(*) AS line_count, MIN(id) AS first_item_id
+                  FROM order_items
+                  GROUP BY order_id) agg ON agg.order_id = o.id
+            JOIN order_items fi ON fi.id = agg.first_item_id
+            JOIN book b ON b.id = fi.book_id
+            LEFT JOIN order_summaries s ON s.order_id = o.id
+            WHERE s.order_id IS NULL
+            """, nativeQuery = true)
+    int backfillMissing();
+}
@@ -0,0 +1,20 @@
+package com.example.Bookstore.repository.outbox;
+
+import com.example.Bookstore.domain.outbox.OutboxDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxDeliveryRepository extends JpaRepository<OutboxDelivery, Long>, OutboxDeliveryRepositoryCustom {
+
+    List<OutboxDelivery> findByEventIdIn(Collection<Long> eventIds);
+
+    //모든 구독자에게 전달을 마친 이벤트의 기록 정리 (이벤트 완료 표시와 같은 트랜잭션)
+    @Modifying
+    @Query("DELETE FROM OutboxDelivery d WHERE d.eventId IN :eventIds")
+    int deleteByEventIds(@Param("eventIds") Collection<Long> eventIds);
+}
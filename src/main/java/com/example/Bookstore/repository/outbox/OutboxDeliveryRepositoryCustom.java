@@ -0,0 +1,11 @@
+package com.example.Bookstore.repository.outbox;
+
+import java.util.Collection;
+import java.util.Map;
+
+//JPA 로 표현하기 어려운 일괄 쓰기 (JdbcTemplate 구현)
+public interface OutboxDeliveryRepositoryCustom {
+
+    //이벤트 id 별로 전달에 성공한 구독자를 한 번에 기록 (이미 있는 기록은 무시)
+    void recordDeliveries(Map<Long, ? extends Collection<String>> subscribersByEventId);
+}
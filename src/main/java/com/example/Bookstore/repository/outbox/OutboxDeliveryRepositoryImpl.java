@@ -0,0 +1,30 @@
+package com.example.Bookstore.repository.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class OutboxDeliveryRepositoryImpl implements OutboxDeliveryRepositoryCustom {
+
+    private static final String RECORD_DELIVERY =
+            "INSERT IGNORE INTO outbox_deliveries (event_id, subscriber, delivered_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void recordDeliveries(Map<Long, ? extends Collection<String>> subscribersByEventId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>();
+        subscribersByEventId.forEach((eventId, subscribers) ->
+                subscribers.forEach(subscriber -> args.add(new Object[]{eventId, subscriber, now})));
+        if (args.isEmpty()) return;
+        jdbcTemplate.batchUpdate(RECORD_DELIVERY, args);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.Bookstore.repository.outbox;
+
+import com.example.Bookstore.domain.outbox.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    //전달 대기 이벤트를 오래된 순으로 잠그며 가져옴 (다른 노드가 잠근 행은 건너뛰어 릴레이끼리 기다리지 않음)
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE published_at IS NULL AND dead_at IS NULL AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockPending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    //전달 대기 중인 이벤트 수 (지표용)
+    long countByPublishedAtIsNullAndDeadAtIsNull();
+
+    //전달을 포기한 이벤트 수
+    long countByDeadAtIsNotNull();
+
+    //보관 기간이 지난 전달 완료 이벤트를 limit 건씩 삭제
+    @Modifying
+    @Query(value = """
+            DELETE FROM outbox_events
+            WHERE published_at IS NOT NULL AND published_at < :before
+            LIMIT :limit
+            """, nativeQuery = true)
+    int deletePublishedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -3,9 +3,11 @@ package com.example.Bookstore.repository.payment;
 import com.example.Bookstore.domain.payment.Payment;
 import com.example.Bookstore.domain.payment.PaymentMethod;
 import com.example.Bookstore.domain.payment.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,5 +26,8 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByOrderUser_Id(Long userId);
 
     List<Payment> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to);
+
+    //PG 결과를 기다리는 중인데 한동안 바뀌지 않은 결제 (콜백 유실 대비 상태 조회 대상)
+    List<Payment> findByStatusInAndUpdatedAtBefore(Collection<PaymentStatus> statuses, LocalDateTime before, Pageable pageable);
 }
 
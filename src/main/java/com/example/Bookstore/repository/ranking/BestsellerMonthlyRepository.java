@@ -0,0 +1,74 @@
+package com.example.Bookstore.repository.ranking;
+
+import com.example.Bookstore.domain.ranking.BestsellerMonthly;
+import com.example.Bookstore.dto.book.BookSales;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BestsellerMonthlyRepository extends JpaRepository<BestsellerMonthly, Long> {
+
+    boolean existsBySalesMonth(String salesMonth);
+
+    //월간 판매량 Top-K ((sales_month, quantity) 인덱스 범위 스캔)
+    @Query("""
+            SELECT new com.example.Bookstore.dto.book.BookSales(b.bookId, b.quantity)
+            FROM BestsellerMonthly b
+            WHERE b.salesMonth = :month
+            AND b.quantity > 0
+            ORDER BY b.quantity DESC, b.bookId ASC
+            """)
+    List<BookSales> findTop(@Param("month") String month, Pageable pageable);
+
+    //카테고리별 월간 판매량 Top-K ((sales_month, category_id, quantity) 인덱스)
+    @Query("""
+            SELECT new com.example.Bookstore.dto.book.BookSales(b.bookId, b.quantity)
+            FROM BestsellerMonthly b
+            WHERE b.salesMonth = :month
+            AND b.categoryId = :categoryId
+            AND b.quantity > 0
+            ORDER BY b.quantity DESC, b.bookId ASC
+            """)
+    List<BookSales> findTopByCategory(@Param("month") String month,
+                                      @Param("categoryId") Long categoryId,
+                                      Pageable pageable);
+
+    //판매량 증분 반영 (행이 없으면 생성, 음수로 내려가지 않도록 0에서 멈춤)
+    @Modifying
+    @Query(value = """
+            INSERT INTO bestseller_monthly (sales_month, book_id, category_id, quantity, updated_at)
+            VALUES (:month, :bookId, :categoryId, GREATEST(:delta, 0), NOW())
+            ON DUPLICATE KEY UPDATE quantity = GREATEST(quantity + :delta, 0), updated_at = NOW()
+            """, nativeQuery = true)
+    int addQuantity(@Param("month") String month,
+                    @Param("bookId") Long bookId,
+                    @Param("categoryId") Long categoryId,
+                    @Param("delta") long delta);
+
+    //재집계 전 해당 월 판매량 초기화
+    @Modifying
+    @Query("UPDATE BestsellerMonthly b SET b.quantity = 0, b.updatedAt = CURRENT_TIMESTAMP WHERE b.salesMonth = :month")
+    int resetMonth(@Param("month") String month);
+
+    //주문 원장에서 해당 월 판매량 재집계 (초기 적재/보정용)
+    @Modifying
+    @Query(value = """
+            INSERT INTO bestseller_monthly (sales_month, book_id, category_id, quantity, updated_at)
+            SELECT :month, oi.book_id, b.category_id, SUM(oi.quantity), NOW()
+            FROM order_items oi
+            JOIN orders o ON o.id = oi.order_id
+            JOIN book b ON b.id = oi.book_id
+            WHERE o.status IN ('PAID', 'SHIPPED', 'COMPLETED')
+            AND o.created_at >= :start AND o.created_at < :end
+            GROUP BY oi.book_id, b.category_id
+            ON DUPLICATE KEY UPDATE quantity = VALUES(quantity), updated_at = NOW()
+            """, nativeQuery = true)
+    int rebuildMonth(@Param("month") String month,
+                     @Param("start") LocalDateTime start,
+                     @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,51 @@
+package com.example.Bookstore.repository.search;
+
+import com.example.Bookstore.domain.search.BucketGranularity;
+import com.example.Bookstore.domain.search.SearchKeywordBucket;
+import com.example.Bookstore.dto.search.KeywordCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SearchKeywordBucketRepository extends JpaRepository<SearchKeywordBucket, Long>, SearchKeywordBucketRepositoryCustom {
+
+    //[from, to) 구간 버킷의 검색어별 합계 (uk_search_bucket 의 (granularity, bucket_start) 범위 스캔)
+    @Query("""
+            select new com.example.Bookstore.dto.search.KeywordCount(b.keyword, sum(b.count))
+            from SearchKeywordBucket b
+            where b.granularity = :granularity
+            and b.bucketStart >= :from and b.bucketStart < :to
+            group by b.keyword
+            """)
+    List<KeywordCount> sumByKeyword(@Param("granularity") BucketGranularity granularity,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+
+    //하위 단위 버킷 [start, end) 를 합쳐 상위 단위 버킷 하나(start)를 다시 계산 (덮어쓰기라 여러 번 실행해도 같음)
+    @Modifying
+    @Query(value = """
+            INSERT INTO search_keyword_buckets (granularity, bucket_start, keyword, count)
+            SELECT * FROM (
+                SELECT :target AS granularity, :start AS bucket_start, b.keyword AS keyword, SUM(b.count) AS total
+                FROM search_keyword_buckets b
+                WHERE b.granularity = :source
+                AND b.bucket_start >= :start AND b.bucket_start < :end
+                GROUP BY b.keyword
+            ) AS rolled
+            ON DUPLICATE KEY UPDATE count = rolled.total
+            """, nativeQuery = true)
+    int rollup(@Param("source") String source,
+               @Param("target") String target,
+               @Param("start") LocalDateTime start,
+               @Param("end") LocalDateTime end);
+
+    //보관 기간이 지난 버킷 삭제
+    @Modifying
+    @Query("delete from SearchKeywordBucket b where b.granularity = :granularity and b.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") BucketGranularity granularity,
+                        @Param("before") LocalDateTime before);
+}
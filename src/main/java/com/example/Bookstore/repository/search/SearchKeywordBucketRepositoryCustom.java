@@ -0,0 +1,13 @@
+package com.example.Bookstore.repository.search;
+
+import com.example.Bookstore.domain.search.BucketGranularity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+//JPA 로 표현하기 어려운 일괄 쓰기 (JdbcTemplate 구현)
+public interface SearchKeywordBucketRepositoryCustom {
+
+    //한 버킷에 검색어별 증가분을 여러 행 upsert 로 더함
+    void addCounts(BucketGranularity granularity, LocalDateTime bucketStart, Map<String, Long> increments);
+}
@@ -0,0 +1,48 @@
+package com.example.Bookstore.repository.search;
+
+import com.example.Bookstore.domain.search.BucketGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class SearchKeywordBucketRepositoryImpl implements SearchKeywordBucketRepositoryCustom {
+
+    //한 문장에 넣는 최대 행 수 (패킷 크기/플레이스홀더 수 제한)
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String UPSERT_PREFIX =
+            "INSERT INTO search_keyword_buckets (granularity, bucket_start, keyword, count) VALUES ";
+    private static final String UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE count = count + VALUES(count)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addCounts(BucketGranularity granularity, LocalDateTime bucketStart, Map<String, Long> increments) {
+        if (increments.isEmpty()) return;
+        //노드끼리 동시에 반영해도 같은 순서로 행 잠금을 잡도록 키 순으로 정렬
+        List<Map.Entry<String, Long>> rows = new ArrayList<>(new TreeMap<>(increments).entrySet());
+        Timestamp start = Timestamp.valueOf(bucketStart);
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<Map.Entry<String, Long>> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            StringBuilder sql = new StringBuilder(UPSERT_PREFIX);
+            Object[] args = new Object[chunk.size() * 4];
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) sql.append(',');
+                sql.append("(?,?,?,?)");
+                args[i * 4] = granularity.name();
+                args[i * 4 + 1] = start;
+                args[i * 4 + 2] = chunk.get(i).getKey();
+                args[i * 4 + 3] = chunk.get(i).getValue();
+            }
+            sql.append(UPSERT_SUFFIX);
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+}
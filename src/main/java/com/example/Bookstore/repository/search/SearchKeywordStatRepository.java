@@ -1,14 +1,32 @@
 package com.example.Bookstore.repository.search;
 
 import com.example.Bookstore.domain.search.SearchKeywordStat;
+import com.example.Bookstore.dto.search.KeywordCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface SearchKeywordStatRepository extends JpaRepository<SearchKeywordStat, Long> {
+public interface SearchKeywordStatRepository extends JpaRepository<SearchKeywordStat, Long>, SearchKeywordStatRepositoryCustom {
 
     Optional<SearchKeywordStat> findByKeyword(String keyword);
 
     List<SearchKeywordStat> findTop10ByOrderByCountDesc();
+
+    //인기 검색어 : 검색어와 횟수만 조회 (count 인덱스를 역순으로 k 건만 읽음)
+    @Query("select new com.example.Bookstore.dto.search.KeywordCount(s.keyword, s.count) from SearchKeywordStat s order by s.count desc")
+    List<KeywordCount> findTopKeywords(Pageable pageable);
+
+    //상위 n 번째 행의 횟수 (정리 기준값)
+    @Query("select s.count from SearchKeywordStat s order by s.count desc")
+    List<Long> findCountsOrderByCountDesc(Pageable pageable);
+
+    //횟수가 기준값보다 작은 행 삭제
+    @Modifying
+    @Query("delete from SearchKeywordStat s where s.count < :threshold")
+    int deleteByCountLessThan(@Param("threshold") long threshold);
 }
@@ -0,0 +1,11 @@
+package com.example.Bookstore.repository.search;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+//JPA 로 표현하기 어려운 일괄 쓰기 (JdbcTemplate 구현)
+public interface SearchKeywordStatRepositoryCustom {
+
+    //검색어별 증가분을 여러 행 INSERT ... ON DUPLICATE KEY UPDATE 로 한 번에 반영
+    void upsertCounts(Map<String, Long> increments, LocalDateTime searchedAt);
+}
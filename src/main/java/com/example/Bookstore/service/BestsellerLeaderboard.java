@@ -0,0 +1,234 @@
+package com.example.Bookstore.service;
+
+import com.example.Bookstore.config.RankingProperties;
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.dto.book.BookCategorySales;
+import com.example.Bookstore.dto.book.BookSales;
+import com.example.Bookstore.repository.order.OrderItemRepository;
+import com.example.Bookstore.service.outbox.OutboxSubscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis ZSET 으로 관리하는 실시간 베스트셀러 랭킹입니다. (member = 도서 id, score = 판매 수량)
+ * 월간 / 일간 / 월간-카테고리별 세 종류의 키를 두고, outbox 로 전달받은 주문 상태 변경을 ZINCRBY 로 반영합니다.
+ * 읽기는 ZREVRANGE 로 상위 k 건만 가져오므로 모든 노드가 같은 순위를 O(log n + k) 로 봅니다.
+ * Redis 는 주문 트랜잭션에 묶이지 않으므로, 누락/중복으로 어긋난 값은 주기적인 재집계로 주문 원장에 맞춥니다.
+ * Redis 장애 시 조회는 빈 Optional 을 돌려주고 호출 쪽이 DB 집계 테이블로 대신 읽습니다.
+ */
+@Slf4j
+@Component
+public class BestsellerLeaderboard implements OutboxSubscriber<OrderStatusChangedEvent> {
+
+    private final StringRedisTemplate redisTemplate;
+    private final OrderItemRepository orderItemRepository;
+    //주문 원장 재집계용 읽기 전용 트랜잭션 (기동 시 재집계는 같은 빈 안에서 부르므로 @Transactional 프록시를 거치지 않음)
+    private final TransactionOperations readOnlyTransactions;
+    private final RankingProperties properties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    public BestsellerLeaderboard(StringRedisTemplate redisTemplate,
+                                 OrderItemRepository orderItemRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 RankingProperties properties) {
+        this(redisTemplate, orderItemRepository, readOnly(transactionManager), properties);
+    }
+
+    BestsellerLeaderboard(StringRedisTemplate redisTemplate,
+                          OrderItemRepository orderItemRepository,
+                          TransactionOperations readOnlyTransactions,
+                          RankingProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.orderItemRepository = orderItemRepository;
+        this.readOnlyTransactions = readOnlyTransactions;
+        this.properties = properties;
+    }
+
+    public String monthKey(YearMonth month) {
+        return properties.getKeyPrefix() + "month:" + month;
+    }
+
+    public String dayKey(LocalDate day) {
+        return properties.getKeyPrefix() + "day:" + day;
+    }
+
+    public String categoryKey(YearMonth month, Long categoryId) {
+        return monthKey(month) + ":category:" + categoryId;
+    }
+
+    @Override
+    public Class<OrderStatusChangedEvent> eventType() {
+        return OrderStatusChangedEvent.class;
+    }
+
+    //주문이 판매 상태로 들어오거나 빠지면 해당 주문일의 월/일/카테고리 랭킹에 수량을 더하거나 뺌
+    //outbox 릴레이가 커밋된 주문만 전달하며, Redis 실패는 그대로 던져 나중에 다시 전달받음
+    @Override
+    public void handle(OrderStatusChangedEvent event) {
+        int sign = event.salesSign();
+        if (sign == 0 || event.orderedAt() == null) return;
+        YearMonth month = YearMonth.from(event.orderedAt());
+        LocalDate day = event.orderedAt().toLocalDate();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                Set<String> touched = new HashSet<>();
+                for (OrderStatusChangedEvent.Line line : event.lines()) {
+                    if (line.quantity() <= 0) continue;
+                    double delta = (double) sign * line.quantity();
+                    String member = String.valueOf(line.bookId());
+                    List<String> keys = new ArrayList<>(List.of(monthKey(month), dayKey(day)));
+                    if (line.categoryId() != null) keys.add(categoryKey(month, line.categoryId()));
+                    for (String key : keys) {
+                        ops.opsForZSet().incrementScore(key, member, delta);
+                        touched.add(key);
+                    }
+                }
+                for (String key : touched) {
+                    //취소로 0 이하가 된 도서는 순위에서 제외
+                    if (sign < 0) ops.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, 0);
+                    ops.expire(key, retentionOf(key));
+                }
+                return null;
+            }
+        });
+    }
+
+    public Optional<List<BookSales>> topOfMonth(YearMonth month, int limit) {
+        return top(monthKey(month), limit);
+    }
+
+    public Optional<List<BookSales>> topOfDay(LocalDate day, int limit) {
+        return top(dayKey(day), limit);
+    }
+
+    public Optional<List<BookSales>> topOfCategory(YearMonth month, Long categoryId, int limit) {
+        return top(categoryKey(month, categoryId), limit);
+    }
+
+    private Optional<List<BookSales>> top(String key, int limit) {
+        try {
+            Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+            if (tuples == null) return Optional.empty();
+            List<BookSales> result = new ArrayList<>(tuples.size());
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                if (tuple.getValue() == null || tuple.getScore() == null || tuple.getScore() <= 0) continue;
+                result.add(new BookSales(Long.valueOf(tuple.getValue()), tuple.getScore().longValue()));
+            }
+            return Optional.of(result);
+        } catch (DataAccessException | NumberFormatException e) {
+            log.warn("[BestsellerLeaderboard] failed to read {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    //기동 시 이번 달 랭킹 키가 없으면 주문 원장에서 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(monthKey(YearMonth.now())))) return;
+        } catch (DataAccessException e) {
+            log.warn("[BestsellerLeaderboard] redis unavailable on startup: {}", e.getMessage());
+            return;
+        }
+        reconcile();
+    }
+
+    //주기적으로 이번 달 / 오늘 랭킹을 주문 원장 기준으로 다시 만듦 (여러 노드 중 락을 잡은 한 곳만 실행)
+    @Scheduled(cron = "${app.ranking.reconcile-cron:0 17 * * * *}")
+    public void reconcile() {
+        String lockKey = properties.getKeyPrefix() + "reconcile-lock";
+        try {
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, nodeId, properties.getReconcileLockTtl());
+            if (!Boolean.TRUE.equals(locked)) return;
+            try {
+                YearMonth month = YearMonth.now();
+                LocalDate today = LocalDate.now();
+                readOnlyTransactions.executeWithoutResult(status -> {
+                    rebuild(month, month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay(), true);
+                    rebuild(null, today.atStartOfDay(), today.plusDays(1).atStartOfDay(), false);
+                });
+            } finally {
+                if (nodeId.equals(redisTemplate.opsForValue().get(lockKey))) redisTemplate.delete(lockKey);
+            }
+        } catch (DataAccessException e) {
+            log.warn("[BestsellerLeaderboard] reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    //month 가 있으면 월간 + 카테고리 키, 없으면 start 일자의 일간 키를 다시 만듦
+    private void rebuild(YearMonth month, LocalDateTime start, LocalDateTime end, boolean withCategories) {
+        List<BookCategorySales> rows = orderItemRepository.findSalesByBookAndCategory(start, end);
+
+        Map<String, Map<String, Double>> keys = new HashMap<>();
+        String mainKey = month != null ? monthKey(month) : dayKey(start.toLocalDate());
+        keys.put(mainKey, new HashMap<>());
+        for (BookCategorySales row : rows) {
+            if (row.totalQty() == null || row.totalQty() <= 0) continue;
+            String member = String.valueOf(row.bookId());
+            keys.get(mainKey).merge(member, row.totalQty().doubleValue(), Double::sum);
+            if (withCategories && row.categoryId() != null) {
+                keys.computeIfAbsent(categoryKey(month, row.categoryId()), k -> new HashMap<>())
+                        .merge(member, row.totalQty().doubleValue(), Double::sum);
+            }
+        }
+        keys.forEach(this::replace);
+        log.info("[BestsellerLeaderboard] rebuilt {} ({} books, {} keys)", mainKey, rows.size(), keys.size());
+    }
+
+    //임시 키에 채운 뒤 RENAME 으로 교체해 읽는 쪽이 빈 랭킹을 보지 않게 함
+    private void replace(String key, Map<String, Double> scores) {
+        if (scores.isEmpty()) {
+            redisTemplate.delete(key);
+            return;
+        }
+        String tmpKey = key + ":rebuild:" + nodeId;
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        scores.forEach((member, score) -> tuples.add(ZSetOperations.TypedTuple.of(member, score)));
+        redisTemplate.delete(tmpKey);
+        redisTemplate.opsForZSet().add(tmpKey, tuples);
+        redisTemplate.rename(tmpKey, key);
+        redisTemplate.expire(key, retentionOf(key));
+    }
+
+    private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private Duration retentionOf(String key) {
+        return key.startsWith(properties.getKeyPrefix() + "day:")
+                ? properties.getDailyRetention()
+                : properties.getMonthlyRetention();
+    }
+}
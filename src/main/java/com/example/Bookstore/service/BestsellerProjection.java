@@ -0,0 +1,58 @@
+package com.example.Bookstore.service;
+
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.repository.ranking.BestsellerMonthlyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * 월간 베스트셀러 집계 테이블(bestseller_monthly)을 주문 상태 변경에 맞춰 증분 갱신합니다.
+ * 주문 트랜잭션 안에서 동기로 실행되므로 주문 상태와 집계가 함께 커밋/롤백됩니다.
+ * 판매 상태(PAID/SHIPPED/COMPLETED)로 들어오면 수량을 더하고, 취소 등으로 빠지면 뺍니다.
+ * 집계 월은 주문 생성 시각 기준이며, 기존 GROUP BY 조회와 같은 기준입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BestsellerProjection {
+
+    private final BestsellerMonthlyRepository bestsellerMonthlyRepository;
+
+    @EventListener
+    @Transactional
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        int sign = event.salesSign();
+        if (sign == 0 || event.orderedAt() == null) return;
+        String month = YearMonth.from(event.orderedAt()).toString();
+        for (OrderStatusChangedEvent.Line line : event.lines()) {
+            if (line.quantity() <= 0) continue;
+            bestsellerMonthlyRepository.addQuantity(month, line.bookId(), line.categoryId(), (long) sign * line.quantity());
+        }
+    }
+
+    //기동 시 이번 달 집계가 비어 있으면 주문 원장에서 채움 (시드 데이터/기존 주문 반영)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        YearMonth month = YearMonth.now();
+        if (bestsellerMonthlyRepository.existsBySalesMonth(month.toString())) return;
+        int rows = rebuild(month);
+        log.info("[BestsellerProjection] rebuilt {} rows for {}", rows, month);
+    }
+
+    //해당 월 집계를 주문 원장 기준으로 다시 계산
+    @Transactional
+    public int rebuild(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+        bestsellerMonthlyRepository.resetMonth(month.toString());
+        return bestsellerMonthlyRepository.rebuildMonth(month.toString(), start, end);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.Bookstore.service;
+
+import com.example.Bookstore.config.CatalogCountProperties;
+import com.example.Bookstore.domain.book.BookChangedEvent;
+import com.example.Bookstore.service.search.BookSearchIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 도서 목록/검색의 총 개수(COUNT 결과)를 (조회 종류, 카테고리, 정규화한 검색어) 별로 캐시합니다.
+ * 값은 TTL 동안 재사용하고, 도서가 변경되면 커밋 직후 전부 비웁니다.
+ * 추정 모드(app.catalog.count.estimate)에서는 요청 스레드에서 COUNT 를 실행하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookCountCache {
+
+    private record Key(String kind, Long categoryId, String keyword) {
+    }
+
+    private record Entry(long count, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private final CatalogCountProperties properties;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    //무효화 세대 : COUNT 도중 도서가 바뀌면 그 결과는 저장하지 않음
+    private final AtomicLong generation = new AtomicLong();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "book-count-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public boolean isEstimate() {
+        return properties.isEstimate();
+    }
+
+    //lowerBound : 현재 페이지로 확실히 알 수 있는 최소 개수 (추정 모드에서 값이 없을 때 사용)
+    public long count(String kind, Long categoryId, String keyword, long lowerBound, LongSupplier counter) {
+        Key key = new Key(kind, categoryId, keyword == null ? null : BookSearchIndex.normalize(keyword));
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            return Math.max(entry.count(), lowerBound);
+        }
+
+        if (properties.isEstimate()) {
+            refreshLater(key, counter);
+            return entry == null ? lowerBound : Math.max(entry.count(), lowerBound);
+        }
+
+        long startedAt = generation.get();
+        long count = counter.getAsLong();
+        store(key, count, startedAt);
+        return count;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    //도서 추가/수정/삭제가 커밋되면 어떤 조건의 개수든 달라질 수 있으므로 전부 비움
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshLater(Key key, LongSupplier counter) {
+        if (!refreshing.add(key)) return;
+        long startedAt = generation.get();
+        try {
+            refresher.execute(() -> {
+                try {
+                    store(key, counter.getAsLong(), startedAt);
+                } catch (RuntimeException e) {
+                    log.warn("[BookCountCache] count refresh failed. key = {}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+            log.warn("[BookCountCache] count refresh rejected. key = {}", key, e);
+        }
+    }
+
+    private void store(Key key, long count, long startedAt) {
+        if (generation.get() != startedAt) return;
+        long now = System.nanoTime();
+        if (entries.size() >= properties.getMaxEntries()) {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            if (entries.size() >= properties.getMaxEntries()) entries.clear();
+        }
+        Entry entry = new Entry(count, now + properties.getTtl().toNanos());
+        entries.put(key, entry);
+        //저장 직전에 무효화된 경우
+        if (generation.get() != startedAt) entries.remove(key, entry);
+    }
+}
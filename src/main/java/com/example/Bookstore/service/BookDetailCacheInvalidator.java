@@ -0,0 +1,27 @@
+package com.example.Bookstore.service;
+
+import com.example.Bookstore.cache.CacheNames;
+import com.example.Bookstore.domain.book.BookChangedEvent;
+import com.example.Bookstore.domain.book.InventoryChangedEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 도서/저자 연결/재고 변경이 커밋되면 해당 도서의 상세 캐시를 지웁니다.
+ * L2(Redis)에서 지우고 다른 노드의 L1 에도 무효화 메시지가 전달되며, 다음 조회가 DB 에서 새 값을 읽어 다시 채웁니다.
+ */
+@Component
+public class BookDetailCacheInvalidator {
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheNames.BOOK_DETAIL, key = "#event.bookId()")
+    public void onBookChanged(BookChangedEvent event) {
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheNames.BOOK_DETAIL, key = "#event.bookId()")
+    public void onInventoryChanged(InventoryChangedEvent event) {
+    }
+}
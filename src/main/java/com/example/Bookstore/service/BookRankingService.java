@@ -1,34 +1,69 @@
 package com.example.Bookstore.service;
 
-import com.example.Bookstore.repository.order.OrderItemRepository;
-import com.example.Bookstore.repository.search.SearchKeywordStatRepository;
+import com.example.Bookstore.dto.book.BookRanking;
+import com.example.Bookstore.dto.book.BookSales;
+import com.example.Bookstore.dto.book.BookSummary;
+import com.example.Bookstore.repository.ranking.BestsellerMonthlyRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class BookRankingService {
 
-    private final OrderItemRepository orderItemRepository;
+    private static final int BESTSELLER_LIMIT = 10;
 
-    //월간 베스트셀러 조회
-    public List<Object[]> getMonthlyBestsellers() {
-        LocalDateTime start = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        LocalDateTime end = LocalDateTime.now();
+    private final BestsellerMonthlyRepository bestsellerMonthlyRepository;
+    private final BestsellerLeaderboard bestsellerLeaderboard;
+    private final BookService bookService;
 
-        return orderItemRepository.findMonthlyBestsellers(start, end);
+    //월간 베스트셀러 조회 (Redis 랭킹 Top-K 라 캐시하지 않음, Redis 를 못 쓰면 집계 테이블에서 읽음)
+    @Transactional(readOnly = true)
+    public List<BookRanking> getMonthlyBestsellers() {
+        YearMonth month = YearMonth.now();
+        List<BookSales> sales = bestsellerLeaderboard.topOfMonth(month, BESTSELLER_LIMIT)
+                .filter(list -> !list.isEmpty())
+                .orElseGet(() -> bestsellerMonthlyRepository.findTop(month.toString(), PageRequest.of(0, BESTSELLER_LIMIT)));
+        return toRankings(sales);
     }
 
+    //오늘의 베스트셀러 (Redis 일간 랭킹)
+    @Transactional(readOnly = true)
+    public List<BookRanking> getDailyBestsellers() {
+        return toRankings(bestsellerLeaderboard.topOfDay(LocalDate.now(), BESTSELLER_LIMIT).orElse(List.of()));
+    }
 
+    //카테고리별 월간 베스트셀러
+    @Transactional(readOnly = true)
+    public List<BookRanking> getCategoryBestsellers(Long categoryId) {
+        YearMonth month = YearMonth.now();
+        List<BookSales> sales = bestsellerLeaderboard.topOfCategory(month, categoryId, BESTSELLER_LIMIT)
+                .filter(list -> !list.isEmpty())
+                .orElseGet(() -> bestsellerMonthlyRepository.findTopByCategory(month.toString(), categoryId,
+                        PageRequest.of(0, BESTSELLER_LIMIT)));
+        return toRankings(sales);
+    }
 
+    //판매 순위(도서 id)에 목록용 도서 정보를 붙임 (순서 유지, 사라진 도서는 제외)
+    private List<BookRanking> toRankings(List<BookSales> sales) {
+        if (sales.isEmpty()) return List.of();
+        Map<Long, BookSummary> books = bookService.getBookSummaries(sales.stream().map(BookSales::bookId).toList())
+                .stream()
+                .collect(Collectors.toMap(BookSummary::id, Function.identity()));
 
-
-
-
+        return sales.stream()
+                .filter(s -> books.containsKey(s.bookId()))
+                .map(s -> new BookRanking(books.get(s.bookId()), s.totalQty()))
+                .toList();
+    }
 }
@@ -1,17 +1,41 @@
 package com.example.Bookstore.service;
 
+import com.example.Bookstore.cache.CacheNames;
 import com.example.Bookstore.domain.book.Book;
+import com.example.Bookstore.dto.book.BookAuthorName;
+import com.example.Bookstore.dto.book.BookCursor;
+import com.example.Bookstore.dto.book.BookDetailView;
+import com.example.Bookstore.dto.book.BookListRow;
+import com.example.Bookstore.dto.book.BookSort;
+import com.example.Bookstore.dto.book.BookSummary;
 import com.example.Bookstore.repository.book.*;
 import com.example.Bookstore.repository.order.OrderItemRepository;
 //import com.example.Bookstore.repository.search.SearchKeywordStatRepository;
 import com.example.Bookstore.repository.user.UserRepository;
+import com.example.Bookstore.service.search.BookSearchDocument;
+import com.example.Bookstore.service.search.BookSearchIndex;
+import com.example.Bookstore.service.search.SearchField;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,72 +43,229 @@ import java.util.List;
 public class BookService {
 
     private final BookRepository bookRepository;
+    private final BookAuthorRepository bookAuthorRepository;
     private final CategoryRepository categoryRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCountCache bookCountCache;
 
     //메뉴 분류별 조회
-    public Page<Book> getBooksByCategoryId(Long categoryId, Pageable pageable) {
+    public Page<BookSummary> getBooksByCategoryId(Long categoryId, Pageable pageable) {
         if(!categoryRepository.existsById(categoryId)){
             throw new IllegalArgumentException("존재하지 않는 카테고리입니다. id = " + categoryId);
         }
-        return bookRepository.findByCategory_Id(categoryId, pageable);
+        return page(bookRepository.findListRows(categoryId, pageable), pageable,
+                "list", categoryId, null, () -> bookRepository.countByCategory_Id(categoryId));
     }
 
     //책 목록 전체
-    public Page<Book> getAllBooks(Pageable pageable) {
-        return bookRepository.findAll(pageable);
+    public Page<BookSummary> getAllBooks(Pageable pageable) {
+        return page(bookRepository.findListRows(null, pageable), pageable, "list", null, null, bookRepository::count);
     }
 
     //검색 기능
+    //인덱스가 준비되어 있으면 메모리 역색인으로, 아니면 DB LIKE 쿼리로 조회 (총 개수는 BookCountCache)
     //1. 책 제목으로 조회
-    public Page<Book> getBooksByTitleContainingIgnoreCase(String title, Pageable pageable) {
+    public Page<BookSummary> getBooksByTitleContainingIgnoreCase(String title, Pageable pageable) {
         String q = title == null ? "" : title.trim();
         if(q.isEmpty()) return Page.empty(pageable);
-        return bookRepository.findByTitleContainingIgnoreCase(q, pageable);
+        return search(EnumSet.of(SearchField.TITLE), null, q, pageable,
+                () -> page(bookRepository.findListRowsByTitle(null, q, pageable), pageable,
+                        "title", null, q, () -> bookRepository.countByTitle(null, q)));
     }
 
     //2. 출판사이름으로 조회
-    public Page<Book> getBooksByPublisherContainingIgnoreCase(String publisher, Pageable pageable) {
+    public Page<BookSummary> getBooksByPublisherContainingIgnoreCase(String publisher, Pageable pageable) {
         String q = publisher == null ? "" : publisher.trim();
         if(q.isEmpty()) return Page.empty(pageable);
-        return bookRepository.findByPublisherContainingIgnoreCase(q, pageable);
+        return search(EnumSet.of(SearchField.PUBLISHER), null, q, pageable,
+                () -> page(bookRepository.findListRowsByPublisher(null, q, pageable), pageable,
+                        "publisher", null, q, () -> bookRepository.countByPublisher(null, q)));
     }
 
     //3. 저자이름으로 조회
-    public Page<Book> getBooksByAuthorContainingIgnoreCase(String authorName, Pageable pageable) {
+    public Page<BookSummary> getBooksByAuthorContainingIgnoreCase(String authorName, Pageable pageable) {
         String q = authorName == null ? "" : authorName.trim();
         if(q.isEmpty()) return Page.empty(pageable);
-        return bookRepository.findByBookAuthors_Author_NameContainingIgnoreCase(q, pageable);
+        return search(EnumSet.of(SearchField.AUTHOR), null, q, pageable,
+                () -> page(bookRepository.findListRowsByAuthor(null, q, pageable), pageable,
+                        "author", null, q, () -> bookRepository.countByAuthor(null, q)));
     }
 
     //4. 카테고리 + 책 제목 조회
-    public Page<Book> getBooksByCategoryIdAndTitleContainingIgnoreCase(Long categoryId, String title, Pageable pageable) {
+    public Page<BookSummary> getBooksByCategoryIdAndTitleContainingIgnoreCase(Long categoryId, String title, Pageable pageable) {
         String q = title == null ? "" : title.trim();
         if( categoryId == null || q.isEmpty() ) return Page.empty(pageable);
-        return bookRepository.findByCategory_IdAndTitleContainingIgnoreCase(categoryId, q, pageable);
+        return search(EnumSet.of(SearchField.TITLE), categoryId, q, pageable,
+                () -> page(bookRepository.findListRowsByTitle(categoryId, q, pageable), pageable,
+                        "title", categoryId, q, () -> bookRepository.countByTitle(categoryId, q)));
     }
 
     //5. 카테고리 + 출판사
-    public Page<Book> getBooksByCategoryIdAndPublisherContainingIgnoreCase(Long categoryId, String publisher, Pageable pageable) {
+    public Page<BookSummary> getBooksByCategoryIdAndPublisherContainingIgnoreCase(Long categoryId, String publisher, Pageable pageable) {
         String q = publisher == null ? "" : publisher.trim();
         if( categoryId == null || q.isEmpty() ) return Page.empty(pageable);
-        return bookRepository.findByCategory_IdAndPublisherContainingIgnoreCase(categoryId, q, pageable);
+        return search(EnumSet.of(SearchField.PUBLISHER), categoryId, q, pageable,
+                () -> page(bookRepository.findListRowsByPublisher(categoryId, q, pageable), pageable,
+                        "publisher", categoryId, q, () -> bookRepository.countByPublisher(categoryId, q)));
     }
 
     //6. 카테고리 + 저자
-    public Page<Book> getBooksByCategoryIdAndAuthorContainingIgnoreCase(Long categoryId, String authorName, Pageable pageable) {
+    public Page<BookSummary> getBooksByCategoryIdAndAuthorContainingIgnoreCase(Long categoryId, String authorName, Pageable pageable) {
         String q = authorName == null ? "" : authorName.trim();
         if( categoryId == null || q.isEmpty() ) return Page.empty(pageable);
-        return bookRepository.findByCategory_IdAndBookAuthors_Author_NameContainingIgnoreCase(categoryId, q, pageable);
+        return search(EnumSet.of(SearchField.AUTHOR), categoryId, q, pageable,
+                () -> page(bookRepository.findListRowsByAuthor(categoryId, q, pageable), pageable,
+                        "author", categoryId, q, () -> bookRepository.countByAuthor(categoryId, q)));
     }
 
-    public Page<Book> getBooksByAllFields(String keyword, Pageable pageable) {
-        return bookRepository.findByTitleContainingIgnoreCaseOrBookAuthors_Author_NameContainingIgnoreCaseOrPublisherContainingIgnoreCase(
-                keyword, keyword, keyword, pageable
-        );
+    //7. 책제목 + 저자 + 출판사
+    public Page<BookSummary> getBooksByAllFields(String keyword, Pageable pageable) {
+        String q = keyword == null ? "" : keyword.trim();
+        if(q.isEmpty()) return Page.empty(pageable);
+        return search(EnumSet.allOf(SearchField.class), null, q, pageable,
+                () -> page(bookRepository.findListRowsByAnyField(q, pageable), pageable,
+                        "all", null, q, () -> bookRepository.countByAnyField(q)));
+    }
+
+    //총 개수가 추정치("약 N권")인지 여부
+    public boolean isCountEstimated() {
+        return bookCountCache.isEstimate();
+    }
+
+    //검색 필드(field)에 맞는 검색 메서드 선택
+    //카테고리와 함께 검색할 때는 title / author / publisher 만 지원
+    public Page<BookSummary> searchBooks(Long categoryId, String field, String keyword, Pageable pageable) {
+        if (categoryId != null) {
+            return switch (field) {
+                case "author" -> getBooksByCategoryIdAndAuthorContainingIgnoreCase(categoryId, keyword, pageable);
+                case "publisher" -> getBooksByCategoryIdAndPublisherContainingIgnoreCase(categoryId, keyword, pageable);
+                default -> getBooksByCategoryIdAndTitleContainingIgnoreCase(categoryId, keyword, pageable);
+            };
+        }
+        return switch (field) {
+            case "author" -> getBooksByAuthorContainingIgnoreCase(keyword, pageable);
+            case "publisher" -> getBooksByPublisherContainingIgnoreCase(keyword, pageable);
+            case "all" -> getBooksByAllFields(keyword, pageable);
+            default -> getBooksByTitleContainingIgnoreCase(keyword, pageable);
+        };
+    }
+
+    //커서(keyset) 목록 : after 다음 size 건만 조회 (OFFSET, COUNT 없음)
+    //after 가 비어 있거나 다른 정렬 기준의 커서면 처음부터
+    public Slice<BookSummary> getBookSlice(Long categoryId, String field, String keyword, BookSort sort, String after, int size) {
+        BookCursor cursor = (after == null || after.isBlank()) ? null : BookCursor.decode(after);
+        if (cursor != null && cursor.sort() != sort) cursor = null;
+        PageRequest pageable = PageRequest.of(0, size);
+
+        String q = keyword == null ? "" : keyword.trim();
+        if (!q.isEmpty()) {
+            return searchSlice(categoryId, field, q, sort, cursor, pageable);
+        }
+        if (categoryId != null && cursor == null && !categoryRepository.existsById(categoryId)) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다. id = " + categoryId);
+        }
+        Long lastId = cursor == null ? null : cursor.id();
+        Slice<BookListRow> rows = switch (sort) {
+            case ID -> bookRepository.findSliceOrderById(categoryId, lastId, pageable);
+            case LATEST -> bookRepository.findSliceOrderByCreatedAtDesc(
+                    categoryId, cursor == null ? null : cursor.lastCreatedAt(), lastId, pageable);
+            case PRICE -> bookRepository.findSliceOrderByPrice(
+                    categoryId, cursor == null ? null : cursor.lastPrice(), lastId, pageable);
+        };
+        return new SliceImpl<>(toSummaries(rows.getContent()), pageable, rows.hasNext());
+    }
+
+    //다음 조각을 요청할 커서, 마지막 조각이면 null
+    public String nextCursor(Slice<BookSummary> slice, BookSort sort) {
+        if (!slice.hasNext() || slice.isEmpty()) return null;
+        List<BookSummary> content = slice.getContent();
+        BookSummary last = content.get(content.size() - 1);
+        return BookCursor.of(sort, last.id(), last.createdAt(), last.price()).encode();
+    }
+
+    //id 순서대로 목록용 요약 조회 (베스트셀러, 최근 본 책 등), 없는 id 는 제외
+    public List<BookSummary> getBookSummaries(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, BookListRow> byId = bookRepository.findListRowsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookListRow::id, Function.identity()));
+        List<BookListRow> rows = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return toSummaries(rows);
+    }
+
+    //상세 화면 : 캐시(L1 힙 → L2 Redis)에 없을 때만 카테고리/저자/재고까지 한 번에 조회
+    //변경 시 무효화는 BookDetailCacheInvalidator
+    //sync : 조회와 저장을 get(key, loader) 한 번으로 처리해, 조회 중 무효화되면 읽은 값을 캐시에 다시 쓰지 않음
+    @Cacheable(cacheNames = CacheNames.BOOK_DETAIL, key = "#id", sync = true)
+    public BookDetailView getBookDetail(Long id) {
+        return bookRepository.findDetailById(id)
+                .map(BookDetailView::from)
+                .orElseThrow(() -> new IllegalArgumentException("해당 책을 찾을 수 없습니다. id = " + id));
     }
 
     public Book getBookById(Long id) {
         return bookRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("해당 책을 찾을 수 없습니다. id = " + id));
     }
+
+    private Slice<BookSummary> searchSlice(Long categoryId, String field, String q, BookSort sort,
+                                           BookCursor cursor, PageRequest pageable) {
+        if (!bookSearchIndex.isReady()) {
+            //인덱스 준비 전(기동 직후)에는 첫 조각만 기존 검색으로 응답
+            if (cursor != null) return new SliceImpl<>(List.of(), pageable, false);
+            Page<BookSummary> first = searchBooks(categoryId, field, q, pageable);
+            return new SliceImpl<>(first.getContent(), pageable, first.hasNext());
+        }
+        Slice<BookSearchDocument> documents = bookSearchIndex.searchAfter(
+                searchFields(categoryId, field), categoryId, q, sort, cursor, pageable.getPageSize());
+        List<Long> ids = documents.getContent().stream().map(BookSearchDocument::id).toList();
+        return new SliceImpl<>(getBookSummaries(ids), pageable, documents.hasNext());
+    }
+
+    //searchBooks 와 같은 필드 규칙
+    private Set<SearchField> searchFields(Long categoryId, String field) {
+        return switch (field) {
+            case "author" -> EnumSet.of(SearchField.AUTHOR);
+            case "publisher" -> EnumSet.of(SearchField.PUBLISHER);
+            case "all" -> categoryId == null ? EnumSet.allOf(SearchField.class) : EnumSet.of(SearchField.TITLE);
+            default -> EnumSet.of(SearchField.TITLE);
+        };
+    }
+
+    //인덱스로 id 페이지를 구한 뒤 해당 책들만 한 번에 조회
+    //정렬 조건이 붙은 요청은 인덱스 순서(id)와 다르므로 DB 로 보냄
+    private Page<BookSummary> search(Set<SearchField> fields, Long categoryId, String keyword, Pageable pageable,
+                                     Supplier<Page<BookSummary>> fallback) {
+        if (!bookSearchIndex.isReady() || pageable.getSort().isSorted()) {
+            return fallback.get();
+        }
+        Page<Long> ids = bookSearchIndex.search(fields, categoryId, keyword, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        return new PageImpl<>(getBookSummaries(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    //DB 조회 결과 : 본문은 Slice 로 읽고, 총 개수는 마지막 페이지가 아니면 캐시에서 가져옴
+    private Page<BookSummary> page(Slice<BookListRow> slice, Pageable pageable, String kind, Long categoryId,
+                                   String keyword, LongSupplier counter) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long lowerBound = offset + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return PageableExecutionUtils.getPage(toSummaries(slice.getContent()), pageable,
+                () -> bookCountCache.count(kind, categoryId, keyword, lowerBound, counter));
+    }
+
+    //저자 이름은 페이지 전체를 한 번에 조회해서 붙임 (행마다 bookAuthors 지연 로딩 X)
+    private List<BookSummary> toSummaries(List<BookListRow> rows) {
+        if (rows.isEmpty()) return List.of();
+        Map<Long, List<String>> authorNames = bookAuthorRepository.findAuthorNamesByBookIdIn(
+                        rows.stream().map(BookListRow::id).toList()).stream()
+                .collect(Collectors.groupingBy(BookAuthorName::bookId,
+                        Collectors.mapping(BookAuthorName::authorName, Collectors.toList())));
+        return rows.stream()
+                .map(row -> BookSummary.of(row, authorNames.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
 }
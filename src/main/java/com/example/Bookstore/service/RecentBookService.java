@@ -1,49 +1,93 @@
 package com.example.Bookstore.service;
 
-import com.example.Bookstore.domain.book.Book;
-import com.example.Bookstore.domain.book.RecentBook;
-import com.example.Bookstore.repository.book.BookRepository;
-import com.example.Bookstore.repository.book.RecentBookRepository;
-import com.example.Bookstore.repository.user.UserRepository;
+import com.example.Bookstore.config.RecentBookProperties;
+import com.example.Bookstore.dto.book.BookSummary;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+/**
+ * 사용자별 최근 본 도서 서비스입니다.
+ * 최근 본 도서 id 를 사용자별 Redis LIST 에 최신순으로 두고 maxSize 개로 잘라 유지합니다.
+ * 같은 도서를 다시 보면 기존 위치에서 지우고 맨 앞으로 올립니다. (LREM + LPUSH + LTRIM, 파이프라인 한 번)
+ * 조회는 LRANGE 한 번과 도서 요약 일괄 조회 한 번입니다. Redis 장애 시 기록은 건너뛰고 조회는 빈 목록을 돌려줍니다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class RecentBookService {
 
-    private final RecentBookRepository recentBookRepository;
-    private final UserRepository userRepository;
-    private final BookRepository bookRepository;
-
-    //RecentBook 중복 체크
-    public void recordRecentBook(Long userId, Long bookId){
-        if(!recentBookRepository.existsByUser_IdAndBook_Id(userId, bookId)){
-            var user = userRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("사용자 없음 : " + userId));
-            var book = bookRepository.findById(bookId)
-                    .orElseThrow(() -> new IllegalArgumentException("책 없음 : " + bookId));
-
-            recentBookRepository.save(
-                    RecentBook.builder()
-                            .user(user)
-                            .book(book)
-                            .build()
-            );
+    private final StringRedisTemplate redisTemplate;
+    private final BookService bookService;
+    private final RecentBookProperties properties;
+
+    public String key(Long userId) {
+        return properties.getKeyPrefix() + userId;
+    }
+
+    //상세 조회 1회 기록 (이미 본 도서면 맨 앞으로 이동)
+    public void recordRecentBook(Long userId, Long bookId) {
+        recordRecentBooks(Map.of(userId, List.of(bookId)));
+    }
+
+    //여러 사용자의 조회를 파이프라인 한 번으로 기록 (사용자별 목록은 본 순서대로)
+    public void recordRecentBooks(Map<Long, List<Long>> bookIdsByUser) {
+        if (bookIdsByUser.isEmpty()) return;
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    bookIdsByUser.forEach((userId, bookIds) -> {
+                        String key = key(userId);
+                        for (Long bookId : bookIds) {
+                            String member = String.valueOf(bookId);
+                            ops.opsForList().remove(key, 0, member);
+                            ops.opsForList().leftPush(key, member);
+                        }
+                        ops.opsForList().trim(key, 0, properties.getMaxSize() - 1);
+                        ops.expire(key, properties.getRetention());
+                    });
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("[RecentBookService] failed to record recent books of {} users: {}", bookIdsByUser.size(), e.getMessage());
         }
     }
 
-    //5개만 조회하기
-    @Transactional(readOnly = true)
-    public List<Book> getRecentBooks (Long userId) {
-        return recentBookRepository.findByUser_IdOrderByIdDesc(userId)
-                .stream()
-                .limit(5)
-                .map(RecentBook::getBook)
+    //최근 본 순서대로 displaySize 개
+    public List<BookSummary> getRecentBooks(Long userId) {
+        List<String> members;
+        try {
+            members = redisTemplate.opsForList().range(key(userId), 0, properties.getDisplaySize() - 1);
+        } catch (DataAccessException e) {
+            log.warn("[RecentBookService] failed to read recent books of user {}: {}", userId, e.getMessage());
+            return List.of();
+        }
+        if (members == null || members.isEmpty()) return List.of();
+
+        List<Long> ids = members.stream()
+                .map(RecentBookService::parseId)
+                .filter(Objects::nonNull)
                 .toList();
+        return bookService.getBookSummaries(ids);
+    }
+
+    private static Long parseId(String member) {
+        try {
+            return Long.valueOf(member);
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
@@ -1,49 +1,91 @@
 package com.example.Bookstore.service;
 
 
-import com.example.Bookstore.domain.search.SearchKeywordStat;
+import com.example.Bookstore.cache.CacheNames;
+import com.example.Bookstore.config.SearchKeywordProperties;
+import com.example.Bookstore.dto.search.KeywordCount;
+import com.example.Bookstore.repository.search.SearchKeywordBucketRepository;
 import com.example.Bookstore.repository.search.SearchKeywordStatRepository;
+import com.example.Bookstore.service.search.BucketRange;
+import com.example.Bookstore.service.search.SearchKeywordBuffer;
+import com.example.Bookstore.service.search.SearchSuggestionService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class SearchKeywordService {
 
     private final SearchKeywordStatRepository searchKeywordStatRepository;
+    private final SearchKeywordBucketRepository searchKeywordBucketRepository;
+    private final SearchSuggestionService searchSuggestionService;
+    private final SearchKeywordBuffer searchKeywordBuffer;
+    private final SearchKeywordProperties properties;
 
     //인기 검색어 순위
-    //1. 키워드가 존재하면 +1
+    //검색 횟수는 메모리 버퍼에만 올리고, DB 반영은 버퍼가 주기적으로 묶어서 처리 (요청 중 DB 접근 없음)
     public void recordSearch(String keyword) {
         String q = (keyword == null) ? "" : keyword.trim();
         if(q.isEmpty()) return;
+        searchKeywordBuffer.record(q);
+    }
 
-        Optional<SearchKeywordStat> opt =  searchKeywordStatRepository.findByKeyword(q);
-        if(opt.isPresent()) {
-            SearchKeywordStat stat = opt.get();
-            stat.setCount(stat.getCount() + 1);
-            stat.setLastSearchedAt(LocalDateTime.now());
-        }
-        //2. 키워드 없으면 새로 생성 count = 1
-        else {
-            searchKeywordStatRepository.save(
-                    SearchKeywordStat.builder()
-                            .keyword(q)
-                            .count(1L)
-                            .lastSearchedAt(LocalDateTime.now())
-                            .build()
-            );
-        }
+    //인기 검색어 Top 10 (짧은 TTL 로 캐시, 검색마다 무효화하지 않음)
+    //테이블에는 상위 검색어만 남고 count 인덱스로 10건만 읽음
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.TOP_KEYWORDS, key = "'top10'")
+    public List<KeywordCount> getTopKeywords() {
+        return searchKeywordStatRepository.findTopKeywords(PageRequest.of(0, 10));
     }
 
+    //최근 window 동안의 인기 검색어 Top-K (일/시/분 버킷을 조합해 읽음, 원본 검색 기록은 보지 않음)
     @Transactional(readOnly = true)
-    public List<SearchKeywordStat> getTopKeywords() {
-        return searchKeywordStatRepository.findTop10ByOrderByCountDesc();
+    @Cacheable(cacheNames = CacheNames.WINDOW_KEYWORDS, key = "#window.toString() + ':' + #limit")
+    public List<KeywordCount> getTopKeywords(Duration window, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BucketRange> ranges = BucketRange.split(now.minus(window), now,
+                now.minus(properties.getMinuteRetention()), now.minus(properties.getHourRetention()));
+
+        Map<String, Long> totals = new HashMap<>();
+        for (BucketRange range : ranges) {
+            for (KeywordCount kc : searchKeywordBucketRepository.sumByKeyword(range.granularity(), range.from(), range.to())) {
+                totals.merge(kc.keyword(), kc.count(), Long::sum);
+            }
+        }
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(e -> new KeywordCount(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    //search_keyword_stats 를 상위 maxStoredKeywords 행으로 유지 (동점은 남김)
+    @Scheduled(cron = "${app.search-keywords.prune-cron:0 40 * * * *}")
+    @Transactional
+    public int pruneStoredKeywords() {
+        int keep = properties.getMaxStoredKeywords();
+        List<Long> counts = searchKeywordStatRepository.findCountsOrderByCountDesc(PageRequest.of(0, keep + 1));
+        if (counts.size() <= keep) return 0;
+        long lastKept = counts.get(keep - 1);
+        long firstDropped = counts.get(keep);
+        int deleted = searchKeywordStatRepository.deleteByCountLessThan(lastKept > firstDropped ? lastKept : firstDropped);
+        if (deleted > 0) {
+            log.info("[SearchKeywordService] pruned {} keywords", deleted);
+            //정리된 검색어는 자동완성 후보에서도 뺌
+            searchSuggestionService.reloadKeywords();
+        }
+        return deleted;
     }
 }
@@ -0,0 +1,102 @@
+package com.example.Bookstore.service.idempotency;
+
+import com.example.Bookstore.config.IdempotencyProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 멱등 키별 처리 상태를 Redis 에 TTL 과 함께 보관합니다.
+ * <p>
+ * {@link #claim} 은 스크립트 한 번으로 "처음 온 요청이면 처리 중으로 표시, 아니면 저장된 값 반환" 을 하므로,
+ * 재시도 요청은 Redis 왕복 한 번으로 처음 결과를 알 수 있습니다. Redis 를 쓸 수 없으면 {@link Outcome#UNAVAILABLE} 을 돌려주고,
+ * 호출하는 쪽은 DB 유니크 컬럼으로 중복을 막습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private static final String IN_PROGRESS = "~in-progress";
+
+    //KEYS = [키], ARGV = [처리 중 표시, 유지 시간(ms)] : 값이 있으면 반환, 없으면 처리 중으로 표시하고 nil
+    private static final RedisScript<String> CLAIM = new DefaultRedisScript<>("""
+            local value = redis.call('GET', KEYS[1])
+            if value then return value end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return false
+            """, String.class);
+
+    //KEYS = [키], ARGV = [처리 중 표시] : 아직 처리 중 표시일 때만 지움 (완료된 결과는 남김)
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    public enum Outcome {
+        //처음 온 요청 : 처리 후 complete 또는 release 를 호출해야 함
+        ACQUIRED,
+        //이미 끝난 요청 : result 에 처음 결과
+        COMPLETED,
+        //같은 키로 다른 요청이 처리 중
+        IN_PROGRESS,
+        //Redis 를 쓸 수 없음
+        UNAVAILABLE
+    }
+
+    public record Claim(Outcome outcome, String result) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final IdempotencyProperties properties;
+
+    //키 형식 확인 (비어 있거나 너무 길면 거절)
+    public void validate(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            throw new IllegalArgumentException("Invalid idempotency key");
+        }
+    }
+
+    public Claim claim(String scope, Long ownerId, String idempotencyKey) {
+        try {
+            String value = redisTemplate.execute(CLAIM, List.of(key(scope, ownerId, idempotencyKey)),
+                    IN_PROGRESS, String.valueOf(properties.getInProgressTtl().toMillis()));
+            if (value == null) return new Claim(Outcome.ACQUIRED, null);
+            if (IN_PROGRESS.equals(value)) return new Claim(Outcome.IN_PROGRESS, null);
+            return new Claim(Outcome.COMPLETED, value);
+        } catch (DataAccessException e) {
+            log.warn("[IdempotencyStore] claim failed for {}: {}", scope, e.getMessage());
+            return new Claim(Outcome.UNAVAILABLE, null);
+        }
+    }
+
+    //처리 결과 저장 (ttl 동안 재시도에 그대로 돌려줌)
+    public void complete(String scope, Long ownerId, String idempotencyKey, String result) {
+        try {
+            redisTemplate.opsForValue().set(key(scope, ownerId, idempotencyKey), result, properties.getTtl());
+        } catch (DataAccessException e) {
+            log.warn("[IdempotencyStore] complete failed for {}: {}", scope, e.getMessage());
+        }
+    }
+
+    //처리 실패 : 같은 키로 다시 시도할 수 있도록 처리 중 표시를 지움
+    public void release(String scope, Long ownerId, String idempotencyKey) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(key(scope, ownerId, idempotencyKey)), IN_PROGRESS);
+        } catch (DataAccessException e) {
+            log.warn("[IdempotencyStore] release failed for {}: {}", scope, e.getMessage());
+        }
+    }
+
+    private String key(String scope, Long ownerId, String idempotencyKey) {
+        return properties.getKeyPrefix() + scope + ":" + ownerId + ":" + idempotencyKey;
+    }
+}
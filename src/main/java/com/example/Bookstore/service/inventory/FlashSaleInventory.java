@@ -0,0 +1,350 @@
+package com.example.Bookstore.service.inventory;
+
+import com.example.Bookstore.config.FlashSaleProperties;
+import com.example.Bookstore.domain.book.Inventory;
+import com.example.Bookstore.domain.book.InventoryChangedEvent;
+import com.example.Bookstore.repository.book.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 한정 판매 도서의 재고를 Redis 에 두고 예약 방식으로 판매합니다. (app.flash-sale.enabled)
+ * <p>
+ * 주문 시 Lua 스크립트 한 번으로 주문의 모든 한정 판매 도서 재고를 확인하고 함께 차감한 뒤 예약을 남기므로,
+ * 같은 도서에 주문이 몰려도 inventory 행 잠금을 기다리지 않습니다. 결제가 끝나면 예약을 확정해 판매량으로 옮기고,
+ * 실패/롤백/취소 시에는 재고로 돌려놓습니다. 확정도 해제도 되지 않은 예약은 TTL 이 지나면 주기 작업이 돌려놓습니다.
+ * 확정된 판매량은 모아 두었다가 주기적으로 inventory 테이블에 반영합니다.
+ * <p>
+ * 한정 판매 중에는 Redis 재고가 기준입니다. DB 재고는 판매량 반영으로만 따라가며, 관리자가 DB 재고를 바꿔도 Redis 에는 반영되지 않습니다.
+ */
+@Slf4j
+@Component
+public class FlashSaleInventory {
+
+    //KEYS = [만료 대기 ZSET, 예약 HASH, 재고 키...], ARGV = [만료 시각, (bookId, 수량)...]
+    //모든 도서가 충분할 때만 함께 차감하고 0, 모자라면 그 도서 id, 재고 키가 없으면(적재 전) 도서 id 의 음수를 반환
+    private static final RedisScript<Long> RESERVE = new DefaultRedisScript<>("""
+            for i = 3, #KEYS do
+              local stock = redis.call('GET', KEYS[i])
+              if not stock then
+                return -tonumber(ARGV[(i - 3) * 2 + 2])
+              end
+              if tonumber(stock) < tonumber(ARGV[(i - 3) * 2 + 3]) then
+                return tonumber(ARGV[(i - 3) * 2 + 2])
+              end
+            end
+            for i = 3, #KEYS do
+              redis.call('DECRBY', KEYS[i], ARGV[(i - 3) * 2 + 3])
+              redis.call('HSET', KEYS[2], ARGV[(i - 3) * 2 + 2], ARGV[(i - 3) * 2 + 3])
+            end
+            redis.call('ZADD', KEYS[1], ARGV[1], KEYS[2])
+            return 0
+            """, Long.class);
+
+    //KEYS = [만료 대기 ZSET, 예약 HASH, 판매량 HASH] : 예약을 판매량으로 옮김 (이미 해제된 예약이면 0)
+    private static final RedisScript<Long> CONFIRM = new DefaultRedisScript<>("""
+            local items = redis.call('HGETALL', KEYS[2])
+            redis.call('ZREM', KEYS[1], KEYS[2])
+            if #items == 0 then return 0 end
+            for i = 1, #items, 2 do
+              redis.call('HINCRBY', KEYS[3], items[i], items[i + 1])
+            end
+            redis.call('DEL', KEYS[2])
+            return 1
+            """, Long.class);
+
+    //KEYS = [만료 대기 ZSET, 예약 HASH, 재고 키...], ARGV = [bookId...] (재고 키와 같은 순서)
+    //예약된 수량을 재고로 돌려놓음 (이미 처리된 예약이면 0). 스크립트가 건드리는 키는 모두 KEYS 로 받음
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            redis.call('ZREM', KEYS[1], KEYS[2])
+            if redis.call('EXISTS', KEYS[2]) == 0 then return 0 end
+            for i = 3, #KEYS do
+              local qty = redis.call('HGET', KEYS[2], ARGV[i - 2])
+              if qty then redis.call('INCRBY', KEYS[i], qty) end
+            end
+            redis.call('DEL', KEYS[2])
+            return 1
+            """, Long.class);
+
+    //KEYS = [판매량 HASH, 재고 키...], ARGV = [(bookId, 수량)...] (재고 키와 같은 순서) : 확정된 판매를 되돌림 (재고 +, 판매량 -)
+    private static final RedisScript<Long> RESTOCK = new DefaultRedisScript<>("""
+            for i = 2, #KEYS do
+              local qty = tonumber(ARGV[(i - 2) * 2 + 2])
+              redis.call('INCRBY', KEYS[i], qty)
+              redis.call('HINCRBY', KEYS[1], ARGV[(i - 2) * 2 + 1], -qty)
+            end
+            return 1
+            """, Long.class);
+
+    //KEYS = [판매량 HASH, 반영 중 HASH] : 이전에 반영하다 실패한 몫이 있으면 그것을, 없으면 판매량을 반영 중으로 옮겨 반환
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List> TAKE_SOLD = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+              if redis.call('EXISTS', KEYS[1]) == 0 then return {} end
+              redis.call('RENAME', KEYS[1], KEYS[2])
+            end
+            return redis.call('HGETALL', KEYS[2])
+            """, List.class);
+
+    /**
+     * 주문 한 건의 한정 판매 예약. 확정/해제는 한 번만 일어납니다.
+     */
+    public static final class Reservation {
+        private final String id;
+        private final Map<Long, Long> quantities;
+        private final AtomicBoolean confirmed = new AtomicBoolean();
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Reservation(String id, Map<Long, Long> quantities) {
+            this.id = id;
+            this.quantities = Map.copyOf(quantities);
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public Map<Long, Long> quantities() {
+            return quantities;
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final InventoryRepository inventoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+    private final FlashSaleProperties properties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public FlashSaleInventory(StringRedisTemplate redisTemplate,
+                              InventoryRepository inventoryRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              TransactionOperations transactionOperations,
+                              FlashSaleProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.inventoryRepository = inventoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties;
+    }
+
+    public boolean isManaged(Long bookId) {
+        return properties.isEnabled() && bookId != null && properties.getBookIds().contains(bookId);
+    }
+
+    public String stockKey(Long bookId) {
+        return properties.getKeyPrefix() + "stock:" + bookId;
+    }
+
+    //주문의 한정 판매 도서를 한 번에 예약 (하나라도 모자라면 아무것도 차감하지 않고 실패)
+    public Reservation reserve(Map<Long, Long> quantities) {
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), quantities);
+        List<String> keys = new ArrayList<>(quantities.size() + 2);
+        List<String> args = new ArrayList<>(quantities.size() * 2 + 1);
+        keys.add(expiryKey());
+        keys.add(reservationKey(reservation));
+        args.add(String.valueOf(System.currentTimeMillis() + properties.getReservationTtl().toMillis()));
+        reservation.quantities.forEach((bookId, qty) -> {
+            keys.add(stockKey(bookId));
+            args.add(String.valueOf(bookId));
+            args.add(String.valueOf(qty));
+        });
+        Long result = redisTemplate.execute(RESERVE, keys, args.toArray());
+        if (result == null) {
+            throw new IllegalStateException("Flash sale stock unavailable");
+        }
+        if (result < 0L) {
+            //loadStock 이 아직 재고를 올리지 않았거나 키가 지워짐
+            throw new IllegalStateException("Flash sale not initialised for book: " + -result);
+        }
+        if (result != 0L) {
+            throw new IllegalStateException("Insufficient stock for book: " + result);
+        }
+        return reservation;
+    }
+
+    //결제 성공 : 예약을 판매량으로 확정 (TTL 이 지나 이미 해제됐다면 실패)
+    public void confirm(Reservation reservation) {
+        Long result = redisTemplate.execute(CONFIRM,
+                List.of(expiryKey(), reservationKey(reservation), soldKey()));
+        if (result == null || result != 1L) {
+            throw new IllegalStateException("Flash sale reservation expired: " + reservation.id());
+        }
+        reservation.confirmed.set(true);
+    }
+
+    //결제 실패/주문 롤백 : 확정 전이면 예약 해제, 확정 후면 판매를 되돌림 (여러 번 불려도 한 번만 처리)
+    public void cancel(Reservation reservation) {
+        if (!reservation.settled.compareAndSet(false, true)) return;
+        try {
+            if (reservation.confirmed.get()) {
+                restock(reservation.quantities);
+            } else {
+                release(reservationKey(reservation), reservation.quantities.keySet());
+            }
+        } catch (DataAccessException e) {
+            //해제하지 못한 예약은 TTL 이 지나면 sweepExpired 가 돌려놓음
+            log.warn("[FlashSaleInventory] failed to cancel reservation {}: {}", reservation.id(), e.getMessage());
+        }
+    }
+
+    //주문 트랜잭션이 커밋되지 않으면 예약을 되돌리도록 등록 (커밋 시점 실패까지 포함)
+    public void cancelOnRollback(Reservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) cancel(reservation);
+            }
+        });
+    }
+
+    //취소된 주문의 한정 판매 수량을 재고로 돌려놓음 (트랜잭션 안이면 커밋 후에)
+    public void restockAfterCommit(Map<Long, Long> quantities) {
+        if (quantities.isEmpty()) return;
+        Map<Long, Long> copy = Map.copyOf(quantities);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            restock(copy);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    restock(copy);
+                } catch (DataAccessException e) {
+                    log.warn("[FlashSaleInventory] failed to restock {}: {}", copy, e.getMessage());
+                }
+            }
+        });
+    }
+
+    //TTL 이 지난 예약을 재고로 돌려놓음 (RELEASE 는 멱등이라 여러 노드가 동시에 돌아도 안전)
+    @Scheduled(fixedDelayString = "${app.flash-sale.sweep-interval:10s}")
+    public void sweepExpired() {
+        if (!properties.isEnabled()) return;
+        try {
+            Set<String> expired = redisTemplate.opsForZSet()
+                    .rangeByScore(expiryKey(), 0, System.currentTimeMillis(), 0, 500);
+            if (expired == null || expired.isEmpty()) return;
+            int released = 0;
+            for (String reservationKey : expired) {
+                //예약 HASH 의 도서 목록은 만든 뒤 바뀌지 않으므로 먼저 읽어 재고 키를 넘김 (그 사이 해제됐으면 스크립트가 0)
+                Set<Object> bookIds = redisTemplate.opsForHash().keys(reservationKey);
+                List<Long> ids = bookIds.stream().map(id -> Long.valueOf(id.toString())).toList();
+                Long result = release(reservationKey, ids);
+                if (result != null && result == 1L) released++;
+            }
+            if (released > 0) log.info("[FlashSaleInventory] released {} expired reservations", released);
+        } catch (DataAccessException e) {
+            log.warn("[FlashSaleInventory] sweep failed: {}", e.getMessage());
+        }
+    }
+
+    //확정된 판매량을 inventory 테이블에 반영 (반영에 실패한 몫은 Redis 에 남겨 다음 주기에 다시 반영)
+    @Scheduled(fixedDelayString = "${app.flash-sale.reconcile-interval:5s}")
+    public void reconcile() {
+        if (!properties.isEnabled()) return;
+        String lockKey = properties.getKeyPrefix() + "reconcile-lock";
+        try {
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, nodeId, properties.getReconcileLockTtl());
+            if (!Boolean.TRUE.equals(locked)) return;
+            try {
+                @SuppressWarnings("unchecked")
+                List<String> items = redisTemplate.execute(TAKE_SOLD, List.of(soldKey(), applyingKey()));
+                if (items == null || items.isEmpty()) return;
+                Map<Long, Long> sold = new HashMap<>();
+                for (int i = 0; i + 1 < items.size(); i += 2) {
+                    long qty = Long.parseLong(items.get(i + 1));
+                    if (qty != 0) sold.put(Long.valueOf(items.get(i)), qty);
+                }
+                //한 트랜잭션으로 반영해야 실패 후 다시 반영할 때 일부 도서만 두 번 빠지지 않음
+                transactionOperations.executeWithoutResult(status -> inventoryRepository.applySoldQuantities(sold));
+                redisTemplate.delete(applyingKey());
+                sold.keySet().forEach(bookId -> eventPublisher.publishEvent(new InventoryChangedEvent(bookId)));
+            } finally {
+                if (nodeId.equals(redisTemplate.opsForValue().get(lockKey))) redisTemplate.delete(lockKey);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[FlashSaleInventory] reconcile failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    //기동 시 Redis 에 재고 키가 없는 한정 판매 도서만 DB 재고로 채움 (이미 있으면 Redis 값이 기준)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStock() {
+        if (!properties.isEnabled() || properties.getBookIds().isEmpty()) return;
+        try {
+            for (Inventory inventory : inventoryRepository.findAllByBook_IdIn(properties.getBookIds())) {
+                Long bookId = inventory.getBook().getId();
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(stockKey(bookId), String.valueOf(inventory.getQuantity())))) {
+                    log.info("[FlashSaleInventory] loaded stock {} for book {}", inventory.getQuantity(), bookId);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("[FlashSaleInventory] failed to load stock: {}", e.getMessage());
+        }
+    }
+
+    private Long release(String reservationKey, Collection<Long> bookIds) {
+        List<String> keys = new ArrayList<>(bookIds.size() + 2);
+        List<String> args = new ArrayList<>(bookIds.size());
+        keys.add(expiryKey());
+        keys.add(reservationKey);
+        bookIds.forEach(bookId -> {
+            keys.add(stockKey(bookId));
+            args.add(String.valueOf(bookId));
+        });
+        return redisTemplate.execute(RELEASE, keys, args.toArray());
+    }
+
+    private void restock(Map<Long, Long> quantities) {
+        List<String> keys = new ArrayList<>(quantities.size() + 1);
+        List<String> args = new ArrayList<>(quantities.size() * 2);
+        keys.add(soldKey());
+        quantities.forEach((bookId, qty) -> {
+            keys.add(stockKey(bookId));
+            args.add(String.valueOf(bookId));
+            args.add(String.valueOf(qty));
+        });
+        redisTemplate.execute(RESTOCK, keys, args.toArray());
+    }
+
+    private String reservationKey(Reservation reservation) {
+        return properties.getKeyPrefix() + "reservation:" + reservation.id();
+    }
+
+    private String expiryKey() {
+        return properties.getKeyPrefix() + "reservations";
+    }
+
+    private String soldKey() {
+        return properties.getKeyPrefix() + "sold";
+    }
+
+    private String applyingKey() {
+        return properties.getKeyPrefix() + "sold:applying";
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.Bookstore.service.order;
+
+import com.example.Bookstore.domain.order.Order;
+import com.example.Bookstore.domain.payment.PaymentMethod;
+import com.example.Bookstore.service.idempotency.IdempotencyStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * 멱등 키를 받는 주문 진입점입니다. 주문 트랜잭션 밖에서 키를 먼저 확인하므로,
+ * 두 번 눌린 주문이나 네트워크 재시도는 트랜잭션을 다시 돌리지 않고 처음 만든 주문을 돌려받습니다.
+ * 키 상태는 Redis 에 두고, Redis 를 쓸 수 없을 때는 orders 의 (user_id, idempotency_key) 유니크 제약이 중복 주문을 막습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CheckoutService {
+
+    static final String SCOPE = "checkout";
+
+    private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+
+    public Order placeOrder(Long userId, PaymentMethod method, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return orderService.placeOrderFromCart(userId, method);
+        }
+        idempotencyStore.validate(idempotencyKey);
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim(SCOPE, userId, idempotencyKey);
+        switch (claim.outcome()) {
+            case COMPLETED -> {
+                return orderService.getUserOrderDetail(userId, Long.valueOf(claim.result()));
+            }
+            case IN_PROGRESS -> throw new IllegalStateException("Checkout already in progress");
+            case UNAVAILABLE -> {
+                Optional<Order> existing = orderService.findOrderByIdempotencyKey(userId, idempotencyKey);
+                if (existing.isPresent()) return existing.get();
+            }
+            default -> {}
+        }
+
+        try {
+            Order order = orderService.placeOrderFromCart(userId, method, idempotencyKey);
+            idempotencyStore.complete(SCOPE, userId, idempotencyKey, String.valueOf(order.getId()));
+            return order;
+        } catch (DataIntegrityViolationException e) {
+            //Redis 를 거치지 못한 같은 키의 요청이 먼저 커밋됨 : 그 주문을 돌려줌
+            Optional<Order> existing = orderService.findOrderByIdempotencyKey(userId, idempotencyKey);
+            if (existing.isEmpty()) {
+                //키 충돌이 아닌 다른 제약 위반 : 키를 풀어 재시도할 수 있게 함
+                releaseIfAcquired(claim, userId, idempotencyKey);
+                throw e;
+            }
+            idempotencyStore.complete(SCOPE, userId, idempotencyKey, String.valueOf(existing.get().getId()));
+            return existing.get();
+        } catch (RuntimeException e) {
+            releaseIfAcquired(claim, userId, idempotencyKey);
+            throw e;
+        }
+    }
+
+    private void releaseIfAcquired(IdempotencyStore.Claim claim, Long userId, String idempotencyKey) {
+        if (claim.outcome() == IdempotencyStore.Outcome.ACQUIRED) {
+            idempotencyStore.release(SCOPE, userId, idempotencyKey);
+        }
+    }
+}
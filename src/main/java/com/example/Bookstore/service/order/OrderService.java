@@ -2,45 +2,76 @@ package com.example.Bookstore.service.order;
 
 import com.example.Bookstore.domain.book.Book;
 import com.example.Bookstore.domain.book.Inventory;
+import com.example.Bookstore.domain.book.InventoryChangedEvent;
 import com.example.Bookstore.domain.cart.Cart;
 import com.example.Bookstore.domain.cart.CartItem;
 import com.example.Bookstore.domain.cart.CartStatus;
 import com.example.Bookstore.domain.order.Order;
 import com.example.Bookstore.domain.order.OrderItem;
 import com.example.Bookstore.domain.order.OrderStatus;
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.domain.order.OrderSummary;
 import com.example.Bookstore.domain.payment.Payment;
 import com.example.Bookstore.domain.payment.PaymentMethod;
+import com.example.Bookstore.domain.payment.PaymentStatus;
+import com.example.Bookstore.domain.payment.PaymentStatusChangedEvent;
 import com.example.Bookstore.repository.book.InventoryRepository;
 import com.example.Bookstore.repository.cart.CartItemRepository;
 import com.example.Bookstore.repository.cart.CartRepository;
 import com.example.Bookstore.repository.order.OrderRepository;
+import com.example.Bookstore.repository.order.OrderSummaryRepository;
 import com.example.Bookstore.repository.payment.PaymentRepository;
+import com.example.Bookstore.service.inventory.FlashSaleInventory;
 import com.example.Bookstore.service.payment.PaymentService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final InventoryRepository inventoryRepository;
     private final PaymentRepository paymentRepository;
     private final PaymentService paymentService;
+    private final FlashSaleInventory flashSaleInventory;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<Order> getUserOrders(Long userId) {
         return orderRepository.findByUserId(userId);
     }
 
+    //나의 주문 목록 한 페이지 (최신순) : 주문당 요약 한 행만 읽음 (항목/도서 조인 없음)
+    @Transactional(readOnly = true)
+    public Slice<OrderSummary> getUserOrderSummaries(Long userId, int page, int size) {
+        return orderSummaryRepository.findByUserIdOrderByCreatedAtDescOrderIdDesc(userId, PageRequest.of(page, size));
+    }
+
+    //관리자 주문 목록 한 페이지 (최신순)
+    @Transactional(readOnly = true)
+    public Page<OrderSummary> getOrderSummaries(int page, int size) {
+        return orderSummaryRepository.findAllByOrderByCreatedAtDescOrderIdDesc(PageRequest.of(page, size));
+    }
+
     @Transactional(readOnly = true)
     public Order getUserOrderDetail(Long userId, Long orderId) {
         Order order = orderRepository.findById(orderId)
@@ -51,8 +82,25 @@ public class OrderService {
         return order;
     }
 
+    @RetryOnConflict
     @Transactional
     public Order placeOrderFromCart(Long userId, PaymentMethod method) {
+        return placeOrder(userId, method, null);
+    }
+
+    //멱등 키와 함께 주문 (같은 사용자의 같은 키는 orders 유니크 제약으로 한 번만 커밋됨, 재시도 처리는 CheckoutService)
+    @RetryOnConflict
+    @Transactional
+    public Order placeOrderFromCart(Long userId, PaymentMethod method, String idempotencyKey) {
+        return placeOrder(userId, method, idempotencyKey);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Order> findOrderByIdempotencyKey(Long userId, String idempotencyKey) {
+        return orderRepository.findByUser_IdAndIdempotencyKey(userId, idempotencyKey);
+    }
+
+    private Order placeOrder(Long userId, PaymentMethod method, String idempotencyKey) {
         if (method != PaymentMethod.KAKAOPAY) {
             throw new IllegalArgumentException("Only KakaoPay is supported");
         }
@@ -64,57 +112,85 @@ public class OrderService {
             throw new IllegalStateException("Cart is empty");
         }
 
+        //재고는 한 번에 조회해 결제 전에 확인 (같은 도서가 여러 줄이면 합산, 한정 판매 도서는 Redis 예약으로 따로 처리)
+        Map<Long, Long> quantities = new LinkedHashMap<>();
+        Map<Long, Long> flashQuantities = new LinkedHashMap<>();
         BigDecimal total = BigDecimal.ZERO;
         for (CartItem ci : items) {
             Book book = ci.getBook();
-            Inventory inv = inventoryRepository.findByBook_Id(book.getId())
-                    .orElseThrow(() -> new IllegalStateException("Inventory not found for book: " + book.getId()));
             long qty = ci.getQuantity() == null ? 0L : ci.getQuantity();
             if (qty <= 0) throw new IllegalStateException("Invalid quantity for book: " + book.getId());
-            if (inv.getQuantity() < qty) {
-                throw new IllegalStateException("Insufficient stock for book: " + book.getId());
-            }
+            (flashSaleInventory.isManaged(book.getId()) ? flashQuantities : quantities).merge(book.getId(), qty, Long::sum);
             total = total.add(book.getPrice().multiply(BigDecimal.valueOf(qty)));
         }
+        if (!quantities.isEmpty()) {
+            Map<Long, Long> stock = inventoryRepository.findAllByBook_IdIn(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(inv -> inv.getBook().getId(), Inventory::getQuantity));
+            quantities.forEach((bookId, qty) -> {
+                Long available = stock.get(bookId);
+                if (available == null) throw new IllegalStateException("Inventory not found for book: " + bookId);
+                if (available < qty) throw new IllegalStateException("Insufficient stock for book: " + bookId);
+            });
+        }
 
-        Order order = Order.builder()
-                .user(cart.getUser())
-                .status(OrderStatus.PENDING)
-                .totalAmount(total)
-                .build();
-
-        List<OrderItem> orderItems = new ArrayList<>();
-        for (CartItem ci : items) {
-            OrderItem oi = OrderItem.builder()
-                    .order(order)
-                    .book(ci.getBook())
-                    .quantity(ci.getQuantity().intValue())
-                    .unitPrice(ci.getBook().getPrice())
-                    .build();
-            orderItems.add(oi);
+        //한정 판매 도서는 inventory 행을 잠그지 않고 Redis 에서 먼저 예약 (주문이 커밋되지 않으면 되돌림)
+        FlashSaleInventory.Reservation reservation = null;
+        if (!flashQuantities.isEmpty()) {
+            reservation = flashSaleInventory.reserve(flashQuantities);
+            flashSaleInventory.cancelOnRollback(reservation);
         }
-        order.setItems(orderItems);
+        try {
+            Order order = Order.builder()
+                    .user(cart.getUser())
+                    .status(OrderStatus.PENDING)
+                    .totalAmount(total)
+                    .idempotencyKey(idempotencyKey)
+                    .build();
 
-        order = orderRepository.save(order);
+            List<OrderItem> orderItems = new ArrayList<>();
+            for (CartItem ci : items) {
+                OrderItem oi = OrderItem.builder()
+                        .order(order)
+                        .book(ci.getBook())
+                        .quantity(ci.getQuantity().intValue())
+                        .unitPrice(ci.getBook().getPrice())
+                        .build();
+                orderItems.add(oi);
+            }
+            order.setItems(orderItems);
 
-        Payment payment = paymentService.createPayment(order, method, total);
-        paymentService.authorizeAndCapture(payment);
+            order = orderRepository.save(order);
+            //주문 목록 요약 행 생성 (이전 상태 없음 → PENDING, 판매 집계에는 반영되지 않음)
+            eventPublisher.publishEvent(OrderStatusChangedEvent.of(order, null));
 
-        order.setStatus(OrderStatus.PAID);
-        for (CartItem ci : items) {
-            Inventory inv = inventoryRepository.findByBook_Id(ci.getBook().getId())
-                    .orElseThrow(() -> new IllegalStateException("Inventory not found for book: " + ci.getBook().getId()));
-            inv.setQuantity(inv.getQuantity() - ci.getQuantity());
-            inventoryRepository.save(inv);
-        }
+            //확인 이후 다른 주문이 먼저 가져갔을 수 있으므로 차감은 조건부 UPDATE 로 (결제 전, 실패 시 전체 롤백)
+            if (!quantities.isEmpty()) {
+                List<Long> insufficient = inventoryRepository.decrementStock(quantities);
+                if (!insufficient.isEmpty()) {
+                    throw new IllegalStateException("Insufficient stock for book: " + insufficient.get(0));
+                }
+                //JDBC 로 바꾼 재고는 JPA 리스너를 거치지 않으므로 상세 캐시 무효화 이벤트를 직접 발행
+                quantities.keySet().forEach(bookId -> eventPublisher.publishEvent(new InventoryChangedEvent(bookId)));
+            }
 
-        cart.setStatus(CartStatus.CHECKED_OUT);
-        cartItemRepository.deleteAll(new ArrayList<>(items));
-        cart.getItems().clear();
+            Payment payment = paymentService.createPayment(order, method, total);
+            //한정 판매 수량은 주문과 함께 확정 (결제가 실패하면 주문 취소와 같은 경로로 재고에 돌려놓음)
+            if (reservation != null) flashSaleInventory.confirm(reservation);
 
-        return order;
+            cart.setStatus(CartStatus.CHECKED_OUT);
+            cartItemRepository.deleteAll(new ArrayList<>(items));
+            cart.getItems().clear();
+
+            //PG 승인은 커밋 후에 요청하므로 주문은 PENDING 으로 반환되고, 결제 결과는 onPaymentStatusChanged 에서 반영
+            paymentService.requestAuthorization(payment);
+            return order;
+        } catch (RuntimeException e) {
+            if (reservation != null) flashSaleInventory.cancel(reservation);
+            throw e;
+        }
     }
 
+    @RetryOnConflict
     @Transactional
     public void cancelOrder(Long userId, Long orderId) {
         Order order = orderRepository.findById(orderId)
@@ -125,26 +201,62 @@ public class OrderService {
         if (order.getStatus() == OrderStatus.CANCELLED) return;
         switch (order.getStatus()) {
             case PENDING, PAID -> {
+                OrderStatus previous = order.getStatus();
+                //결제 취소로 발행되는 결제 상태 이벤트가 이 주문을 한 번 더 취소하지 않도록 상태를 먼저 바꿈
+                order.setStatus(OrderStatus.CANCELLED);
                 paymentRepository.findByOrderId(order.getId())
                         .ifPresent(paymentService::refund);
-                for (OrderItem oi : order.getItems()) {
-                    Inventory inv = inventoryRepository.findByBook_Id(oi.getBook().getId())
-                            .orElseThrow(() -> new IllegalStateException("Inventory not found for book: " + oi.getBook().getId()));
-                    inv.setQuantity(inv.getQuantity() + oi.getQuantity());
-                    inventoryRepository.save(inv);
-                }
-                order.setStatus(OrderStatus.CANCELLED);
+                restoreStock(order);
+                eventPublisher.publishEvent(OrderStatusChangedEvent.of(order, previous));
             }
             case SHIPPED, COMPLETED -> throw new IllegalStateException("Cannot cancel shipped/completed order");
             default -> {}
         }
     }
 
+    @RetryOnConflict
     @Transactional
     public Order adminUpdateOrderStatus(Long orderId, OrderStatus status) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found: " + orderId));
+        OrderStatus previous = order.getStatus();
+        if (previous == status) return order;
         order.setStatus(status);
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(order, previous));
         return order;
     }
+
+    //결제 결과를 결제 대기 중인 주문에 반영 (결제 상태를 바꾼 트랜잭션 안에서 실행)
+    @EventListener
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.orderId() == null) return;
+        //REFUND_PENDING : 승인 기한이 지나 결제를 취소하는 중 (결제 실패와 같이 주문 취소)
+        if (event.to() != PaymentStatus.CAPTURED && event.to() != PaymentStatus.FAILED
+                && event.to() != PaymentStatus.REFUND_PENDING) return;
+        Order order = orderRepository.findById(event.orderId()).orElse(null);
+        if (order == null || order.getStatus() != OrderStatus.PENDING) return;
+        if (event.to() == PaymentStatus.CAPTURED) {
+            order.setStatus(OrderStatus.PAID);
+        } else {
+            restoreStock(order);
+            order.setStatus(OrderStatus.CANCELLED);
+        }
+        eventPublisher.publishEvent(OrderStatusChangedEvent.of(order, OrderStatus.PENDING));
+    }
+
+    //주문 수량을 재고로 돌려놓음 (한정 판매 수량은 Redis 재고로, DB 재고는 판매량 반영 주기에 맞춰짐)
+    private void restoreStock(Order order) {
+        Map<Long, Long> flashRestock = new LinkedHashMap<>();
+        for (OrderItem oi : order.getItems()) {
+            if (flashSaleInventory.isManaged(oi.getBook().getId())) {
+                flashRestock.merge(oi.getBook().getId(), (long) oi.getQuantity(), Long::sum);
+                continue;
+            }
+            Inventory inv = inventoryRepository.findByBook_Id(oi.getBook().getId())
+                    .orElseThrow(() -> new IllegalStateException("Inventory not found for book: " + oi.getBook().getId()));
+            inv.setQuantity(inv.getQuantity() + oi.getQuantity());
+            inventoryRepository.save(inv);
+        }
+        flashSaleInventory.restockAfterCommit(flashRestock);
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.Bookstore.service.order;
+
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.domain.order.OrderSummary;
+import com.example.Bookstore.repository.order.OrderRepository;
+import com.example.Bookstore.repository.order.OrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 주문 목록 화면이 읽는 order_summaries 를 주문 변경에 맞춰 갱신합니다.
+ * <p>
+ * 목록은 주문 → 주문 항목 → 도서 그래프 대신 주문당 한 행(금액, 수량, 대표 도서, 상태)만 읽습니다.
+ * 주문 생성(이전 상태 없음)에는 행을 만들고, 이후 상태 변경에는 상태만 바꿉니다. 주문과 같은 트랜잭션에서 실행되므로
+ * 목록과 주문 원장이 어긋난 채로 커밋되지 않습니다. 주문 금액과 항목은 생성 후 바뀌지 않아 다시 계산하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryProjection {
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderRepository orderRepository;
+
+    @EventListener
+    @Transactional
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.orderId() == null || event.to() == null) return;
+        if (event.from() != null && orderSummaryRepository.updateStatus(event.orderId(), event.to()) > 0) return;
+        //새 주문이거나 요약 행이 아직 없는 기존 주문 : 같은 트랜잭션의 주문 엔티티로 만듦 (영속성 컨텍스트에서 꺼내므로 추가 조회 없음)
+        orderRepository.findById(event.orderId())
+                .map(OrderSummary::from)
+                .ifPresent(orderSummaryRepository::upsert);
+    }
+
+    //기동 시 요약 행이 없는 주문을 채움 (시드 데이터/이 테이블 이전의 주문 반영)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        int rows = orderSummaryRepository.backfillMissing();
+        if (rows > 0) log.info("[OrderSummaryProjection] backfilled {} order summaries", rows);
+    }
+}
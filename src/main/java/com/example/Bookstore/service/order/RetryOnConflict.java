@@ -0,0 +1,31 @@
+package com.example.Bookstore.service.order;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 동시 수정 충돌(버전 불일치, 교착/잠금 대기 실패)로 실패한 쓰기 작업을 지수 백오프(+무작위)로 다시 시도합니다.
+ * 재시도는 트랜잭션 바깥에서 일어나므로({@link com.example.Bookstore.config.RetryConfig}) 매번 최신 상태를 다시 읽습니다.
+ * 재고 부족 같은 업무 오류는 재시도하지 않습니다. 설정 : app.order.retry.*
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(
+        retryFor = {OptimisticLockingFailureException.class, PessimisticLockingFailureException.class},
+        maxAttemptsExpression = "${app.order.retry.max-attempts:3}",
+        backoff = @Backoff(
+                delayExpression = "${app.order.retry.delay:50}",
+                maxDelayExpression = "${app.order.retry.max-delay:500}",
+                multiplierExpression = "${app.order.retry.multiplier:2}",
+                random = true))
+public @interface RetryOnConflict {
+}
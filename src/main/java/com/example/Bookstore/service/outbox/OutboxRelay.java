@@ -0,0 +1,239 @@
+package com.example.Bookstore.service.outbox;
+
+import com.example.Bookstore.config.OutboxProperties;
+import com.example.Bookstore.domain.outbox.OutboxDelivery;
+import com.example.Bookstore.domain.outbox.OutboxEvent;
+import com.example.Bookstore.repository.outbox.OutboxDeliveryRepository;
+import com.example.Bookstore.repository.outbox.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * outbox 테이블의 전달 대기 이벤트를 묶음으로 읽어 {@link OutboxSubscriber} 들에게 전달합니다.
+ * 한 묶음은 한 트랜잭션에서 FOR UPDATE SKIP LOCKED 로 잠그므로 여러 노드의 릴레이가 같은 이벤트를 동시에 보내지 않고,
+ * 전달이 끝난 이벤트는 같은 트랜잭션에서 완료로 표시합니다.
+ * <p>
+ * 구독자별 성공은 outbox_deliveries 에 별도 트랜잭션으로 먼저 기록합니다. 그래서 일부 구독자만 실패했거나 묶음 트랜잭션이
+ * 커밋되지 못해도, 다시 전달할 때는 아직 받지 못한 구독자에게만 보냅니다. (랭킹 점수처럼 더하는 구독자가 같은 판매를 두 번 세지 않음)
+ * 실패한 이벤트는 지수 백오프 후 다시 전달하고, max-attempts 번 실패하면 dead_at 을 기록해 더 이상 잡지 않습니다.
+ * 지표 : outbox.published, outbox.failed, outbox.dead
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements MeterBinder {
+
+    private static final String EVENT_PACKAGE = "com.example.Bookstore.";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeliveryRepository outboxDeliveryRepository;
+    private final List<OutboxSubscriber<?>> subscribers;
+    private final ObjectMapper objectMapper;
+    private final TransactionOperations transactionOperations;
+    //묶음 트랜잭션이 롤백돼도 남아야 하는 전달 기록용 (REQUIRES_NEW)
+    private final TransactionOperations deliveryTransactions;
+    private final OutboxProperties properties;
+
+    private final ConcurrentHashMap<String, Class<?>> eventTypes = new ConcurrentHashMap<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dead = new LongAdder();
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxDeliveryRepository outboxDeliveryRepository,
+                       List<OutboxSubscriber<?>> subscribers,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       OutboxProperties properties) {
+        this(outboxEventRepository, outboxDeliveryRepository, subscribers, objectMapper,
+                new TransactionTemplate(transactionManager), requiresNew(transactionManager), properties);
+    }
+
+    OutboxRelay(OutboxEventRepository outboxEventRepository,
+                OutboxDeliveryRepository outboxDeliveryRepository,
+                List<OutboxSubscriber<?>> subscribers,
+                ObjectMapper objectMapper,
+                TransactionOperations transactionOperations,
+                TransactionOperations deliveryTransactions,
+                OutboxProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxDeliveryRepository = outboxDeliveryRepository;
+        this.subscribers = List.copyOf(subscribers);
+        this.objectMapper = objectMapper;
+        this.transactionOperations = transactionOperations;
+        this.deliveryTransactions = deliveryTransactions;
+        this.properties = properties;
+        Set<String> names = new HashSet<>();
+        for (OutboxSubscriber<?> subscriber : this.subscribers) {
+            if (!names.add(subscriber.subscriberName())) {
+                throw new IllegalStateException("outbox 구독자 이름 중복 : " + subscriber.subscriberName());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval:1s}")
+    public void relay() {
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            Integer relayed;
+            try {
+                relayed = transactionOperations.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                log.warn("[OutboxRelay] relay batch failed: {}", e.getMessage());
+                return;
+            }
+            if (relayed == null || relayed < properties.getBatchSize()) return;
+        }
+    }
+
+    //한 묶음을 잠그고 전달한 뒤 결과를 표시 (트랜잭션 안에서 호출)
+    int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.lockPending(now, properties.getBatchSize());
+        if (batch.isEmpty()) return 0;
+
+        Map<Long, Set<String>> delivered = new LinkedHashMap<>();
+        for (OutboxDelivery delivery : outboxDeliveryRepository.findByEventIdIn(batch.stream().map(OutboxEvent::getId).toList())) {
+            delivered.computeIfAbsent(delivery.getEventId(), id -> new HashSet<>()).add(delivery.getSubscriber());
+        }
+        Map<Long, List<String>> newlyDelivered = new LinkedHashMap<>();
+        List<Long> completed = new ArrayList<>();
+        for (OutboxEvent outboxEvent : batch) {
+            List<String> received = newlyDelivered.computeIfAbsent(outboxEvent.getId(), id -> new ArrayList<>());
+            try {
+                dispatch(deserialize(outboxEvent), delivered.getOrDefault(outboxEvent.getId(), Set.of()), received);
+                outboxEvent.setPublishedAt(now);
+                outboxEvent.setLastError(null);
+                completed.add(outboxEvent.getId());
+                published.increment();
+            } catch (Exception e) {
+                markFailed(outboxEvent, now, e);
+            }
+        }
+        recordDeliveries(newlyDelivered);
+        if (!completed.isEmpty()) outboxDeliveryRepository.deleteByEventIds(completed);
+        return batch.size();
+    }
+
+    //전달 완료 후 보관 기간이 지난 이벤트 정리 (매시 35분)
+    @Scheduled(cron = "${app.outbox.purge-cron:0 35 * * * *}")
+    public void purgePublished() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        int deleted;
+        int total = 0;
+        do {
+            Integer n = transactionOperations.execute(status ->
+                    outboxEventRepository.deletePublishedBefore(before, properties.getBatchSize() * 10));
+            deleted = n == null ? 0 : n;
+            total += deleted;
+        } while (deleted > 0);
+        if (total > 0) log.info("[OutboxRelay] purged {} published events", total);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("outbox.published", published, LongAdder::sum).register(registry);
+        FunctionCounter.builder("outbox.failed", failed, LongAdder::sum).register(registry);
+        FunctionCounter.builder("outbox.dead", dead, LongAdder::sum).register(registry);
+    }
+
+    //이미 받은 구독자는 건너뛰고 나머지에 전달 (한 구독자가 실패해도 다른 구독자에게는 전달하고, 실패는 모아서 던짐)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void dispatch(Object event, Set<String> alreadyDelivered, List<String> received) {
+        RuntimeException failure = null;
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (!subscriber.eventType().isInstance(event) || alreadyDelivered.contains(subscriber.subscriberName())) continue;
+            try {
+                subscriber.handle(event);
+                received.add(subscriber.subscriberName());
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e;
+                else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    //묶음 트랜잭션과 따로 커밋 : 묶음이 롤백돼 다시 잡혀도 이미 받은 구독자에게는 다시 보내지 않음
+    private void recordDeliveries(Map<Long, List<String>> newlyDelivered) {
+        newlyDelivered.values().removeIf(List::isEmpty);
+        if (newlyDelivered.isEmpty()) return;
+        try {
+            deliveryTransactions.executeWithoutResult(status -> outboxDeliveryRepository.recordDeliveries(newlyDelivered));
+        } catch (RuntimeException e) {
+            //기록하지 못하면 다시 전달될 때 중복될 수 있을 뿐, 이번 전달 결과는 그대로 반영
+            log.warn("[OutboxRelay] recording deliveries failed: {}", e.getMessage());
+        }
+    }
+
+    private void markFailed(OutboxEvent outboxEvent, LocalDateTime now, Exception e) {
+        int attempts = outboxEvent.getAttempts() + 1;
+        outboxEvent.setAttempts(attempts);
+        outboxEvent.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+        failed.increment();
+        if (attempts >= properties.getMaxAttempts()) {
+            outboxEvent.setDeadAt(now);
+            dead.increment();
+            log.error("[OutboxRelay] event {} ({}) gave up after {} attempts: {}",
+                    outboxEvent.getId(), outboxEvent.getEventType(), attempts, e.getMessage());
+            return;
+        }
+        outboxEvent.setNextAttemptAt(now.plus(backoff(attempts)));
+        log.warn("[OutboxRelay] event {} ({}) failed {} times: {}",
+                outboxEvent.getId(), outboxEvent.getEventType(), attempts, e.getMessage());
+    }
+
+    private Object deserialize(OutboxEvent outboxEvent) throws Exception {
+        Class<?> type = eventTypes.computeIfAbsent(outboxEvent.getEventType(), name -> {
+            if (!name.startsWith(EVENT_PACKAGE)) {
+                throw new IllegalArgumentException("알 수 없는 outbox 이벤트 타입 : " + name);
+            }
+            try {
+                return Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("알 수 없는 outbox 이벤트 타입 : " + name, e);
+            }
+        });
+        return objectMapper.readValue(outboxEvent.getPayload(), type);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration base = properties.getRetryBackoff();
+        Duration max = properties.getMaxRetryBackoff();
+        //2^(attempts-1) 배, 상한에서 멈춤 (시프트 넘침 방지)
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = base.multipliedBy(factor);
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    private static TransactionTemplate requiresNew(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
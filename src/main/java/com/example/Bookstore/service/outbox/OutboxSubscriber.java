@@ -0,0 +1,21 @@
+package com.example.Bookstore.service.outbox;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * outbox 릴레이가 커밋된 이벤트를 전달하는 프로세스 내 구독자입니다.
+ * 전달은 최소 한 번(at-least-once)입니다. 예외를 던지면 그 구독자에게만 나중에 다시 전달하고, 이미 받은 구독자는 건너뜁니다.
+ * 다만 처리 직후 프로세스가 죽어 전달 기록이 남지 않으면 같은 이벤트가 다시 올 수 있습니다.
+ */
+public interface OutboxSubscriber<E> {
+
+    //받을 이벤트 타입 (하위 타입 포함, Object 면 모든 이벤트)
+    Class<E> eventType();
+
+    void handle(E event);
+
+    //전달 기록의 구독자 이름 (구독자마다 달라야 함, 프록시 클래스가 아닌 원래 클래스 이름)
+    default String subscriberName() {
+        return ClassUtils.getUserClass(getClass()).getSimpleName();
+    }
+}
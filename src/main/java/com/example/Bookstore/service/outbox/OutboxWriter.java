@@ -0,0 +1,46 @@
+package com.example.Bookstore.service.outbox;
+
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.domain.outbox.OutboxEvent;
+import com.example.Bookstore.domain.payment.PaymentStatusChangedEvent;
+import com.example.Bookstore.repository.outbox.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문/결제 이벤트를 발행한 트랜잭션 안에서 outbox 테이블에 기록합니다.
+ * 주문이 롤백되면 이벤트도 함께 사라지고, 커밋되면 {@link OutboxRelay} 가 반드시 한 번 이상 전달합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        append("Order", event.orderId(), event);
+    }
+
+    @EventListener
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        append("Payment", event.paymentId(), event);
+    }
+
+    private void append(String aggregateType, Object aggregateId, Object event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .eventType(event.getClass().getName())
+                    .aggregateType(aggregateType)
+                    .aggregateId(String.valueOf(aggregateId))
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox 이벤트 직렬화 실패 : " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
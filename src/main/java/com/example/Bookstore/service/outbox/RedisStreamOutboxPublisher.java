@@ -0,0 +1,55 @@
+package com.example.Bookstore.service.outbox;
+
+import com.example.Bookstore.config.OutboxProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * app.outbox.redis-stream 이 설정되면 모든 outbox 이벤트를 Redis Stream 에 XADD 해 다른 프로세스(분석, 메일 등)가 소비할 수 있게 합니다.
+ * 항목은 type(이벤트 클래스 이름)과 payload(JSON) 두 필드이고, 스트림 길이는 대략 redisStreamMaxLength 로 유지합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisStreamOutboxPublisher implements OutboxSubscriber<Object> {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+
+    @Override
+    public Class<Object> eventType() {
+        return Object.class;
+    }
+
+    @Override
+    public void handle(Object event) {
+        String stream = properties.getRedisStream();
+        if (stream == null || stream.isBlank()) return;
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox 이벤트 직렬화 실패 : " + event.getClass().getSimpleName(), e);
+        }
+        Map<String, String> fields = Map.of("type", event.getClass().getName(), "payload", payload);
+        //XADD 와 근사 XTRIM 을 한 번에 보냄
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForStream().add(StreamRecords.string(fields).withStreamKey(stream));
+                ops.opsForStream().trim(stream, properties.getRedisStreamMaxLength(), true);
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.Bookstore.service.payment;
+
+import com.example.Bookstore.config.PaymentProperties;
+import com.example.Bookstore.domain.payment.PaymentStatus;
+import com.example.Bookstore.service.payment.gateway.PaymentGateway;
+import com.example.Bookstore.service.payment.gateway.PaymentGatewayCallback;
+import com.example.Bookstore.service.payment.gateway.PaymentGatewayException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * PG 호출을 전용 스레드에서 보내는 디스패처이자 PG 장애를 가두는 격벽(bulkhead)입니다.
+ * <p>
+ * 트랜잭션 안에서 요청하면 커밋된 뒤에 보내므로, DB 트랜잭션과 요청 스레드가 PG 왕복을 기다리며 붙잡히지 않고
+ * 롤백된 결제가 PG 로 나가지도 않습니다. PG 가 느려져도 붙잡히는 것은 이 스레드들(dispatcher-threads 개)과
+ * 크기가 정해진 대기 큐뿐이고, 큐가 가득 차면 새 요청은 버립니다. 호출마다 제한 시간을 넘기면 인터럽트하고,
+ * 연속 실패가 쌓이면 회로를 열어 한동안 PG 를 부르지 않습니다.
+ * <p>
+ * 여기서 요청을 버리거나 실패해도 다시 보내지 않습니다. 대신 PaymentService 는 PG 결과가 오기 전까지 결제를
+ * PG 확인 대기 상태로 둡니다. 승인/매입 요청은 PENDING/AUTHORIZED, 취소/환불 요청은 REFUND_PENDING 입니다.
+ * 상태 조회 주기({@link PaymentService#pollStalePayments()})가 이 상태들을 조회해 요청을 다시 보냅니다.
+ * 따라서 이 클래스를 거치는 요청은 모두 이 상태들 중 하나를 남긴 뒤에 보내야 합니다.
+ * <p>
+ * 지표 : payment.gateway.queued, payment.gateway.active, payment.gateway.rejected, payment.gateway.timeouts,
+ * payment.gateway.failures, payment.gateway.short.circuited, payment.gateway.circuit.state (0 닫힘, 1 시험 중, 2 열림)
+ */
+@Slf4j
+@Component
+public class PaymentRequestDispatcher implements MeterBinder {
+
+    //호출 하나의 완료/시간 초과 중 먼저 일어난 쪽만 반영
+    private static final class CallGuard {
+        private boolean done;
+        private boolean timedOut;
+    }
+
+    private final PaymentGateway gateway;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration callTimeout;
+    private final PaymentCircuitBreaker circuitBreaker;
+
+    private final BlockingQueue<Runnable> queue;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "payment-dispatcher-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+
+    //PG 구현이 하나도 없으면(app.payment.simulator.enabled=false 이고 실제 PG 빈도 없음) 기동 시 바로 실패
+    @Autowired
+    public PaymentRequestDispatcher(ObjectProvider<PaymentGateway> gateway,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PaymentProperties properties) {
+        this(gateway.getIfAvailable(() -> {
+            throw new IllegalStateException("No PaymentGateway configured: register a PG client bean "
+                    + "or set app.payment.simulator.enabled=true");
+        }), eventPublisher, properties);
+    }
+
+    PaymentRequestDispatcher(PaymentGateway gateway,
+                             ApplicationEventPublisher eventPublisher,
+                             PaymentProperties properties) {
+        this.gateway = gateway;
+        this.eventPublisher = eventPublisher;
+        this.callTimeout = properties.getCallTimeout();
+        this.circuitBreaker = new PaymentCircuitBreaker(properties.getCircuitFailureThreshold(),
+                properties.getCircuitOpenDuration(), System::nanoTime);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getDispatcherQueueCapacity()));
+        AtomicInteger sequence = new AtomicInteger();
+        int threads = Math.max(1, properties.getDispatcherThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, task -> {
+            Thread thread = new Thread(task, "payment-dispatcher-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void authorize(Long paymentId, BigDecimal amount) {
+        afterCommit("authorize", paymentId, () -> gateway.requestAuthorization(paymentId, amount),
+                transactionId -> eventPublisher.publishEvent(
+                        new PaymentGatewayCallback(paymentId, transactionId, PaymentStatus.PENDING, null)));
+    }
+
+    public void capture(Long paymentId, String transactionId, BigDecimal amount) {
+        afterCommit("capture", paymentId, () -> {
+            gateway.requestCapture(transactionId, amount);
+            return null;
+        }, ignored -> {});
+    }
+
+    public void refund(Long paymentId, String transactionId, BigDecimal amount) {
+        afterCommit("refund", paymentId, () -> {
+            gateway.requestRefund(transactionId, amount);
+            return null;
+        }, ignored -> {});
+    }
+
+    //콜백을 놓친 거래의 상태를 조회해 콜백과 같은 경로로 반영
+    public void inquire(Long paymentId, String transactionId) {
+        afterCommit("inquire", paymentId, () -> gateway.inquire(transactionId),
+                status -> eventPublisher.publishEvent(new PaymentGatewayCallback(paymentId, transactionId, status, null)));
+    }
+
+    //거래 id 를 받지 못한 결제의 거래를 찾아 콜백과 같은 경로로 반영 (PG 에 거래가 없으면 FAILED)
+    public void lookup(Long paymentId) {
+        afterCommit("lookup", paymentId, () -> gateway.findTransactionId(paymentId),
+                transactionId -> eventPublisher.publishEvent(transactionId == null
+                        ? new PaymentGatewayCallback(paymentId, null, PaymentStatus.FAILED, "No transaction at gateway")
+                        : new PaymentGatewayCallback(paymentId, transactionId, PaymentStatus.PENDING, null)));
+    }
+
+    long rejectedCount() {
+        return rejected.sum();
+    }
+
+    long timeoutCount() {
+        return timeouts.sum();
+    }
+
+    long shortCircuitedCount() {
+        return shortCircuited.sum();
+    }
+
+    PaymentCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("payment.gateway.queued", queue, BlockingQueue::size).register(registry);
+        Gauge.builder("payment.gateway.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+        Gauge.builder("payment.gateway.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .register(registry);
+        FunctionCounter.builder("payment.gateway.rejected", rejected, LongAdder::sum).register(registry);
+        FunctionCounter.builder("payment.gateway.timeouts", timeouts, LongAdder::sum).register(registry);
+        FunctionCounter.builder("payment.gateway.failures", failures, LongAdder::sum).register(registry);
+        FunctionCounter.builder("payment.gateway.short.circuited", shortCircuited, LongAdder::sum).register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            watchdog.shutdownNow();
+        }
+    }
+
+    private <T> void afterCommit(String operation, Long paymentId, Supplier<T> call, Consumer<T> onResult) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(operation, paymentId, call, onResult);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(operation, paymentId, call, onResult);
+            }
+        });
+    }
+
+    private <T> void submit(String operation, Long paymentId, Supplier<T> call, Consumer<T> onResult) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.increment();
+            log.info("[PaymentRequestDispatcher] circuit open, skipped {} for payment {} (left to polling)", operation, paymentId);
+            return;
+        }
+        try {
+            executor.execute(() -> run(operation, paymentId, call, onResult));
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.onAbandoned();
+            rejected.increment();
+            log.warn("[PaymentRequestDispatcher] {} for payment {} rejected, {} requests queued",
+                    operation, paymentId, queue.size());
+        }
+    }
+
+    private <T> void run(String operation, Long paymentId, Supplier<T> call, Consumer<T> onResult) {
+        T result;
+        try {
+            result = callWithTimeout(call);
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            log.warn("[PaymentRequestDispatcher] {} for payment {} failed: {}", operation, paymentId, e.getMessage());
+            return;
+        }
+        //결과 반영(DB 트랜잭션)은 제한 시간 밖에서 : PG 호출만 인터럽트 대상
+        try {
+            onResult.accept(result);
+        } catch (RuntimeException e) {
+            log.warn("[PaymentRequestDispatcher] applying {} result for payment {} failed: {}",
+                    operation, paymentId, e.getMessage());
+        }
+    }
+
+    private <T> T callWithTimeout(Supplier<T> call) {
+        Thread worker = Thread.currentThread();
+        CallGuard guard = new CallGuard();
+        ScheduledFuture<?> timer = watchdog.schedule(() -> {
+            synchronized (guard) {
+                if (guard.done) return;
+                guard.timedOut = true;
+                worker.interrupt();
+            }
+        }, callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        T result = null;
+        RuntimeException failure = null;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            timer.cancel(false);
+        }
+        boolean timedOut;
+        synchronized (guard) {
+            guard.done = true;
+            timedOut = guard.timedOut;
+        }
+        //시간 초과 인터럽트가 다음 작업으로 번지지 않도록 지움
+        Thread.interrupted();
+        if (timedOut) {
+            timeouts.increment();
+            throw new PaymentGatewayException("Payment gateway call timed out after " + callTimeout.toMillis() + "ms");
+        }
+        if (failure != null) {
+            failures.increment();
+            throw failure;
+        }
+        return result;
+    }
+}
@@ -1,54 +1,98 @@
 package com.example.Bookstore.service.payment;
 
+import com.example.Bookstore.config.PaymentProperties;
 import com.example.Bookstore.domain.order.Order;
 import com.example.Bookstore.domain.payment.Payment;
 import com.example.Bookstore.domain.payment.PaymentMethod;
 import com.example.Bookstore.domain.payment.PaymentStatus;
+import com.example.Bookstore.domain.payment.PaymentStatusChangedEvent;
 import com.example.Bookstore.repository.payment.PaymentRepository;
+import com.example.Bookstore.service.payment.gateway.PaymentGatewayCallback;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
+/**
+ * 결제 상태 기계입니다. PENDING → AUTHORIZED → CAPTURED 로 가고, PG 가 거절하면 FAILED 가 됩니다.
+ * 이쪽에서 취소하면 REFUND_PENDING 으로 두고 PG 가 환불(REFUNDED) 또는 미승인(FAILED)을 확인해야 끝납니다.
+ * <p>
+ * 상태는 짧은 트랜잭션에서만 바꾸고, PG 호출은 {@link PaymentRequestDispatcher} 가 커밋 후 별도 스레드에서 보냅니다.
+ * PG 결과는 {@link PaymentGatewayCallback} 으로 들어오며, 콜백이 오지 않은 결제는 주기적으로 PG 에 조회합니다.
+ * 같은 결과가 여러 번 와도 허용된 전이만 반영하므로 중복 콜백과 조회 결과가 섞여도 안전합니다.
+ * 환불 요청이 버려지거나 실패해도 결제는 REFUND_PENDING 으로 남아 조회 주기에서 PG 상태를 다시 확인하고 환불을 다시 보냅니다.
+ * 이미 실패한 결제를 PG 가 승인했다고 알려오면 REFUND_PENDING 으로 되돌려 같은 경로로 환불합니다.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentService {
 
+    private static final Set<PaymentStatus> IN_FLIGHT = EnumSet.of(PaymentStatus.PENDING, PaymentStatus.AUTHORIZED);
+    //PG 확인을 기다리는 상태 : 상태 조회 주기의 대상
+    private static final Set<PaymentStatus> UNSETTLED =
+            EnumSet.of(PaymentStatus.PENDING, PaymentStatus.AUTHORIZED, PaymentStatus.REFUND_PENDING);
+
     private final PaymentRepository paymentRepository;
+    private final PaymentRequestDispatcher dispatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+    private final PaymentProperties properties;
+
+    public PaymentService(PaymentRepository paymentRepository,
+                          PaymentRequestDispatcher dispatcher,
+                          ApplicationEventPublisher eventPublisher,
+                          TransactionOperations transactionOperations,
+                          PaymentProperties properties) {
+        this.paymentRepository = paymentRepository;
+        this.dispatcher = dispatcher;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties;
+    }
 
+    //주문당 결제는 하나 (order_id 유니크) : 이미 있으면 조회 한 번으로 그 결제를 돌려줌
     @Transactional
     public Payment createPayment(Order order, PaymentMethod method, BigDecimal amount) {
-        if (paymentRepository.existsByOrderId(order.getId())) {
-            return paymentRepository.findByOrderId(order.getId()).orElseThrow();
-        }
-        Payment payment = Payment.builder()
-                .order(order)
-                .method(method)
-                .status(PaymentStatus.PENDING)
-                .amount(amount)
-                .build();
-        return paymentRepository.save(payment);
+        return paymentRepository.findByOrderId(order.getId())
+                .orElseGet(() -> paymentRepository.save(Payment.builder()
+                        .order(order)
+                        .method(method)
+                        .status(PaymentStatus.PENDING)
+                        .amount(amount)
+                        .build()));
     }
 
+    //승인 요청은 주문 트랜잭션이 커밋된 뒤에 나감 (결과는 콜백/조회로 받음)
     @Transactional
-    public Payment authorizeAndCapture(Payment payment) {
+    public void requestAuthorization(Payment payment) {
+        if (payment.getStatus() != PaymentStatus.PENDING) return;
         if (payment.getAmount() == null || payment.getAmount().signum() <= 0) {
-            payment.setStatus(PaymentStatus.FAILED);
-            return payment;
+            transition(payment, PaymentStatus.FAILED, "Invalid amount");
+            return;
         }
-        payment.setStatus(PaymentStatus.AUTHORIZED);
-        payment.setProviderTransactionId(UUID.randomUUID().toString());
-        payment.setStatus(PaymentStatus.CAPTURED);
-        return payment;
+        dispatcher.authorize(payment.getId(), payment.getAmount());
     }
 
+    //주문 취소 : 승인/매입된 결제는 환불, 결과 대기 중인 결제는 승인 취소 (둘 다 PG 확인 전까지 REFUND_PENDING)
     @Transactional
     public Payment refund(Payment payment) {
-        if (payment.getStatus() == PaymentStatus.CAPTURED || payment.getStatus() == PaymentStatus.AUTHORIZED) {
-            payment.setStatus(PaymentStatus.REFUNDED);
+        switch (payment.getStatus()) {
+            case AUTHORIZED, CAPTURED -> requestReversal(payment, null);
+            case PENDING -> requestReversal(payment, "Cancelled before approval");
+            default -> {}
         }
         return payment;
     }
@@ -58,4 +102,124 @@ public class PaymentService {
         return paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Payment not found for order: " + orderId));
     }
+
+    //PG 콜백/조회 결과 반영 (동시에 바뀐 결제는 건너뛰고 다음 조회 주기에 다시 맞춤)
+    @EventListener
+    public void onGatewayCallback(PaymentGatewayCallback callback) {
+        try {
+            transactionOperations.executeWithoutResult(status -> handleCallback(callback));
+        } catch (OptimisticLockingFailureException e) {
+            log.info("[PaymentService] payment {} changed concurrently, leaving it to polling", callback.paymentId());
+        }
+    }
+
+    //콜백을 놓친 결제를 PG 에 조회하고, 승인 요청조차 접수되지 않은 결제는 다시 요청
+    //확인되지 않은 환불은 PG 상태를 조회해 그 결과로 다시 보내고, 거래 id 가 없으면 거래부터 찾음
+    @Scheduled(fixedDelayString = "${app.payment.poll-interval:10s}")
+    public void pollStalePayments() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Payment> stale = paymentRepository.findByStatusInAndUpdatedAtBefore(UNSETTLED,
+                now.minus(properties.getPollAfter()),
+                PageRequest.of(0, properties.getPollBatchSize(), Sort.by("updatedAt")));
+        LocalDateTime expiredBefore = now.minus(properties.getAuthorizationTimeout());
+        for (Payment payment : stale) {
+            try {
+                if (payment.getStatus() == PaymentStatus.PENDING && payment.getCreatedAt().isBefore(expiredBefore)) {
+                    transactionOperations.executeWithoutResult(status -> expire(payment.getId()));
+                } else if (payment.getProviderTransactionId() == null) {
+                    if (payment.getStatus() == PaymentStatus.REFUND_PENDING) dispatcher.lookup(payment.getId());
+                    else dispatcher.authorize(payment.getId(), payment.getAmount());
+                } else {
+                    dispatcher.inquire(payment.getId(), payment.getProviderTransactionId());
+                }
+            } catch (RuntimeException e) {
+                log.warn("[PaymentService] polling payment {} failed: {}", payment.getId(), e.getMessage());
+            }
+        }
+    }
+
+    //트랜잭션 안에서 호출
+    void handleCallback(PaymentGatewayCallback callback) {
+        Payment payment = paymentRepository.findById(callback.paymentId()).orElse(null);
+        if (payment == null) {
+            log.warn("[PaymentService] callback for unknown payment {}", callback.paymentId());
+            return;
+        }
+        if (payment.getProviderTransactionId() == null && callback.transactionId() != null) {
+            payment.setProviderTransactionId(callback.transactionId());
+        }
+        PaymentStatus current = payment.getStatus();
+        switch (callback.status()) {
+            case AUTHORIZED -> {
+                if (current == PaymentStatus.PENDING) transition(payment, PaymentStatus.AUTHORIZED, null);
+                if (payment.getStatus() == PaymentStatus.AUTHORIZED) {
+                    //처음 승인됐거나, 매입 요청/결과를 놓쳐 조회로 다시 확인한 경우
+                    payment.setUpdatedAt(LocalDateTime.now());
+                    dispatcher.capture(payment.getId(), payment.getProviderTransactionId(), payment.getAmount());
+                } else {
+                    reverseIfCancelled(payment);
+                }
+            }
+            case CAPTURED -> {
+                if (IN_FLIGHT.contains(current)) transition(payment, PaymentStatus.CAPTURED, null);
+                else reverseIfCancelled(payment);
+            }
+            case FAILED -> {
+                if (IN_FLIGHT.contains(current)) {
+                    transition(payment, PaymentStatus.FAILED, callback.reason() == null ? "Declined" : callback.reason());
+                } else if (current == PaymentStatus.REFUND_PENDING) {
+                    //승인 전에 취소됨 : 취소 사유를 남김
+                    transition(payment, PaymentStatus.FAILED, payment.getFailureReason());
+                }
+            }
+            case REFUNDED -> {
+                if (current == PaymentStatus.REFUND_PENDING) transition(payment, PaymentStatus.REFUNDED, payment.getFailureReason());
+            }
+            //PENDING : 요청 접수(거래 id 기록) 또는 아직 결과 없음 (취소 중이면 이제 알게 된 거래로 환불)
+            default -> {
+                if (current == PaymentStatus.REFUND_PENDING) resendReversal(payment);
+            }
+        }
+    }
+
+    //승인 기한이 지난 결제를 취소 (PG 가 취소/미승인을 확인하면 끝남)
+    void expire(Long paymentId) {
+        Payment payment = paymentRepository.findById(paymentId).orElse(null);
+        if (payment == null || payment.getStatus() != PaymentStatus.PENDING) return;
+        requestReversal(payment, "Authorization timed out");
+    }
+
+    //취소/환불 결정을 먼저 기록하고 PG 에 요청 (거래 id 가 없으면 접수 콜백이나 조회 주기에서 보냄)
+    private void requestReversal(Payment payment, String reason) {
+        transition(payment, PaymentStatus.REFUND_PENDING, reason);
+        resendReversal(payment);
+    }
+
+    private void resendReversal(Payment payment) {
+        if (payment.getProviderTransactionId() == null) return;
+        payment.setUpdatedAt(LocalDateTime.now());
+        dispatcher.refund(payment.getId(), payment.getProviderTransactionId(), payment.getAmount());
+    }
+
+    //취소 중이거나 이미 실패한 결제를 PG 가 승인/매입했다고 알려온 경우 환불로 되돌림
+    private void reverseIfCancelled(Payment payment) {
+        switch (payment.getStatus()) {
+            case REFUND_PENDING -> resendReversal(payment);
+            case FAILED -> {
+                if (payment.getProviderTransactionId() == null) return;
+                log.warn("[PaymentService] payment {} was approved after it failed locally, requesting refund", payment.getId());
+                requestReversal(payment, "Approved after failure");
+            }
+            default -> {}
+        }
+    }
+
+    //같은 트랜잭션에서 outbox 와 주문에 반영되도록 상태가 바뀐 경우에만 발행
+    private void transition(Payment payment, PaymentStatus to, String reason) {
+        PaymentStatus previous = payment.getStatus();
+        if (previous == to) return;
+        payment.setStatus(to);
+        payment.setFailureReason(reason);
+        eventPublisher.publishEvent(PaymentStatusChangedEvent.of(payment, previous));
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.Bookstore.service.payment.gateway;
+
+import com.example.Bookstore.domain.payment.PaymentStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * 외부 결제 대행사(PG) 연동 지점입니다.
+ * 요청 메서드는 PG 가 요청을 받았는지까지만 확인하고 돌아오며, 결과는 {@link PaymentGatewayCallback} 이벤트로 나중에 전달됩니다.
+ * 콜백을 놓친 경우에는 {@link #inquire(String)} 로 상태를 조회하고, 거래 id 를 받지 못한 결제는 {@link #findTransactionId(Long)} 로 찾습니다.
+ * 모든 요청은 같은 결제/거래에 대해 여러 번 보내도 한 번만 처리되어야 합니다. (재시도와 중복 콜백 처리의 전제)
+ */
+public interface PaymentGateway {
+
+    //승인 요청 접수 후 PG 거래 id 반환 (같은 paymentId 로 다시 요청하면 같은 거래)
+    String requestAuthorization(Long paymentId, BigDecimal amount);
+
+    //승인된 거래의 매입 요청
+    void requestCapture(String transactionId, BigDecimal amount);
+
+    //승인 취소 또는 매입 환불 요청
+    void requestRefund(String transactionId, BigDecimal amount);
+
+    //거래의 현재 상태 (아직 결과가 없으면 PENDING)
+    PaymentStatus inquire(String transactionId);
+
+    //가맹점 결제 번호로 거래 id 조회 (승인 요청이 PG 에 닿지 않았으면 null)
+    String findTransactionId(Long paymentId);
+}
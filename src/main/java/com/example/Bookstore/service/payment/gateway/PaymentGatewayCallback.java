@@ -0,0 +1,10 @@
+package com.example.Bookstore.service.payment.gateway;
+
+import com.example.Bookstore.domain.payment.PaymentStatus;
+
+//PG 가 알려온 거래 상태 (콜백, 상태 조회 결과, 요청 접수 응답을 모두 이 형태로 전달)
+public record PaymentGatewayCallback(Long paymentId,
+                                     String transactionId,
+                                     PaymentStatus status,
+                                     String reason) {
+}
@@ -0,0 +1,13 @@
+package com.example.Bookstore.service.payment.gateway;
+
+//PG 호출 자체가 실패한 경우 (네트워크 오류, 알 수 없는 거래 등). 결제 결과가 아니므로 재시도/조회 대상
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.Bookstore.service.payment.gateway;
+
+import com.example.Bookstore.config.PaymentSimulatorProperties;
+import com.example.Bookstore.domain.payment.PaymentStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로세스 안에서 동작하는 PG 시뮬레이터입니다. (app.payment.simulator.enabled, 기본 사용)
+ * <p>
+ * 요청 메서드는 설정한 지연만큼 호출 스레드를 붙잡은 뒤 접수만 하고, 결과는 callbackDelay 후 별도 스레드에서
+ * {@link PaymentGatewayCallback} 이벤트로 보냅니다. 승인 거절 확률과 콜백 유실 확률을 조절해 결제 실패와 상태 조회 경로를
+ * 로컬 부하 테스트에서 재현할 수 있습니다. 기본값은 지연/거절 없이 모두 승인하며, 조정값은 loadtest 프로필에 있습니다.
+ * 거래 상태는 메모리에만 있으므로 재시작하면 사라집니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.payment.simulator", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private static final class SimulatedTransaction {
+        private final Long paymentId;
+        private volatile PaymentStatus status = PaymentStatus.PENDING;
+
+        private SimulatedTransaction(Long paymentId) {
+            this.paymentId = paymentId;
+        }
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final PaymentSimulatorProperties properties;
+
+    private final ConcurrentHashMap<String, SimulatedTransaction> transactions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String> transactionIdByPayment = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService callbacks = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "payment-simulator-callback");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimulatedPaymentGateway(ApplicationEventPublisher eventPublisher, PaymentSimulatorProperties properties) {
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    @Override
+    public String requestAuthorization(Long paymentId, BigDecimal amount) {
+        simulateLatency();
+        String transactionId = transactionIdByPayment.computeIfAbsent(paymentId, id -> "SIM-" + UUID.randomUUID());
+        SimulatedTransaction tx = transactions.computeIfAbsent(transactionId, id -> new SimulatedTransaction(paymentId));
+        //이미 결과가 난 거래에 다시 요청하면 같은 결과를 다시 보냄
+        scheduleResult(transactionId, tx, () -> {
+            if (tx.status == PaymentStatus.PENDING) {
+                tx.status = ThreadLocalRandom.current().nextDouble() < properties.getFailureRate()
+                        ? PaymentStatus.FAILED
+                        : PaymentStatus.AUTHORIZED;
+            }
+        });
+        return transactionId;
+    }
+
+    @Override
+    public void requestCapture(String transactionId, BigDecimal amount) {
+        simulateLatency();
+        SimulatedTransaction tx = find(transactionId);
+        scheduleResult(transactionId, tx, () -> {
+            if (tx.status == PaymentStatus.AUTHORIZED) tx.status = PaymentStatus.CAPTURED;
+        });
+    }
+
+    @Override
+    public void requestRefund(String transactionId, BigDecimal amount) {
+        simulateLatency();
+        SimulatedTransaction tx = find(transactionId);
+        scheduleResult(transactionId, tx, () -> {
+            switch (tx.status) {
+                case AUTHORIZED, CAPTURED -> tx.status = PaymentStatus.REFUNDED;
+                //결과가 나기 전에 취소하면 승인하지 않음
+                case PENDING -> tx.status = PaymentStatus.FAILED;
+                default -> {}
+            }
+        });
+    }
+
+    @Override
+    public PaymentStatus inquire(String transactionId) {
+        simulateLatency();
+        return find(transactionId).status;
+    }
+
+    @Override
+    public String findTransactionId(Long paymentId) {
+        simulateLatency();
+        return transactionIdByPayment.get(paymentId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callbacks.shutdownNow();
+    }
+
+    private SimulatedTransaction find(String transactionId) {
+        SimulatedTransaction tx = transactionId == null ? null : transactions.get(transactionId);
+        if (tx == null) throw new PaymentGatewayException("Unknown transaction: " + transactionId);
+        return tx;
+    }
+
+    //callbackDelay 후 상태를 바꾸고 (유실 확률에 걸리지 않으면) 콜백 발행
+    private void scheduleResult(String transactionId, SimulatedTransaction tx, Runnable transition) {
+        callbacks.schedule(() -> {
+            try {
+                synchronized (tx) {
+                    transition.run();
+                }
+                if (ThreadLocalRandom.current().nextDouble() < properties.getCallbackLossRate()) return;
+                String reason = tx.status == PaymentStatus.FAILED ? "Declined by simulator" : null;
+                eventPublisher.publishEvent(new PaymentGatewayCallback(tx.paymentId, transactionId, tx.status, reason));
+            } catch (RuntimeException e) {
+                log.warn("[SimulatedPaymentGateway] callback for {} failed: {}", transactionId, e.getMessage());
+            }
+        }, properties.getCallbackDelay().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void simulateLatency() {
+        long latency = properties.getRequestLatency().toMillis();
+        long jitter = properties.getLatencyJitter().toMillis();
+        if (jitter > 0) latency += ThreadLocalRandom.current().nextLong(jitter + 1);
+        if (latency <= 0) return;
+        try {
+            Thread.sleep(Duration.ofMillis(latency));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while calling payment gateway", e);
+        }
+    }
+}
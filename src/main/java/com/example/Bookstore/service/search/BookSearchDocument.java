@@ -0,0 +1,42 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.domain.book.Author;
+import com.example.Bookstore.domain.book.Book;
+import com.example.Bookstore.domain.book.BookAuthor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 검색 인덱스에 올라가는 도서 한 건의 요약 정보입니다.
+ * 엔티티 대신 이 레코드를 들고 있어 인덱스가 영속성 컨텍스트와 분리됩니다.
+ */
+public record BookSearchDocument(
+        Long id,
+        Long categoryId,
+        String title,
+        String publisher,
+        List<String> authorNames,
+        LocalDateTime createdAt,
+        BigDecimal price) {
+
+    public BookSearchDocument {
+        Objects.requireNonNull(id, "id 는 null 일 수 없습니다");
+        authorNames = authorNames == null ? List.of() : List.copyOf(authorNames);
+    }
+
+    //bookAuthors, author 가 미리 로딩된 Book 에서 생성
+    public static BookSearchDocument from(Book book) {
+        List<String> authors = book.getBookAuthors().stream()
+                .map(BookAuthor::getAuthor)
+                .filter(Objects::nonNull)
+                .map(Author::getName)
+                .filter(Objects::nonNull)
+                .toList();
+        Long categoryId = book.getCategory() != null ? book.getCategory().getId() : null;
+        return new BookSearchDocument(book.getId(), categoryId, book.getTitle(), book.getPublisher(), authors,
+                book.getCreatedAt(), book.getPrice());
+    }
+}
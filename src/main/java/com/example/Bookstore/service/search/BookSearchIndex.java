@@ -0,0 +1,304 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.dto.book.BookCursor;
+import com.example.Bookstore.dto.book.BookSort;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * 도서 제목 · 출판사 · 저자명에 대한 메모리 역색인입니다.
+ * <p>
+ * 필드별로 색인어 → 도서 id 목록(posting)을 유지하고, 검색 시에는 필수 색인어의 posting 을 교집합해
+ * 후보를 좁힌 뒤 정규화된 원문에 대해 부분 문자열 검사를 한 번 더 수행합니다.
+ * 따라서 결과는 {@code ContainingIgnoreCase} 쿼리와 같고, 정렬은 id 오름차순입니다.
+ */
+@Component
+public class BookSearchIndex {
+
+    //커서 검색 정렬 순서 (BookRepository 의 findSliceOrderBy* 와 동일)
+    private static final Map<BookSort, Comparator<BookSearchDocument>> ORDERS = Map.of(
+            BookSort.ID, Comparator.comparing(BookSearchDocument::id),
+            BookSort.LATEST, Comparator.comparing(BookSearchDocument::createdAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                    .thenComparing(BookSearchDocument::id)
+                    .reversed(),
+            BookSort.PRICE, Comparator.comparing(BookSearchDocument::price, Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder()))
+                    .thenComparing(BookSearchDocument::id)
+    );
+
+    private final SearchTokenizer tokenizer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //도서 id → 정규화된 필드 값
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    //필드 → 색인어 → 도서 id
+    private final Map<SearchField, Map<String, NavigableSet<Long>>> postings = new EnumMap<>(SearchField.class);
+    //카테고리 id → 도서 id
+    private final Map<Long, NavigableSet<Long>> categories = new HashMap<>();
+    private final NavigableSet<Long> allIds = new TreeSet<>();
+
+    private volatile boolean ready;
+
+    public BookSearchIndex(SearchTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+        for (SearchField field : SearchField.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    //정규화 후 토크나이저 변환까지 적용한 값
+    private String prepare(String value) {
+        return tokenizer.prepare(normalize(value));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<BookSearchDocument> find(Long bookId) {
+        lock.readLock().lock();
+        try {
+            IndexedBook indexed = books.get(bookId);
+            return indexed == null ? Optional.empty() : Optional.of(indexed.document);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //전체 재색인
+    public void rebuild(Collection<BookSearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            postings.values().forEach(Map::clear);
+            categories.clear();
+            allIds.clear();
+            documents.forEach(this::add);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //한 건 추가 또는 교체
+    public void upsert(BookSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            delete(document.id());
+            add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            delete(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 주어진 필드 중 하나라도 검색어를 포함하는 도서 id 를 페이지 단위로 돌려줍니다.
+     *
+     * @param categoryId null 이면 전체 카테고리
+     */
+    public Page<Long> search(Collection<SearchField> fields, Long categoryId, String keyword, Pageable pageable) {
+        String query = prepare(keyword);
+        if (query.isEmpty() || fields.isEmpty()) return Page.empty(pageable);
+
+        lock.readLock().lock();
+        try {
+            return toPage(match(fields, categoryId, query), pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 커서(keyset) 방식 검색입니다. 정렬 기준으로 after 다음에 오는 문서를 최대 size 건 돌려주며,
+     * 전체 건수는 세지 않고 다음 조각 존재 여부만 알려 줍니다.
+     *
+     * @param after null 이면 처음부터
+     */
+    public Slice<BookSearchDocument> searchAfter(Collection<SearchField> fields, Long categoryId, String keyword,
+                                                 BookSort sort, BookCursor after, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        String query = prepare(keyword);
+        if (query.isEmpty() || fields.isEmpty()) return new SliceImpl<>(List.of(), pageable, false);
+
+        Comparator<BookSearchDocument> order = ORDERS.get(sort);
+        BookSearchDocument position = after == null ? null
+                : new BookSearchDocument(after.id(), null, null, null, List.of(), after.lastCreatedAt(), after.lastPrice());
+
+        lock.readLock().lock();
+        try {
+            List<BookSearchDocument> content = match(fields, categoryId, query).stream()
+                    .map(id -> books.get(id).document)
+                    .filter(document -> position == null || order.compare(document, position) > 0)
+                    .sorted(order)
+                    .limit(size + 1L)
+                    .toList();
+            boolean hasNext = content.size() > size;
+            return new SliceImpl<>(hasNext ? content.subList(0, size) : content, pageable, hasNext);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //검색어를 포함하는 도서 id (read lock 안에서 호출)
+    private NavigableSet<Long> match(Collection<SearchField> fields, Long categoryId, String query) {
+        NavigableSet<Long> scope = categoryId == null
+                ? allIds
+                : categories.getOrDefault(categoryId, new TreeSet<>());
+
+        NavigableSet<Long> matched = new TreeSet<>();
+        Set<String> terms = tokenizer.requiredTerms(query);
+        for (SearchField field : fields) {
+            for (Long id : candidates(field, terms, scope)) {
+                if (!matched.contains(id) && books.get(id).contains(field, query)) {
+                    matched.add(id);
+                }
+            }
+        }
+        return matched;
+    }
+
+    //필수 색인어 posting 교집합, 색인어가 없으면 범위 전체
+    private Collection<Long> candidates(SearchField field, Set<String> terms, NavigableSet<Long> scope) {
+        if (terms.isEmpty()) return scope;
+
+        Map<String, NavigableSet<Long>> fieldPostings = postings.get(field);
+        List<NavigableSet<Long>> lists = new ArrayList<>(terms.size() + 1);
+        for (String term : terms) {
+            NavigableSet<Long> posting = fieldPostings.get(term);
+            if (posting == null) return List.of();
+            lists.add(posting);
+        }
+        lists.add(scope);
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> result = new ArrayList<>();
+        NavigableSet<Long> smallest = lists.get(0);
+        for (Long id : smallest) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll) result.add(id);
+        }
+        return result;
+    }
+
+    private Page<Long> toPage(NavigableSet<Long> matched, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(new ArrayList<>(matched));
+        }
+        List<Long> content = matched.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, matched.size());
+    }
+
+    private void add(BookSearchDocument document) {
+        IndexedBook indexed = new IndexedBook(document, this::prepare);
+        books.put(document.id(), indexed);
+        allIds.add(document.id());
+        if (document.categoryId() != null) {
+            categories.computeIfAbsent(document.categoryId(), key -> new TreeSet<>()).add(document.id());
+        }
+        indexed.values.forEach((field, values) -> {
+            Map<String, NavigableSet<Long>> fieldPostings = postings.get(field);
+            for (String value : values) {
+                for (String token : tokenizer.tokenize(value)) {
+                    fieldPostings.computeIfAbsent(token, key -> new TreeSet<>()).add(document.id());
+                }
+            }
+        });
+    }
+
+    private void delete(Long bookId) {
+        IndexedBook indexed = books.remove(bookId);
+        if (indexed == null) return;
+        allIds.remove(bookId);
+        Long categoryId = indexed.document.categoryId();
+        if (categoryId != null) {
+            NavigableSet<Long> ids = categories.get(categoryId);
+            if (ids != null) {
+                ids.remove(bookId);
+                if (ids.isEmpty()) categories.remove(categoryId);
+            }
+        }
+        indexed.values.forEach((field, values) -> {
+            Map<String, NavigableSet<Long>> fieldPostings = postings.get(field);
+            for (String value : values) {
+                for (String token : tokenizer.tokenize(value)) {
+                    NavigableSet<Long> ids = fieldPostings.get(token);
+                    if (ids == null) continue;
+                    ids.remove(bookId);
+                    if (ids.isEmpty()) fieldPostings.remove(token);
+                }
+            }
+        });
+    }
+
+    //정규화된 필드 값을 함께 보관
+    private static final class IndexedBook {
+        private final BookSearchDocument document;
+        private final Map<SearchField, List<String>> values = new EnumMap<>(SearchField.class);
+
+        private IndexedBook(BookSearchDocument document, UnaryOperator<String> prepare) {
+            this.document = document;
+            values.put(SearchField.TITLE, List.of(prepare.apply(document.title())));
+            values.put(SearchField.PUBLISHER, List.of(prepare.apply(document.publisher())));
+            values.put(SearchField.AUTHOR, document.authorNames().stream()
+                    .map(prepare)
+                    .toList());
+        }
+
+        private boolean contains(SearchField field, String query) {
+            for (String value : values.get(field)) {
+                if (value.contains(query)) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.domain.book.BookChangedEvent;
+import com.example.Bookstore.repository.book.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link BookSearchIndex} 를 DB 와 맞춰 주는 컴포넌트입니다.
+ * 기동 시(시드 데이터 적재 이후) 전체 색인을 만들고, 이후에는 도서 변경 이벤트가 커밋될 때마다 한 건씩 갱신합니다.
+ * 자동완성 트라이({@link SearchSuggestionService})도 같은 시점에 함께 갱신합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndexer {
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final SearchSuggestionService searchSuggestionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildOnStartup() {
+        List<BookSearchDocument> documents = bookRepository.findAllWithAuthors().stream()
+                .map(BookSearchDocument::from)
+                .toList();
+        bookSearchIndex.rebuild(documents);
+        searchSuggestionService.rebuild(documents);
+        log.info("[BookSearchIndexer] indexed {} books", documents.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBookChanged(BookChangedEvent event) {
+        BookSearchDocument previous = bookSearchIndex.find(event.bookId()).orElse(null);
+        BookSearchDocument current = bookRepository.findAllWithAuthorsByIdIn(List.of(event.bookId())).stream()
+                .findFirst()
+                .map(BookSearchDocument::from)
+                .orElse(null);
+        if (current != null) {
+            bookSearchIndex.upsert(current);
+        } else {
+            bookSearchIndex.remove(event.bookId());
+        }
+        if (!Objects.equals(previous, current)) {
+            searchSuggestionService.replaceBook(previous, current);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.domain.search.BucketGranularity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색어 집계 버킷에서 읽을 한 구간 [from, to) 입니다.
+ * {@link #split} 은 임의의 최근 구간을 가능한 한 큰 단위(일 > 시 > 분) 버킷으로 나눠,
+ * "최근 24시간" 같은 조회가 분 단위 버킷을 구간 양끝에서만 읽도록 합니다.
+ */
+public record BucketRange(BucketGranularity granularity, LocalDateTime from, LocalDateTime to) {
+
+    /**
+     * [from, to] 구간을 버킷 구간들로 나눕니다. to 가 속한 분 버킷까지 포함합니다.
+     * 시작 쪽 가장자리가 분/시 버킷 보관 기간(minutesFrom, hoursFrom)보다 오래되면 시작 시각을 시/일 경계로 내려 맞춥니다.
+     */
+    public static List<BucketRange> split(LocalDateTime from, LocalDateTime to,
+                                          LocalDateTime minutesFrom, LocalDateTime hoursFrom) {
+        LocalDateTime start = BucketGranularity.MINUTE.truncate(from);
+        LocalDateTime end = BucketGranularity.MINUTE.next(BucketGranularity.MINUTE.truncate(to));
+        if (start.isBefore(minutesFrom)) start = BucketGranularity.HOUR.truncate(start);
+        if (start.isBefore(hoursFrom)) start = BucketGranularity.DAY.truncate(start);
+
+        List<BucketRange> ranges = new ArrayList<>();
+        LocalDateTime h0 = BucketGranularity.HOUR.ceil(start);
+        LocalDateTime h1 = BucketGranularity.HOUR.truncate(end);
+        if (!h0.isBefore(h1)) {
+            add(ranges, BucketGranularity.MINUTE, start, end);
+            return ranges;
+        }
+        add(ranges, BucketGranularity.MINUTE, start, h0);
+
+        LocalDateTime d0 = BucketGranularity.DAY.ceil(h0);
+        LocalDateTime d1 = BucketGranularity.DAY.truncate(h1);
+        if (d0.isBefore(d1)) {
+            add(ranges, BucketGranularity.HOUR, h0, d0);
+            add(ranges, BucketGranularity.DAY, d0, d1);
+            add(ranges, BucketGranularity.HOUR, d1, h1);
+        } else {
+            add(ranges, BucketGranularity.HOUR, h0, h1);
+        }
+
+        add(ranges, BucketGranularity.MINUTE, h1, end);
+        return ranges;
+    }
+
+    private static void add(List<BucketRange> ranges, BucketGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) ranges.add(new BucketRange(granularity, from, to));
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.dto.search.KeywordCount;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 고정 메모리로 자주 검색되는 검색어(heavy hitter)만 골라내는 스케치입니다.
+ * <p>
+ * 모든 검색어는 Count-Min 스케치(폭 x 깊이 개의 카운터)에만 누적하고, 추정 횟수가 상위 capacity 개에 드는 검색어만
+ * Space-Saving 방식으로 정확히 따로 셉니다. 자리가 차 있으면 새 검색어의 추정치가 현재 최솟값보다 클 때만 최솟값을 밀어냅니다.
+ * 한두 번 입력된 오타는 스케치 카운터만 조금 올리고 끝나므로, DB 에는 추적 중인 검색어의 증가분만 내려보냅니다.
+ * <p>
+ * 밀려났던 검색어가 다시 들어올 때 이미 DB 에 반영한 몫을 또 더하지 않도록, 밀려날 때의 반영량을 별도 스케치에 남겨 둡니다.
+ */
+public class HeavyHitterSketch {
+
+    private static final class Tracked {
+        private final String keyword;
+        private long count;
+        //DB 에 반영한 누적 횟수
+        private long persisted;
+
+        private Tracked(String keyword, long count, long persisted) {
+            this.keyword = keyword;
+            this.count = count;
+            this.persisted = persisted;
+        }
+    }
+
+    private static final Comparator<Tracked> BY_COUNT =
+            Comparator.<Tracked>comparingLong(t -> t.count).thenComparing(t -> t.keyword);
+
+    private final int capacity;
+    private final CountMinSketch counts;
+    private final CountMinSketch evictedPersisted;
+    private final Map<String, Tracked> tracked = new HashMap<>();
+    private final TreeSet<Tracked> byCount = new TreeSet<>(BY_COUNT);
+
+    public HeavyHitterSketch(int capacity, int width, int depth) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity 는 0보다 커야 합니다. capacity = " + capacity);
+        this.capacity = capacity;
+        this.counts = new CountMinSketch(width, depth);
+        this.evictedPersisted = new CountMinSketch(width, depth);
+    }
+
+    //검색 n 회 반영
+    public synchronized void offer(String keyword, long n) {
+        if (keyword == null || keyword.isEmpty() || n <= 0) return;
+        long estimate = counts.add(keyword, n);
+
+        Tracked t = tracked.get(keyword);
+        if (t != null) {
+            byCount.remove(t);
+            t.count += n;
+            byCount.add(t);
+            return;
+        }
+        if (tracked.size() >= capacity) {
+            Tracked min = byCount.first();
+            if (estimate <= min.count) return;
+            byCount.pollFirst();
+            tracked.remove(min.keyword);
+            evictedPersisted.raise(min.keyword, min.persisted);
+        }
+        Tracked admitted = new Tracked(keyword, estimate, Math.min(estimate, evictedPersisted.estimate(keyword)));
+        tracked.put(keyword, admitted);
+        byCount.add(admitted);
+    }
+
+    //추적 중인 검색어의 아직 DB 에 반영하지 않은 증가분을 꺼내고 반영한 것으로 표시
+    public synchronized Map<String, Long> drainUnpersisted() {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Tracked t : tracked.values()) {
+            long delta = t.count - t.persisted;
+            if (delta > 0) {
+                deltas.put(t.keyword, delta);
+                t.persisted = t.count;
+            }
+        }
+        return deltas;
+    }
+
+    //반영 실패 시 표시를 되돌려 다음에 다시 꺼내게 함 (그 사이 밀려난 검색어는 버림)
+    public synchronized void restoreUnpersisted(Map<String, Long> deltas) {
+        deltas.forEach((keyword, delta) -> {
+            Tracked t = tracked.get(keyword);
+            if (t != null) t.persisted = Math.max(0, t.persisted - delta);
+        });
+    }
+
+    //추적 중인 상위 k 개 (횟수 내림차순)
+    public synchronized List<KeywordCount> top(int k) {
+        List<KeywordCount> result = new ArrayList<>(Math.min(k, tracked.size()));
+        Iterator<Tracked> it = byCount.descendingIterator();
+        while (it.hasNext() && result.size() < k) {
+            Tracked t = it.next();
+            result.add(new KeywordCount(t.keyword, t.count));
+        }
+        return result;
+    }
+
+    public synchronized boolean isTracked(String keyword) {
+        return tracked.containsKey(keyword);
+    }
+
+    public synchronized int size() {
+        return tracked.size();
+    }
+
+    /**
+     * Count-Min 스케치. conservative update 로 가장 작은 카운터들만 올려 과대 추정을 줄입니다.
+     */
+    static final class CountMinSketch {
+
+        private final int width;
+        private final long[][] table;
+
+        CountMinSketch(int width, int depth) {
+            if (width <= 0 || depth <= 0) {
+                throw new IllegalArgumentException("width, depth 는 0보다 커야 합니다. width = " + width + ", depth = " + depth);
+            }
+            this.width = width;
+            this.table = new long[depth][width];
+        }
+
+        //n 을 더하고 새 추정치를 반환
+        long add(String key, long n) {
+            int[] idx = indexes(key);
+            long updated = min(idx) + n;
+            for (int row = 0; row < table.length; row++) {
+                if (table[row][idx[row]] < updated) table[row][idx[row]] = updated;
+            }
+            return updated;
+        }
+
+        //추정치가 최소 value 가 되도록 올림
+        void raise(String key, long value) {
+            int[] idx = indexes(key);
+            for (int row = 0; row < table.length; row++) {
+                if (table[row][idx[row]] < value) table[row][idx[row]] = value;
+            }
+        }
+
+        long estimate(String key) {
+            return min(indexes(key));
+        }
+
+        private long min(int[] idx) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < table.length; row++) {
+                min = Math.min(min, table[row][idx[row]]);
+            }
+            return min;
+        }
+
+        //이중 해싱 : h_i = h1 + i * h2
+        private int[] indexes(String key) {
+            long h = mix(key.hashCode());
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32) | 1;
+            int[] idx = new int[table.length];
+            for (int row = 0; row < table.length; row++) {
+                idx[row] = Math.floorMod(h1 + row * h2, width);
+            }
+            return idx;
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+            z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return z ^ (z >>> 33);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.Bookstore.service.search;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 문자 n-gram 토크나이저입니다. 한글은 띄어쓰기 단위가 아니라 음절 단위로 부분 검색("박경리" 안의 "경리")이
+ * 필요하므로, 필드 값의 모든 minGram ~ maxGram 길이 조각을 색인어로 만듭니다.
+ * <p>
+ * 검색어 길이가 minGram 이상이면 검색어의 모든 min(maxGram, 길이) 조각이 필수 색인어가 되어
+ * posting 교집합만으로 후보가 정해집니다. jamo 분해를 켜면 음절을 초성/중성/종성으로 풀어서 색인하므로
+ * 입력 중인 글자("토ㅈ")도 "토지"에 매칭됩니다.
+ */
+public class NGramTokenizer implements SearchTokenizer {
+
+    private static final int HANGUL_BASE = 0xAC00;
+    private static final int HANGUL_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final char[] CHO = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final char[] JUNG = {
+            'ㅏ', 'ㅐ', 'ㅑ', 'ㅒ', 'ㅓ', 'ㅔ', 'ㅕ', 'ㅖ', 'ㅗ', 'ㅘ', 'ㅙ', 'ㅚ', 'ㅛ', 'ㅜ', 'ㅝ', 'ㅞ', 'ㅟ', 'ㅠ', 'ㅡ', 'ㅢ', 'ㅣ'
+    };
+    private static final char[] JONG = {
+            0, 'ㄱ', 'ㄲ', 'ㄳ', 'ㄴ', 'ㄵ', 'ㄶ', 'ㄷ', 'ㄹ', 'ㄺ', 'ㄻ', 'ㄼ', 'ㄽ', 'ㄾ', 'ㄿ', 'ㅀ',
+            'ㅁ', 'ㅂ', 'ㅄ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private final int minGram;
+    private final int maxGram;
+    private final boolean jamoDecomposition;
+
+    public NGramTokenizer(int minGram, int maxGram, boolean jamoDecomposition) {
+        if (minGram < 1 || maxGram < minGram) {
+            throw new IllegalArgumentException("n-gram 범위가 올바르지 않습니다. min = " + minGram + ", max = " + maxGram);
+        }
+        this.minGram = minGram;
+        this.maxGram = maxGram;
+        this.jamoDecomposition = jamoDecomposition;
+    }
+
+    @Override
+    public String prepare(String text) {
+        return jamoDecomposition ? decompose(text) : text;
+    }
+
+    @Override
+    public Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) return tokens;
+        //minGram 보다 짧은 값은 통째로 색인
+        if (text.length() < minGram) {
+            tokens.add(text);
+            return tokens;
+        }
+        for (int n = minGram; n <= maxGram && n <= text.length(); n++) {
+            addGrams(text, n, tokens);
+        }
+        return tokens;
+    }
+
+    @Override
+    public Set<String> requiredTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query == null || query.length() < minGram) return terms;
+        addGrams(query, Math.min(maxGram, query.length()), terms);
+        return terms;
+    }
+
+    private void addGrams(String text, int n, Set<String> out) {
+        for (int i = 0; i + n <= text.length(); i++) {
+            out.add(text.substring(i, i + n));
+        }
+    }
+
+    //완성형 한글 음절을 호환용 자모로 분해 (예: "박" → "ㅂㅏㄱ")
+    static String decompose(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < HANGUL_BASE || c > HANGUL_LAST) {
+                sb.append(c);
+                continue;
+            }
+            int index = c - HANGUL_BASE;
+            sb.append(CHO[index / (JUNG_COUNT * JONG_COUNT)]);
+            sb.append(JUNG[(index % (JUNG_COUNT * JONG_COUNT)) / JONG_COUNT]);
+            int jong = index % JONG_COUNT;
+            if (jong != 0) sb.append(JONG[jong]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Bookstore.service.search;
+
+//검색 인덱스가 관리하는 필드
+public enum SearchField {
+    TITLE,
+    PUBLISHER,
+    AUTHOR
+}
@@ -0,0 +1,167 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.config.SearchKeywordProperties;
+import com.example.Bookstore.domain.search.BucketGranularity;
+import com.example.Bookstore.repository.search.SearchKeywordBucketRepository;
+import com.example.Bookstore.repository.search.SearchKeywordStatRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검색 횟수를 메모리에 모았다가 주기적으로 한 번에 DB 에 반영하는 write-behind 버퍼입니다.
+ * 검색 요청은 검색어별 {@link LongAdder} 만 올리므로 DB 와 무관하게 끝나고, 인기 검색어 행 잠금 경합도 사라집니다.
+ * 반영 주기마다 모은 횟수를 {@link HeavyHitterSketch} 에 넣고, 상위(heavy hitter) 검색어의 증가분만 여러 행 upsert 한 문장으로 보냅니다.
+ * 같은 트랜잭션에서 현재 분 버킷(search_keyword_buckets)에는 이번 주기에 실제로 들어온 횟수만 더합니다 (추적 중인 검색어만).
+ * 새로 추적되기 시작한 검색어의 증가분에는 기동 이후 누적 추정치가 들어 있어, 버킷에 쓰면 최근 구간 순위가 부풀기 때문입니다.
+ * 실패하면 반영 표시를 되돌려 다음 주기에 다시 보내고, 버킷 횟수는 다음 주기의 분 버킷에 더합니다.
+ * 반영에 성공한 증가분은 자동완성 트라이에도 더하므로, 자동완성 후보에는 추적 중인 상위 검색어만 들어갑니다.
+ * 메모리는 서로 다른 검색어 수(maxPendingKeywords)와 스케치 크기로 제한하고, 넘치면 새 검색어는 세지 않고 버린 수만 기록합니다.
+ * 지표 : search.keywords.pending, search.keywords.tracked, search.keywords.flushed, search.keywords.dropped
+ */
+@Slf4j
+@Component
+public class SearchKeywordBuffer implements MeterBinder {
+
+    //꺼낸 카운터 : 꺼낸 직후에 늦게 도착한 증가분은 다음 반영 때 (sum - counted) 로 마저 셈
+    private record Drained(String keyword, LongAdder adder, long counted) {
+    }
+
+    private final SearchKeywordStatRepository searchKeywordStatRepository;
+    private final SearchKeywordBucketRepository searchKeywordBucketRepository;
+    private final TransactionOperations transactionOperations;
+    private final SearchSuggestionService searchSuggestionService;
+    private final SearchKeywordProperties properties;
+
+    private final HeavyHitterSketch sketch;
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private List<Drained> retired = List.of();
+    //반영에 실패한 분 버킷 횟수 (다음 주기에 더해 보냄, 추적 검색어 수로 제한됨)
+    private Map<String, Long> unflushedBucket = new HashMap<>();
+
+    public SearchKeywordBuffer(SearchKeywordStatRepository searchKeywordStatRepository,
+                               SearchKeywordBucketRepository searchKeywordBucketRepository,
+                               TransactionOperations transactionOperations,
+                               SearchSuggestionService searchSuggestionService,
+                               SearchKeywordProperties properties) {
+        this.searchKeywordStatRepository = searchKeywordStatRepository;
+        this.searchKeywordBucketRepository = searchKeywordBucketRepository;
+        this.transactionOperations = transactionOperations;
+        this.searchSuggestionService = searchSuggestionService;
+        this.properties = properties;
+        this.sketch = new HeavyHitterSketch(properties.getTrackedKeywords(), properties.getSketchWidth(), properties.getSketchDepth());
+    }
+
+    //검색 1회 기록 (DB 접근 없음)
+    public void record(String keyword) {
+        add(normalize(keyword), 1L);
+    }
+
+    public int pendingKeywords() {
+        return pending.size();
+    }
+
+    public boolean isTracked(String keyword) {
+        return sketch.isTracked(keyword);
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search-keywords.flush-interval:5s}")
+    public synchronized void flush() {
+        Map<String, Long> batch = new HashMap<>();
+        for (Drained d : retired) {
+            long late = d.adder().sum() - d.counted();
+            if (late > 0) batch.merge(d.keyword(), late, Long::sum);
+        }
+
+        List<Drained> drained = new ArrayList<>(pending.size());
+        for (String keyword : pending.keySet()) {
+            LongAdder adder = pending.remove(keyword);
+            if (adder == null) continue;
+            long count = adder.sum();
+            drained.add(new Drained(keyword, adder, count));
+            if (count > 0) batch.merge(keyword, count, Long::sum);
+        }
+        retired = drained;
+        batch.forEach(sketch::offer);
+
+        //상위 검색어의 미반영 증가분만 DB 로 (오타 등 드문 검색어는 스케치에만 남음)
+        Map<String, Long> deltas = sketch.drainUnpersisted();
+        //분 버킷에는 이번 주기에 들어온 횟수만 (누적 추정치인 deltas 를 쓰지 않음)
+        Map<String, Long> bucket = unflushedBucket;
+        unflushedBucket = new HashMap<>();
+        batch.forEach((keyword, count) -> {
+            if (sketch.isTracked(keyword)) bucket.merge(keyword, count, Long::sum);
+        });
+        if (deltas.isEmpty() && bucket.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionOperations.executeWithoutResult(status -> {
+                if (!deltas.isEmpty()) searchKeywordStatRepository.upsertCounts(deltas, now);
+                if (!bucket.isEmpty()) {
+                    searchKeywordBucketRepository.addCounts(BucketGranularity.MINUTE, BucketGranularity.MINUTE.truncate(now), bucket);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("[SearchKeywordBuffer] flush of {} keywords failed, will retry: {}", deltas.size(), e.getMessage());
+            sketch.restoreUnpersisted(deltas);
+            unflushedBucket = bucket;
+            return;
+        }
+        flushed.add(deltas.values().stream().mapToLong(Long::longValue).sum());
+        if (!deltas.isEmpty()) searchSuggestionService.addKeywordCounts(deltas);
+    }
+
+    //종료 시 남은 횟수 반영 (두 번째 호출은 직전 반영 중 늦게 들어온 증가분)
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flush();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("search.keywords.pending", pending, Map::size).register(registry);
+        Gauge.builder("search.keywords.tracked", sketch, HeavyHitterSketch::size).register(registry);
+        FunctionCounter.builder("search.keywords.flushed", flushed, LongAdder::sum).register(registry);
+        FunctionCounter.builder("search.keywords.dropped", dropped, LongAdder::sum).register(registry);
+    }
+
+    private void add(String keyword, long count) {
+        if (keyword.isEmpty()) return;
+        LongAdder adder = pending.get(keyword);
+        if (adder == null) {
+            if (pending.size() >= properties.getMaxPendingKeywords()) {
+                dropped.add(count);
+                return;
+            }
+            adder = pending.computeIfAbsent(keyword, k -> new LongAdder());
+        }
+        adder.add(count);
+    }
+
+    private String normalize(String keyword) {
+        String q = keyword == null ? "" : keyword.trim();
+        int max = properties.getMaxKeywordLength();
+        return q.length() > max ? q.substring(0, max) : q;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.config.SearchKeywordProperties;
+import com.example.Bookstore.domain.search.BucketGranularity;
+import com.example.Bookstore.repository.search.SearchKeywordBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색어 집계 버킷의 롤업과 보관 기간 정리를 맡습니다.
+ * 분 버킷은 {@link SearchKeywordBuffer} 가 반영 주기마다 더하고, 여기서는 현재 시/일 버킷을 하위 버킷 합으로 다시 계산합니다.
+ * 버킷 하나를 덮어쓰는 방식이라 여러 노드가 동시에 돌려도 결과가 같고, 닫힌 구간은 경계 직후 한 번 더 계산해 마지막 반영분을 포함합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchKeywordRollup {
+
+    private final SearchKeywordBucketRepository searchKeywordBucketRepository;
+    private final SearchKeywordProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.search-keywords.rollup-interval:1m}")
+    @Transactional
+    public void rollup() {
+        rollup(LocalDateTime.now());
+    }
+
+    void rollup(LocalDateTime now) {
+        LocalDateTime hour = BucketGranularity.HOUR.truncate(now);
+        //정시 후 5분 동안은 직전 시 버킷도 다시 계산 (늦게 반영된 분 버킷 포함)
+        if (now.isBefore(hour.plusMinutes(5))) rollupHour(hour.minusHours(1));
+        rollupHour(hour);
+
+        LocalDateTime day = BucketGranularity.DAY.truncate(now);
+        //자정 후 1시간 동안은 전날 일 버킷도 다시 계산
+        if (now.isBefore(day.plusHours(1))) rollupDay(day.minusDays(1));
+        rollupDay(day);
+    }
+
+    @Scheduled(cron = "${app.search-keywords.retention-cron:0 50 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int minutes = searchKeywordBucketRepository.deleteOlderThan(BucketGranularity.MINUTE, now.minus(properties.getMinuteRetention()));
+        int hours = searchKeywordBucketRepository.deleteOlderThan(BucketGranularity.HOUR, now.minus(properties.getHourRetention()));
+        int days = searchKeywordBucketRepository.deleteOlderThan(BucketGranularity.DAY, now.minus(properties.getDayRetention()));
+        log.info("[SearchKeywordRollup] purged buckets minute={}, hour={}, day={}", minutes, hours, days);
+    }
+
+    private void rollupHour(LocalDateTime hour) {
+        searchKeywordBucketRepository.rollup(BucketGranularity.MINUTE.name(), BucketGranularity.HOUR.name(),
+                hour, BucketGranularity.HOUR.next(hour));
+    }
+
+    private void rollupDay(LocalDateTime day) {
+        searchKeywordBucketRepository.rollup(BucketGranularity.HOUR.name(), BucketGranularity.DAY.name(),
+                day, BucketGranularity.DAY.next(day));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.domain.search.SearchKeywordStat;
+import com.example.Bookstore.repository.search.SearchKeywordStatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색창 자동완성(search-as-you-type) 후보를 메모리 트라이에서 찾아 주는 서비스입니다.
+ * <p>
+ * 도서 제목 · 저자명 · 출판사명과 인기 검색어를 하나의 {@link SuggestionTrie} 에 넣고,
+ * 검색어는 검색 횟수, 저자/출판사는 해당하는 도서 수, 제목은 1 을 가중치로 사용합니다.
+ * 검색어는 search_keyword_stats 에 남는 상위 검색어만 넣으므로(검색마다 넣지 않음) 오타나 드문 입력이 후보가 되지 않고,
+ * 통계 정리 때 함께 다시 맞춰 트라이 크기가 입력한 검색어 종류만큼 늘어나지 않습니다.
+ * 조회는 DB 를 전혀 거치지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchSuggestionService {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final long BOOK_WEIGHT = 1L;
+
+    private final SearchKeywordStatRepository searchKeywordStatRepository;
+    private final SearchTokenizer tokenizer;
+    private final SuggestionTrie trie = new SuggestionTrie(MAX_SUGGESTIONS);
+    //트라이에 넣은 검색어 가중치 (트라이 키 → 가중치), 정리 시 이만큼 빼고 다시 읽음
+    private final Map<String, Long> keywordWeights = new HashMap<>();
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = toKey(prefix);
+        if (key.isEmpty()) return List.of();
+        return trie.suggest(key, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    //전체 재구성 (기동 시 검색 인덱스 구축 직후 호출)
+    public synchronized void rebuild(Collection<BookSearchDocument> books) {
+        trie.clear();
+        keywordWeights.clear();
+        books.forEach(this::addBook);
+        int keywords = loadKeywords();
+        log.info("[SearchSuggestionService] loaded {} books, {} keywords", books.size(), keywords);
+    }
+
+    //DB 에 반영된 상위 검색어 증가분을 가중치에 더함 (SearchKeywordBuffer 가 반영 직후 호출)
+    public synchronized void addKeywordCounts(Map<String, Long> deltas) {
+        deltas.forEach(this::addKeyword);
+    }
+
+    //search_keyword_stats 정리 후 호출 : 트라이의 검색어를 모두 빼고 남은 행으로 다시 채움
+    public synchronized void reloadKeywords() {
+        keywordWeights.forEach(trie::subtract);
+        keywordWeights.clear();
+        loadKeywords();
+    }
+
+    //도서 추가 · 수정 · 삭제 반영 (previous, current 는 각각 null 가능)
+    public void replaceBook(BookSearchDocument previous, BookSearchDocument current) {
+        if (previous != null) removeBook(previous);
+        if (current != null) addBook(current);
+    }
+
+    private void addBook(BookSearchDocument book) {
+        add(book.title(), SuggestionType.TITLE, BOOK_WEIGHT);
+        add(book.publisher(), SuggestionType.PUBLISHER, BOOK_WEIGHT);
+        book.authorNames().forEach(name -> add(name, SuggestionType.AUTHOR, BOOK_WEIGHT));
+    }
+
+    private void removeBook(BookSearchDocument book) {
+        trie.subtract(toKey(book.title()), BOOK_WEIGHT);
+        trie.subtract(toKey(book.publisher()), BOOK_WEIGHT);
+        book.authorNames().forEach(name -> trie.subtract(toKey(name), BOOK_WEIGHT));
+    }
+
+    private int loadKeywords() {
+        List<SearchKeywordStat> keywords = searchKeywordStatRepository.findAll();
+        for (SearchKeywordStat stat : keywords) {
+            addKeyword(stat.getKeyword(), stat.getCount() == null ? 0L : stat.getCount());
+        }
+        return keywords.size();
+    }
+
+    private void addKeyword(String keyword, long weight) {
+        String key = toKey(keyword);
+        if (key.isEmpty() || weight <= 0) return;
+        trie.add(key, keyword.trim(), SuggestionType.KEYWORD, weight);
+        keywordWeights.merge(key, weight, Long::sum);
+    }
+
+    private void add(String text, SuggestionType type, long weight) {
+        String key = toKey(text);
+        if (key.isEmpty()) return;
+        trie.add(key, text.trim(), type, weight);
+    }
+
+    private String toKey(String text) {
+        return tokenizer.prepare(BookSearchIndex.normalize(text));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.Bookstore.service.search;
+
+import java.util.Set;
+
+/**
+ * 검색 인덱스에 넣을 색인어를 만드는 토크나이저입니다.
+ * 입력 문자열은 {@link BookSearchIndex#normalize(String)} 로 정규화된 상태로 전달됩니다.
+ */
+public interface SearchTokenizer {
+
+    //색인 · 검색 전에 정규화된 문자열을 한 번 더 변환 (예: 자모 분해)
+    //부분 문자열 검사도 변환된 값끼리 수행
+    default String prepare(String text) {
+        return text;
+    }
+
+    //문서 필드 값에서 색인어 추출
+    Set<String> tokenize(String text);
+
+    //검색어를 부분 문자열로 포함하는 문서라면 반드시 가지고 있는 색인어
+    //비어 있으면 색인어로 후보를 좁힐 수 없다는 뜻
+    Set<String> requiredTerms(String query);
+}
@@ -0,0 +1,5 @@
+package com.example.Bookstore.service.search;
+
+//자동완성 응답 한 건
+public record Suggestion(String text, SuggestionType type, long weight) {
+}
@@ -0,0 +1,204 @@
+package com.example.Bookstore.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 자동완성용 압축 트라이(radix trie)입니다.
+ * <p>
+ * 각 노드는 자기 하위 트리에서 가중치가 가장 큰 후보 topK 개를 미리 들고 있으므로,
+ * 조회는 접두어 길이만큼 내려간 뒤 그 노드의 목록을 복사하는 것으로 끝납니다.
+ * 가중치가 늘어나는 갱신은 해당 키의 경로만 손보고, 줄어드는 갱신(삭제)은 경로를 아래에서부터 다시 계산합니다.
+ */
+public class SuggestionTrie {
+
+    private static final Comparator<Entry> BY_WEIGHT_DESC =
+            Comparator.comparingLong((Entry e) -> e.weight).reversed().thenComparing(e -> e.key);
+
+    private final int topK;
+    private final Node root = new Node("");
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SuggestionTrie(int topK) {
+        if (topK < 1) throw new IllegalArgumentException("topK 는 1 이상이어야 합니다. topK = " + topK);
+        this.topK = topK;
+    }
+
+    //키 가중치 증가 (없으면 추가)
+    public void add(String key, String text, SuggestionType type, long delta) {
+        if (key == null || key.isEmpty() || delta <= 0) return;
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            Node node = insert(key, path);
+            if (node.entry == null) {
+                node.entry = new Entry(key, text, type);
+            }
+            node.entry.weight += delta;
+            for (Node n : path) {
+                promote(n, node.entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //키 가중치 감소, 0 이하가 되면 제거
+    public void subtract(String key, long delta) {
+        if (key == null || key.isEmpty() || delta <= 0) return;
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            Node node = find(key, path, true);
+            if (node == null || node.entry == null) return;
+            node.entry.weight -= delta;
+            if (node.entry.weight <= 0) {
+                node.entry = null;
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                recompute(path.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //접두어로 시작하는 후보를 가중치 순으로 최대 limit 개
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty() || limit <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            Node node = find(prefix, null, false);
+            if (node == null) return List.of();
+            List<Suggestion> result = new ArrayList<>(Math.min(limit, node.top.size()));
+            for (Entry entry : node.top) {
+                if (result.size() >= limit) break;
+                result.add(new Suggestion(entry.text, entry.type, entry.weight));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.top.clear();
+            root.entry = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //key 에 해당하는 노드를 만들거나 찾고, 루트부터 그 노드까지의 경로를 path 에 담음
+    private Node insert(String key, List<Node> path) {
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                path.add(child);
+                return child;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                //간선 분할 : child 앞부분을 새 중간 노드로 떼어냄
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top.addAll(child.top);
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        return node;
+    }
+
+    //정확히 key 인 노드(exact) 또는 key 를 접두어로 가지는 가장 가까운 노드
+    private Node find(String key, List<Node> path, boolean exact) {
+        Node node = root;
+        if (path != null) path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) return null;
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                //키가 간선 중간에서 끝나면 접두어 조회만 성공
+                if (exact || i + common < key.length()) return null;
+                return child;
+            }
+            node = child;
+            if (path != null) path.add(node);
+            i += common;
+        }
+        return node;
+    }
+
+    private int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == key.charAt(offset + n)) n++;
+        return n;
+    }
+
+    //가중치가 커진 entry 를 노드 top 목록에 반영
+    private void promote(Node node, Entry entry) {
+        List<Entry> top = node.top;
+        if (!top.contains(entry)) {
+            if (top.size() >= topK && BY_WEIGHT_DESC.compare(entry, top.get(top.size() - 1)) >= 0) return;
+            top.add(entry);
+        }
+        top.sort(BY_WEIGHT_DESC);
+        if (top.size() > topK) top.remove(top.size() - 1);
+    }
+
+    //자식들의 top 목록과 자기 entry 로 top 목록 재계산
+    private void recompute(Node node) {
+        List<Entry> candidates = new ArrayList<>();
+        if (node.entry != null) candidates.add(node.entry);
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(BY_WEIGHT_DESC);
+        node.top.clear();
+        node.top.addAll(candidates.subList(0, Math.min(topK, candidates.size())));
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Entry> top = new ArrayList<>();
+        private Entry entry;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final String text;
+        private final SuggestionType type;
+        private long weight;
+
+        private Entry(String key, String text, SuggestionType type) {
+            this.key = key;
+            this.text = text;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.Bookstore.service.search;
+
+//자동완성 후보의 출처
+public enum SuggestionType {
+    TITLE,
+    AUTHOR,
+    PUBLISHER,
+    KEYWORD
+}
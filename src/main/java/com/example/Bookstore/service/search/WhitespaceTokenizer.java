@@ -0,0 +1,39 @@
+package com.example.Bookstore.service.search;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 공백 단위로 단어를 자르는 기본 토크나이저입니다.
+ * 검색어의 첫/마지막 단어는 다른 단어의 일부일 수 있으므로 가운데 단어만 필수 색인어로 사용합니다.
+ * 띄어쓰기가 분명한 영문 위주 카탈로그라면 {@code app.search.tokenizer=whitespace} 로 선택할 수 있습니다.
+ */
+public class WhitespaceTokenizer implements SearchTokenizer {
+
+    @Override
+    public Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : split(text)) {
+            tokens.add(word);
+        }
+        return tokens;
+    }
+
+    @Override
+    public Set<String> requiredTerms(String query) {
+        String[] words = split(query);
+        Set<String> terms = new LinkedHashSet<>();
+        for (int i = 1; i < words.length - 1; i++) {
+            terms.add(words[i]);
+        }
+        return terms;
+    }
+
+    private String[] split(String text) {
+        if (text == null || text.isBlank()) return new String[0];
+        return Arrays.stream(text.trim().split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.Bookstore.service.trending;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 도서별 시간 감쇠 점수판입니다. (forward decay)
+ * 이벤트 하나는 weight * exp((t - landmark) / tau) 로 누적하므로, 기록할 때 다른 도서의 점수를 건드릴 필요가 없습니다. (O(1))
+ * 현재 시각의 감쇠 점수는 누적값 / exp((now - landmark) / tau) 이고, 모든 도서에 같은 값으로 나누므로 순위는 누적값 그대로 정할 수 있습니다.
+ * 지수가 너무 커지기 전에 landmark 를 옮기면서 모든 누적값을 한 번에 다시 맞춥니다. (rebase, 수개월에 한 번)
+ * 조회는 {@link #refresh(long)} 가 미리 계산해 둔 전체/카테고리별 Top-K 를 돌려주므로 O(1) 입니다.
+ */
+public class DecayedScoreBoard {
+
+    //exp(600) 근처까지 커지면 landmark 를 옮김 (double 범위 안에서 충분한 여유)
+    private static final double REBASE_EXPONENT = 600.0;
+    private static final int SNAPSHOT_MAGIC = 0x54524E44; // "TRND"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    public record Score(Long bookId, Long categoryId, double score) {
+    }
+
+    private static final class Entry {
+        private volatile Long categoryId;
+        private final DoubleAdder forward = new DoubleAdder();
+
+        private Entry(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+    }
+
+    private final double tauMillis;
+    private final int topK;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    //기록은 read 락으로 동시에, rebase/정리는 write 락으로 단독 실행
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long landmark;
+
+    private volatile List<Score> overall = List.of();
+    private volatile Map<Long, List<Score>> byCategory = Map.of();
+
+    public DecayedScoreBoard(Duration halfLife, int topK, long nowMillis) {
+        if (halfLife.isZero() || halfLife.isNegative()) {
+            throw new IllegalArgumentException("halfLife 는 0보다 커야 합니다. halfLife = " + halfLife);
+        }
+        if (topK <= 0) throw new IllegalArgumentException("topK 는 0보다 커야 합니다. topK = " + topK);
+        this.tauMillis = halfLife.toMillis() / Math.log(2);
+        this.topK = topK;
+        this.landmark = nowMillis;
+    }
+
+    //eventMillis 시각에 발생한 weight 만큼의 점수를 더함 (취소 등은 음수 weight 로 같은 시각 값을 정확히 되돌림)
+    public void record(Long bookId, Long categoryId, double weight, long eventMillis) {
+        if (bookId == null || weight == 0) return;
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(bookId, id -> new Entry(categoryId));
+            if (categoryId != null) entry.categoryId = categoryId;
+            entry.forward.add(weight * Math.exp((eventMillis - landmark) / tauMillis));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Score> top() {
+        return overall;
+    }
+
+    public List<Score> top(Long categoryId) {
+        if (categoryId == null) return overall;
+        return byCategory.getOrDefault(categoryId, List.of());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    //현재 시각 기준 감쇠 점수로 전체/카테고리별 Top-K 를 다시 계산
+    public void refresh(long nowMillis) {
+        rebaseIfNeeded(nowMillis);
+        double scale = Math.exp(-(nowMillis - landmark) / tauMillis);
+
+        PriorityQueue<Score> all = new PriorityQueue<>(Comparator.comparingDouble(Score::score));
+        Map<Long, PriorityQueue<Score>> categories = new HashMap<>();
+        entries.forEach((bookId, entry) -> {
+            double score = entry.forward.sum() * scale;
+            if (score <= 0) return;
+            Score s = new Score(bookId, entry.categoryId, score);
+            offer(all, s);
+            if (s.categoryId() != null) {
+                offer(categories.computeIfAbsent(s.categoryId(), c -> new PriorityQueue<>(Comparator.comparingDouble(Score::score))), s);
+            }
+        });
+
+        Map<Long, List<Score>> ranked = new HashMap<>();
+        categories.forEach((categoryId, heap) -> ranked.put(categoryId, sorted(heap)));
+        this.overall = sorted(all);
+        this.byCategory = Map.copyOf(ranked);
+    }
+
+    //감쇠 점수가 minScore 미만으로 떨어진 도서를 제거 (메모리/스냅숏 크기 제한)
+    public int prune(long nowMillis, double minScore) {
+        lock.writeLock().lock();
+        try {
+            double scale = Math.exp(-(nowMillis - landmark) / tauMillis);
+            int before = entries.size();
+            entries.values().removeIf(entry -> entry.forward.sum() * scale < minScore);
+            return before - entries.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void writeSnapshot(DataOutput out) throws IOException {
+        lock.writeLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(landmark);
+            out.writeInt(entries.size());
+            for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+                Long categoryId = e.getValue().categoryId;
+                out.writeLong(e.getKey());
+                out.writeLong(categoryId == null ? -1L : categoryId);
+                out.writeDouble(e.getValue().forward.sum());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //스냅숏을 읽어 현재 점수판에 합침 (저장 당시 landmark 기준 값을 현재 landmark 기준으로 환산)
+    public void readSnapshot(DataInput in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("trending snapshot 형식이 아닙니다");
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) throw new IOException("지원하지 않는 snapshot 버전입니다. version = " + version);
+        long savedLandmark = in.readLong();
+        int count = in.readInt();
+        lock.writeLock().lock();
+        try {
+            double factor = Math.exp((savedLandmark - landmark) / tauMillis);
+            for (int i = 0; i < count; i++) {
+                long bookId = in.readLong();
+                long categoryId = in.readLong();
+                double forward = in.readDouble();
+                entries.computeIfAbsent(bookId, id -> new Entry(categoryId < 0 ? null : categoryId))
+                        .forward.add(forward * factor);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebaseIfNeeded(long nowMillis) {
+        if ((nowMillis - landmark) / tauMillis < REBASE_EXPONENT) return;
+        lock.writeLock().lock();
+        try {
+            if ((nowMillis - landmark) / tauMillis < REBASE_EXPONENT) return;
+            double factor = Math.exp(-(nowMillis - landmark) / tauMillis);
+            for (Entry entry : entries.values()) {
+                double value = entry.forward.sumThenReset();
+                entry.forward.add(value * factor);
+            }
+            landmark = nowMillis;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void offer(PriorityQueue<Score> heap, Score score) {
+        if (heap.size() < topK) {
+            heap.add(score);
+        } else if (heap.peek().score() < score.score()) {
+            heap.poll();
+            heap.add(score);
+        }
+    }
+
+    private static List<Score> sorted(PriorityQueue<Score> heap) {
+        List<Score> list = new ArrayList<>(heap);
+        list.sort(Comparator.comparingDouble(Score::score).reversed().thenComparing(Score::bookId));
+        return List.copyOf(list);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.Bookstore.service.trending;
+
+import com.example.Bookstore.cache.CacheNames;
+import com.example.Bookstore.config.TrendingProperties;
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.dto.book.BookSummary;
+import com.example.Bookstore.dto.book.TrendingBook;
+import com.example.Bookstore.service.BookService;
+import com.example.Bookstore.service.outbox.OutboxSubscriber;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "지금 뜨는 도서" 서비스입니다. 구매와 상세 조회를 {@link DecayedScoreBoard} 에 시간 감쇠 점수로 쌓고,
+ * 주기적으로 전체/카테고리별 Top-K 를 다시 계산해 둡니다. 순위 계산과 조회에는 DB 를 쓰지 않습니다.
+ * 점수판은 노드 메모리에만 있으므로 주기적으로 파일 스냅숏을 남기고, 재기동 시 그 시점부터 이어서 감쇠합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService implements OutboxSubscriber<OrderStatusChangedEvent> {
+
+    private final TrendingProperties properties;
+    private final BookService bookService;
+
+    private DecayedScoreBoard board;
+
+    @PostConstruct
+    void init() {
+        board = new DecayedScoreBoard(properties.getHalfLife(), properties.getTopK(), System.currentTimeMillis());
+        loadSnapshot();
+        board.refresh(System.currentTimeMillis());
+    }
+
+    //상세 조회 1회 반영
+    public void recordView(Long bookId, Long categoryId) {
+        board.record(bookId, categoryId, properties.getViewWeight(), System.currentTimeMillis());
+    }
+
+    @Override
+    public Class<OrderStatusChangedEvent> eventType() {
+        return OrderStatusChangedEvent.class;
+    }
+
+    //판매 상태로 들어온 주문은 주문 시각 기준으로 더하고, 취소되면 같은 시각 기준으로 정확히 뺌 (outbox 로 커밋된 주문만 전달받음)
+    @Override
+    public void handle(OrderStatusChangedEvent event) {
+        int sign = event.salesSign();
+        if (sign == 0) return;
+        long orderedAt = event.orderedAt() == null
+                ? System.currentTimeMillis()
+                : event.orderedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (OrderStatusChangedEvent.Line line : event.lines()) {
+            if (line.quantity() <= 0) continue;
+            board.record(line.bookId(), line.categoryId(),
+                    sign * line.quantity() * properties.getPurchaseWeight(), orderedAt);
+        }
+    }
+
+    //전체(categoryId == null) 또는 카테고리별 지금 뜨는 도서
+    @Cacheable(cacheNames = CacheNames.TRENDING_BOOKS, key = "#categoryId == null ? 'all' : #categoryId")
+    public List<TrendingBook> getTrendingBooks(Long categoryId) {
+        List<DecayedScoreBoard.Score> scores = board.top(categoryId);
+        if (scores.isEmpty()) return List.of();
+        Map<Long, BookSummary> books = bookService.getBookSummaries(scores.stream().map(DecayedScoreBoard.Score::bookId).toList())
+                .stream()
+                .collect(Collectors.toMap(BookSummary::id, Function.identity()));
+        return scores.stream()
+                .filter(s -> books.containsKey(s.bookId()))
+                .map(s -> new TrendingBook(books.get(s.bookId()), s.score()))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval:10s}")
+    public void refresh() {
+        board.refresh(System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-interval:1m}",
+            initialDelayString = "${app.trending.snapshot-interval:1m}")
+    public void snapshot() {
+        int pruned = board.prune(System.currentTimeMillis(), properties.getMinScore());
+        if (pruned > 0) log.debug("[TrendingService] pruned {} cold books", pruned);
+        saveSnapshot();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        saveSnapshot();
+    }
+
+    private void loadSnapshot() {
+        Path path = snapshotPath();
+        if (path == null || !Files.exists(path)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            board.readSnapshot(in);
+            log.info("[TrendingService] restored {} books from {}", board.size(), path);
+        } catch (IOException e) {
+            log.warn("[TrendingService] failed to read snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    //임시 파일에 쓴 뒤 교체해 중간에 죽어도 이전 스냅숏이 깨지지 않게 함
+    private void saveSnapshot() {
+        Path path = snapshotPath();
+        if (path == null) return;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                board.writeSnapshot(out);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[TrendingService] failed to write snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Path snapshotPath() {
+        String value = properties.getSnapshotPath();
+        return value == null || value.isBlank() ? null : Path.of(value);
+    }
+}
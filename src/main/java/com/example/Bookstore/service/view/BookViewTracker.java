@@ -0,0 +1,178 @@
+package com.example.Bookstore.service.view;
+
+import com.example.Bookstore.config.BookViewProperties;
+import com.example.Bookstore.repository.book.BookRepository;
+import com.example.Bookstore.service.RecentBookService;
+import com.example.Bookstore.service.trending.TrendingService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 도서 상세 조회 이벤트를 요청 스레드 밖에서 처리하는 파이프라인입니다.
+ * 요청 스레드는 고정 크기 큐에 이벤트를 넣기만 하고(가득 차면 버림) 바로 화면을 그립니다.
+ * 소비자 스레드는 큐에서 이벤트를 묶음으로 꺼내 최근 본 도서(Redis 파이프라인 한 번)와 지금 뜨는 도서 점수판에 반영하고,
+ * 조회수는 도서별로 합쳐 두었다가 주기적으로 batch UPDATE 한 번으로 반영합니다. 실패한 조회수는 다음 주기에 다시 보냅니다.
+ * 지표 : book.views.queued, book.views.dropped, book.views.flushed
+ */
+@Slf4j
+@Component
+public class BookViewTracker implements MeterBinder {
+
+    record BookView(Long userId, Long bookId, Long categoryId) {
+    }
+
+    private final BookRepository bookRepository;
+    private final RecentBookService recentBookService;
+    private final TrendingService trendingService;
+    private final BookViewProperties properties;
+
+    private final BlockingQueue<BookView> queue;
+    private final ConcurrentHashMap<Long, Long> pendingViewCounts = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    public BookViewTracker(BookRepository bookRepository,
+                           RecentBookService recentBookService,
+                           TrendingService trendingService,
+                           BookViewProperties properties) {
+        this.bookRepository = bookRepository;
+        this.recentBookService = recentBookService;
+        this.trendingService = trendingService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    //상세 조회 1회 (요청 스레드에서 호출, 블로킹 없음)
+    public void submit(Long userId, Long bookId, Long categoryId) {
+        if (bookId == null) return;
+        if (!queue.offer(new BookView(userId, bookId, categoryId))) {
+            dropped.increment();
+        }
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (int i = 0; i < properties.getConsumers(); i++) {
+            Thread thread = new Thread(this::consume, "book-view-consumer-" + i);
+            thread.setDaemon(true);
+            consumers.add(thread);
+            thread.start();
+        }
+    }
+
+    //큐에 쌓인 이벤트를 한 묶음 꺼내 처리하고 처리한 수를 반환 (소비자 스레드와 종료 시 사용)
+    int drain() {
+        List<BookView> batch = new ArrayList<>(Math.min(properties.getBatchSize(), queue.size()));
+        queue.drainTo(batch, properties.getBatchSize());
+        process(batch);
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.book-views.flush-interval:5s}")
+    public synchronized void flushViewCounts() {
+        Map<Long, Long> increments = new HashMap<>();
+        for (Long bookId : pendingViewCounts.keySet()) {
+            Long count = pendingViewCounts.remove(bookId);
+            if (count != null && count > 0) increments.put(bookId, count);
+        }
+        if (increments.isEmpty()) return;
+        try {
+            bookRepository.addViewCounts(increments);
+            flushed.add(increments.values().stream().mapToLong(Long::longValue).sum());
+        } catch (RuntimeException e) {
+            log.warn("[BookViewTracker] view count flush of {} books failed, will retry: {}", increments.size(), e.getMessage());
+            increments.forEach((bookId, count) -> pendingViewCounts.merge(bookId, count, Long::sum));
+        }
+    }
+
+    //소비자를 멈춘 뒤 남은 이벤트와 조회수를 마저 반영
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Thread thread : consumers) {
+            thread.interrupt();
+        }
+        for (Thread thread : consumers) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        while (drain() > 0) {
+            // 남은 묶음 처리
+        }
+        flushViewCounts();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("book.views.queued", queue, BlockingQueue::size).register(registry);
+        FunctionCounter.builder("book.views.dropped", dropped, LongAdder::sum).register(registry);
+        FunctionCounter.builder("book.views.flushed", flushed, LongAdder::sum).register(registry);
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                //하나가 들어올 때까지 기다린 뒤 함께 쌓인 이벤트를 묶어서 처리
+                BookView first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                List<BookView> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("[BookViewTracker] failed to process view batch: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void process(List<BookView> batch) {
+        if (batch.isEmpty()) return;
+        Map<Long, List<Long>> recentByUser = new LinkedHashMap<>();
+        Map<Long, Long> viewCounts = new HashMap<>();
+        for (BookView view : batch) {
+            if (view.userId() != null) {
+                recentByUser.computeIfAbsent(view.userId(), id -> new ArrayList<>()).add(view.bookId());
+            }
+            viewCounts.merge(view.bookId(), 1L, Long::sum);
+            trendingService.recordView(view.bookId(), view.categoryId());
+        }
+        viewCounts.forEach((bookId, count) -> pendingViewCounts.merge(bookId, count, Long::sum));
+        recentBookService.recordRecentBooks(recentByUser);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.Bookstore.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalCacheTest {
+
+    @Test
+    @DisplayName("loads once and counts hits and misses")
+    void get_readThrough() {
+        LocalCache<Long, String> cache = new LocalCache<>("test", 1_000, Duration.ofMinutes(1), String::length);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("토지", cache.get(1L, id -> { loads.incrementAndGet(); return "토지"; }));
+        assertEquals("토지", cache.get(1L, id -> { loads.incrementAndGet(); return "토지"; }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("does not cache null and reloads after invalidate")
+    void get_nullAndInvalidate() {
+        LocalCache<Long, String> cache = new LocalCache<>("test", 1_000, Duration.ofMinutes(1), String::length);
+        assertNull(cache.get(1L, id -> null));
+        assertEquals(0, cache.size());
+
+        cache.put(1L, "a");
+        cache.invalidate(1L);
+        assertEquals("b", cache.get(1L, id -> "b"));
+    }
+
+    @Test
+    @DisplayName("evicts least recently used entries when the total weight is exceeded")
+    void put_evictsByWeight() {
+        LocalCache<Long, String> cache = new LocalCache<>("test", 10, Duration.ofMinutes(1), String::length);
+        cache.put(1L, "aaaa");
+        cache.put(2L, "bbbb");
+        cache.getIfPresent(1L);
+        cache.put(3L, "cccc");
+
+        assertNotNull(cache.getIfPresent(1L));
+        assertNull(cache.getIfPresent(2L));
+        assertNotNull(cache.getIfPresent(3L));
+        assertEquals(8, cache.weight());
+        assertEquals(1, cache.evictionCount());
+
+        //용량보다 큰 값은 넣지 않음
+        cache.put(4L, "x".repeat(11));
+        assertNull(cache.getIfPresent(4L));
+    }
+
+    @Test
+    @DisplayName("expired entries are treated as misses")
+    void get_expired() {
+        LocalCache<Long, String> cache = new LocalCache<>("test", 1_000, Duration.ZERO, String::length);
+        cache.put(1L, "a");
+        assertNull(cache.getIfPresent(1L));
+        assertEquals(0, cache.weight());
+    }
+}
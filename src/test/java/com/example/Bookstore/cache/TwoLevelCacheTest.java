@@ -0,0 +1,133 @@
+package com.example.Bookstore.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock private RedisTemplate<String, byte[]> redisTemplate;
+    @Mock private ValueOperations<String, byte[]> valueOperations;
+
+    private final RedisSerializer<Object> serializer = new JdkSerializationRedisSerializer();
+    private final List<String> published = new ArrayList<>();
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setup() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new TwoLevelCache("bookDetail", 1_000_000, Duration.ofMinutes(1), Duration.ofMinutes(10), "cache:",
+                redisTemplate, serializer, (cacheName, key) -> published.add(cacheName + "/" + key), Duration.ZERO, null);
+    }
+
+    @Test
+    @DisplayName("warms L1 from Redis so the second read does not touch Redis")
+    void get_warmsFromRemote() {
+        when(valueOperations.get("cache:bookDetail::1")).thenReturn(serializer.serialize("토지"));
+
+        assertEquals("토지", cache.get(1L, String.class));
+        assertEquals("토지", cache.get(1L, String.class));
+
+        verify(valueOperations, times(1)).get("cache:bookDetail::1");
+    }
+
+    @Test
+    @DisplayName("put writes Redis with TTL and tells other nodes to drop their L1 copy")
+    void put_writesThrough() {
+        cache.put(1L, "토지");
+
+        verify(valueOperations).set(eq("cache:bookDetail::1"), any(byte[].class), eq(Duration.ofMinutes(10)));
+        assertEquals(List.of("bookDetail/cache:bookDetail::1"), published);
+        assertEquals("토지", cache.get(1L, String.class));
+    }
+
+    @Test
+    @DisplayName("remote invalidation clears only the local copy")
+    void evictLocal() {
+        cache.put(1L, "토지");
+        when(valueOperations.get("cache:bookDetail::1")).thenReturn(null);
+
+        cache.evictLocal("cache:bookDetail::1");
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("falls back to the loader when Redis is down")
+    void get_redisDown() {
+        when(valueOperations.get(any())).thenThrow(new RedisConnectionFailureException("down"));
+        doThrow(new RedisConnectionFailureException("down")).when(valueOperations).set(any(), any(), any(Duration.class));
+
+        assertEquals("토지", cache.get(1L, () -> "토지"));
+        assertEquals("토지", cache.get(1L, () -> fail("L1 에서 읽어야 합니다")));
+    }
+
+    @Test
+    @DisplayName("a value loaded before an eviction is not written back to L1 or Redis")
+    void get_loaderRacingEviction_doesNotCacheStaleValue() {
+        when(valueOperations.get("cache:bookDetail::1")).thenReturn(null);
+
+        String loaded = cache.get(1L, () -> {
+            // 로딩 중 변경이 커밋되어 무효화됨
+            cache.evict(1L);
+            return "옛 값";
+        });
+
+        assertEquals("옛 값", loaded);
+        verify(valueOperations, never()).set(anyString(), any(byte[].class), any(Duration.class));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("an eviction during the Redis write deletes the value that was just written")
+    void get_evictionDuringRemoteWrite_deletesAgain() {
+        when(valueOperations.get("cache:bookDetail::1")).thenReturn(null);
+        doAnswer(invocation -> {
+            cache.evictLocal("cache:bookDetail::1");
+            return null;
+        }).when(valueOperations).set(eq("cache:bookDetail::1"), any(byte[].class), any(Duration.class));
+
+        cache.get(1L, () -> "옛 값");
+
+        verify(redisTemplate).delete(List.of("cache:bookDetail::1"));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("eviction deletes the Redis key again after the re-delete delay")
+    void evict_redeletesLater() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        cache = new TwoLevelCache("bookDetail", 1_000_000, Duration.ofMinutes(1), Duration.ofMinutes(10), "cache:",
+                redisTemplate, serializer, (cacheName, key) -> published.add(cacheName + "/" + key),
+                Duration.ofSeconds(1), scheduler);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+
+        cache.evict(1L);
+        verify(scheduler).schedule(task.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        task.getValue().run();
+
+        verify(redisTemplate, times(2)).delete(List.of("cache:bookDetail::1"));
+        when(valueOperations.get("cache:bookDetail::1")).thenReturn(null);
+        assertNull(cache.get(1L));
+    }
+}
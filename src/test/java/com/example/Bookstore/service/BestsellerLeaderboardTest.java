@@ -0,0 +1,133 @@
+package com.example.Bookstore.service;
+
+import com.example.Bookstore.config.RankingProperties;
+import com.example.Bookstore.dto.book.BookCategorySales;
+import com.example.Bookstore.dto.book.BookSales;
+import com.example.Bookstore.repository.order.OrderItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BestsellerLeaderboardTest {
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ZSetOperations<String, String> zSetOperations;
+    @Mock private ValueOperations<String, String> valueOperations;
+    @Mock private OrderItemRepository orderItemRepository;
+
+    private final RankingProperties properties = new RankingProperties();
+    private final AtomicInteger transactions = new AtomicInteger();
+    private final TransactionOperations readOnlyTransactions = new TransactionOperations() {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            transactions.incrementAndGet();
+            return action.doInTransaction(new SimpleTransactionStatus());
+        }
+    };
+    private BestsellerLeaderboard leaderboard;
+
+    @BeforeEach
+    void setup() {
+        leaderboard = new BestsellerLeaderboard(redisTemplate, orderItemRepository, readOnlyTransactions, properties);
+    }
+
+    @Test
+    @DisplayName("topOfMonth maps ZREVRANGE tuples in order and skips non-positive scores")
+    void topOfMonth_mapsTuples() {
+        YearMonth month = YearMonth.of(2026, 10);
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>(List.of(
+                ZSetOperations.TypedTuple.of("7", 12.0),
+                ZSetOperations.TypedTuple.of("3", 5.0),
+                ZSetOperations.TypedTuple.of("9", 0.0)));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeWithScores("ranking:bestseller:month:2026-10", 0, 9)).thenReturn(tuples);
+
+        Optional<List<BookSales>> top = leaderboard.topOfMonth(month, 10);
+
+        assertEquals(Optional.of(List.of(new BookSales(7L, 12L), new BookSales(3L, 5L))), top);
+    }
+
+    @Test
+    @DisplayName("read failure returns empty so the caller can fall back to the DB")
+    void top_redisDown_returnsEmpty() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeWithScores(anyString(), anyLong(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(leaderboard.topOfMonth(YearMonth.of(2026, 10), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("reconcile rebuilds month and category keys through a temp key + RENAME")
+    void reconcile_rebuildsFromLedger() {
+        YearMonth month = YearMonth.now();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(valueOperations.setIfAbsent(eq("ranking:bestseller:reconcile-lock"), anyString(), eq(Duration.ofMinutes(5))))
+                .thenReturn(true);
+        when(orderItemRepository.findSalesByBookAndCategory(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(new BookCategorySales(1L, 100L, 4L), new BookCategorySales(2L, 200L, 2L)))
+                .thenReturn(List.of());
+
+        leaderboard.reconcile();
+
+        String monthKey = "ranking:bestseller:month:" + month;
+        verify(redisTemplate).rename(startsWith(monthKey + ":rebuild:"), eq(monthKey));
+        verify(redisTemplate).rename(startsWith(monthKey + ":category:100:rebuild:"), eq(monthKey + ":category:100"));
+        verify(redisTemplate).rename(startsWith(monthKey + ":category:200:rebuild:"), eq(monthKey + ":category:200"));
+        // 오늘 판매가 없으면 일간 키는 지움
+        verify(redisTemplate).delete("ranking:bestseller:day:" + LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("startup rebuild reads the order ledger inside a transaction when the month key is missing")
+    void rebuildOnStartup_readsLedgerInTransaction() {
+        when(redisTemplate.hasKey("ranking:bestseller:month:" + YearMonth.now())).thenReturn(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(orderItemRepository.findSalesByBookAndCategory(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        leaderboard.rebuildOnStartup();
+
+        assertEquals(1, transactions.get());
+        verify(orderItemRepository, times(2)).findSalesByBookAndCategory(any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("reconcile does nothing when another node holds the lock")
+    void reconcile_skipsWithoutLock() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        leaderboard.reconcile();
+
+        verifyNoInteractions(orderItemRepository);
+        assertEquals(0, transactions.get());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Bookstore.service;
+
+import com.example.Bookstore.config.CatalogCountProperties;
+import com.example.Bookstore.domain.book.BookChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCountCacheTest {
+
+    private CatalogCountProperties properties;
+    private BookCountCache cache;
+    private AtomicInteger calls;
+    private LongSupplier counter;
+
+    @BeforeEach
+    void setup() {
+        properties = new CatalogCountProperties();
+        cache = new BookCountCache(properties);
+        calls = new AtomicInteger();
+        counter = () -> {
+            calls.incrementAndGet();
+            return 42;
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("reuses the count for the same normalized keyword until a book changes")
+    void count_cachedUntilInvalidated() {
+        assertEquals(42, cache.count("title", null, " Java ", 0, counter));
+        assertEquals(42, cache.count("title", null, "java", 0, counter));
+        assertEquals(1, calls.get());
+
+        cache.count("title", 3L, "java", 0, counter);
+        assertEquals(2, calls.get());
+
+        cache.onBookChanged(new BookChangedEvent(1L));
+        cache.count("title", null, "java", 0, counter);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("counts again after the TTL expires")
+    void count_expires() {
+        properties.setTtl(Duration.ZERO);
+        cache.count("list", null, null, 0, counter);
+        cache.count("list", null, null, 0, counter);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("estimate mode answers with the lower bound and counts in the background")
+    void count_estimate() throws InterruptedException {
+        properties.setEstimate(true);
+        assertEquals(13, cache.count("all", null, "토지", 13, counter));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cache.size() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(42, cache.count("all", null, "토지", 13, counter));
+        assertEquals(1, calls.get());
+    }
+}
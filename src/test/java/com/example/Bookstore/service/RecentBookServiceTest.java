@@ -0,0 +1,91 @@
+package com.example.Bookstore.service;
+
+import com.example.Bookstore.config.RecentBookProperties;
+import com.example.Bookstore.dto.book.BookSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecentBookServiceTest {
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ListOperations<String, String> listOperations;
+    @Mock private RedisOperations<String, String> pipelineOperations;
+    @Mock private BookService bookService;
+
+    private final RecentBookProperties properties = new RecentBookProperties();
+    private RecentBookService recentBookService;
+
+    @BeforeEach
+    void setup() {
+        recentBookService = new RecentBookService(redisTemplate, bookService, properties);
+    }
+
+    @Test
+    @DisplayName("record moves the book to the front and trims the list in one pipeline")
+    @SuppressWarnings("unchecked")
+    void record_removesPushesAndTrims() {
+        when(pipelineOperations.opsForList()).thenReturn(listOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipelineOperations);
+            return List.of();
+        });
+
+        recentBookService.recordRecentBook(1L, 42L);
+
+        var inOrder = inOrder(listOperations, pipelineOperations);
+        inOrder.verify(listOperations).remove("recent:books:1", 0, "42");
+        inOrder.verify(listOperations).leftPush("recent:books:1", "42");
+        inOrder.verify(listOperations).trim("recent:books:1", 0, 19);
+        inOrder.verify(pipelineOperations).expire("recent:books:1", Duration.ofDays(30));
+    }
+
+    @Test
+    @DisplayName("read takes the newest ids with one LRANGE and loads summaries in one batch")
+    void getRecentBooks_rangeThenBatchLookup() {
+        List<BookSummary> summaries = List.of(
+                new BookSummary(7L, "t", null, null, null, null, null, null, 0, null, List.of()));
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        when(listOperations.range("recent:books:1", 0, 4)).thenReturn(List.of("7", "3", "x", "9"));
+        when(bookService.getBookSummaries(List.of(7L, 3L, 9L))).thenReturn(summaries);
+
+        assertSame(summaries, recentBookService.getRecentBooks(1L));
+    }
+
+    @Test
+    @DisplayName("empty list skips the book lookup")
+    void getRecentBooks_empty() {
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        when(listOperations.range(anyString(), anyLong(), anyLong())).thenReturn(List.of());
+
+        assertTrue(recentBookService.getRecentBooks(1L).isEmpty());
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("redis failure returns an empty list instead of failing the page")
+    void getRecentBooks_redisDown() {
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        when(listOperations.range(anyString(), anyLong(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(recentBookService.getRecentBooks(1L).isEmpty());
+    }
+}
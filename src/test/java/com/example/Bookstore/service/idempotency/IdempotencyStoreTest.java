@@ -0,0 +1,80 @@
+package com.example.Bookstore.service.idempotency;
+
+import com.example.Bookstore.config.IdempotencyProperties;
+import com.example.Bookstore.service.idempotency.IdempotencyStore.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setup() {
+        store = new IdempotencyStore(redisTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("claim maps the script result to acquired, in progress or completed")
+    @SuppressWarnings("unchecked")
+    void claim_outcomes() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("idem:checkout:1:k")), any(Object[].class)))
+                .thenReturn(null)
+                .thenReturn("~in-progress")
+                .thenReturn("42");
+
+        assertEquals(Outcome.ACQUIRED, store.claim("checkout", 1L, "k").outcome());
+        assertEquals(Outcome.IN_PROGRESS, store.claim("checkout", 1L, "k").outcome());
+        IdempotencyStore.Claim completed = store.claim("checkout", 1L, "k");
+        assertEquals(Outcome.COMPLETED, completed.outcome());
+        assertEquals("42", completed.result());
+    }
+
+    @Test
+    @DisplayName("redis failures report the store as unavailable instead of failing checkout")
+    @SuppressWarnings("unchecked")
+    void claim_redisDown_unavailable() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertEquals(Outcome.UNAVAILABLE, store.claim("checkout", 1L, "k").outcome());
+    }
+
+    @Test
+    @DisplayName("complete stores the result with the configured ttl")
+    void complete_setsWithTtl() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        store.complete("checkout", 1L, "k", "42");
+
+        verify(valueOperations).set("idem:checkout:1:k", "42", Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("blank or oversized keys are rejected")
+    void validate() {
+        assertThrows(IllegalArgumentException.class, () -> store.validate(" "));
+        assertThrows(IllegalArgumentException.class, () -> store.validate("x".repeat(65)));
+        assertDoesNotThrow(() -> store.validate("0b7c9e1e-2f8d-4c1a-9d8e-3f1b2a4c5d6e"));
+    }
+}
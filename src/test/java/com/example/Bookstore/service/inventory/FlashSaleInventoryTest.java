@@ -0,0 +1,146 @@
+package com.example.Bookstore.service.inventory;
+
+import com.example.Bookstore.config.FlashSaleProperties;
+import com.example.Bookstore.repository.book.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleInventoryTest {
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private InventoryRepository inventoryRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private final FlashSaleProperties properties = new FlashSaleProperties();
+    private FlashSaleInventory flashSaleInventory;
+
+    @BeforeEach
+    void setup() {
+        properties.setEnabled(true);
+        properties.setBookIds(Set.of(22L));
+        flashSaleInventory = new FlashSaleInventory(redisTemplate, inventoryRepository, eventPublisher,
+                TransactionOperations.withoutTransaction(), properties);
+    }
+
+    @Test
+    @DisplayName("only flagged books are managed, and nothing is managed when disabled")
+    void isManaged() {
+        assertTrue(flashSaleInventory.isManaged(22L));
+        assertFalse(flashSaleInventory.isManaged(11L));
+
+        properties.setEnabled(false);
+        assertFalse(flashSaleInventory.isManaged(22L));
+    }
+
+    @Test
+    @DisplayName("reserve passes every stock key to one script call and fails with the book that ran out")
+    @SuppressWarnings("unchecked")
+    void reserve_insufficient_throws() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(22L);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> flashSaleInventory.reserve(Map.of(22L, 3L)));
+
+        assertEquals("Insufficient stock for book: 22", ex.getMessage());
+        verify(redisTemplate).execute(any(RedisScript.class),
+                argThat(keys -> keys.size() == 3 && keys.get(2).equals("flash:stock:22")), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("reserve reports a book whose stock was never loaded into Redis")
+    @SuppressWarnings("unchecked")
+    void reserve_notInitialised_throws() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(-22L);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> flashSaleInventory.reserve(Map.of(22L, 1L)));
+
+        assertEquals("Flash sale not initialised for book: 22", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("reserve fails as unavailable when the script returns no result")
+    @SuppressWarnings("unchecked")
+    void reserve_nullResult_throws() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(null);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> flashSaleInventory.reserve(Map.of(22L, 1L)));
+
+        assertEquals("Flash sale stock unavailable", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("confirm fails when the reservation already expired and was released")
+    @SuppressWarnings("unchecked")
+    void confirm_expired_throws() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+        FlashSaleInventory.Reservation reservation = flashSaleInventory.reserve(Map.of(22L, 1L));
+
+        assertThrows(IllegalStateException.class, () -> flashSaleInventory.confirm(reservation));
+    }
+
+    @Test
+    @DisplayName("cancel releases a reservation only once")
+    @SuppressWarnings("unchecked")
+    void cancel_isIdempotent() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+        FlashSaleInventory.Reservation reservation = flashSaleInventory.reserve(Map.of(22L, 1L));
+        clearInvocations(redisTemplate);
+
+        flashSaleInventory.cancel(reservation);
+        flashSaleInventory.cancel(reservation);
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class),
+                eq(List.of("flash:reservations", "flash:reservation:" + reservation.id(), "flash:stock:22")),
+                eq(new Object[]{"22"}));
+    }
+
+    @Test
+    @DisplayName("restocking a confirmed sale passes the sold hash and every stock key")
+    @SuppressWarnings("unchecked")
+    void restock_passesStockKeys() {
+        flashSaleInventory.restockAfterCommit(Map.of(22L, 2L));
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("flash:sold", "flash:stock:22")), eq(new Object[]{"22", "2"}));
+    }
+
+    @Test
+    @DisplayName("sweeping an expired reservation passes the stock keys read from the reservation")
+    @SuppressWarnings("unchecked")
+    void sweepExpired_passesStockKeys() {
+        ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+        HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hash);
+        when(zSet.rangeByScore(eq("flash:reservations"), eq(0.0), anyDouble(), eq(0L), eq(500L)))
+                .thenReturn(Set.of("flash:reservation:r-1"));
+        when(hash.keys("flash:reservation:r-1")).thenReturn(Set.of("22"));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        flashSaleInventory.sweepExpired();
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("flash:reservations", "flash:reservation:r-1", "flash:stock:22")), eq(new Object[]{"22"}));
+    }
+}
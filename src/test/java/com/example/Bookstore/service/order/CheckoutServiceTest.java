@@ -0,0 +1,124 @@
+package com.example.Bookstore.service.order;
+
+import com.example.Bookstore.domain.order.Order;
+import com.example.Bookstore.domain.order.OrderStatus;
+import com.example.Bookstore.domain.payment.PaymentMethod;
+import com.example.Bookstore.service.idempotency.IdempotencyStore;
+import com.example.Bookstore.service.idempotency.IdempotencyStore.Claim;
+import com.example.Bookstore.service.idempotency.IdempotencyStore.Outcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceTest {
+
+    @Mock private OrderService orderService;
+    @Mock private IdempotencyStore idempotencyStore;
+
+    @InjectMocks private CheckoutService checkoutService;
+
+    private final Order order = Order.builder().id(42L).status(OrderStatus.PENDING).build();
+
+    @Test
+    @DisplayName("first request places the order and stores its id under the key")
+    void firstRequest_placesAndCompletes() {
+        when(idempotencyStore.claim("checkout", 1L, "k-1")).thenReturn(new Claim(Outcome.ACQUIRED, null));
+        when(orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY, "k-1")).thenReturn(order);
+
+        assertSame(order, checkoutService.placeOrder(1L, PaymentMethod.KAKAOPAY, "k-1"));
+
+        verify(idempotencyStore).complete("checkout", 1L, "k-1", "42");
+    }
+
+    @Test
+    @DisplayName("a retry returns the original order without placing a new one")
+    void retry_returnsOriginal() {
+        when(idempotencyStore.claim("checkout", 1L, "k-1")).thenReturn(new Claim(Outcome.COMPLETED, "42"));
+        when(orderService.getUserOrderDetail(1L, 42L)).thenReturn(order);
+
+        assertSame(order, checkoutService.placeOrder(1L, PaymentMethod.KAKAOPAY, "k-1"));
+
+        verify(orderService, never()).placeOrderFromCart(anyLong(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("a concurrent duplicate is rejected while the first is still running")
+    void concurrentDuplicate_rejected() {
+        when(idempotencyStore.claim("checkout", 1L, "k-1")).thenReturn(new Claim(Outcome.IN_PROGRESS, null));
+
+        assertThrows(IllegalStateException.class,
+                () -> checkoutService.placeOrder(1L, PaymentMethod.KAKAOPAY, "k-1"));
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("failed checkout releases the key so the client can retry")
+    void failure_releases() {
+        when(idempotencyStore.claim("checkout", 1L, "k-1")).thenReturn(new Claim(Outcome.ACQUIRED, null));
+        when(orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY, "k-1"))
+                .thenThrow(new IllegalStateException("Cart is empty"));
+
+        assertThrows(IllegalStateException.class,
+                () -> checkoutService.placeOrder(1L, PaymentMethod.KAKAOPAY, "k-1"));
+        verify(idempotencyStore).release("checkout", 1L, "k-1");
+        verify(idempotencyStore, never()).complete(anyString(), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("without Redis an existing order for the key is found in the database")
+    void redisUnavailable_usesDatabase() {
+        when(idempotencyStore.claim("checkout", 1L, "k-1")).thenReturn(new Claim(Outcome.UNAVAILABLE, null));
+        when(orderService.findOrderByIdempotencyKey(1L, "k-1")).thenReturn(Optional.of(order));
+
+        assertSame(order, checkoutService.placeOrder(1L, PaymentMethod.KAKAOPAY, "k-1"));
+
+        verify(orderService, never()).placeOrderFromCart(anyLong(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("losing the unique-key race returns the order that won")
+    void uniqueViolation_returnsWinner() {
+        when(idempotencyStore.claim("checkout", 1L, "k-1")).thenReturn(new Claim(Outcome.UNAVAILABLE, null));
+        when(orderService.findOrderByIdempotencyKey(1L, "k-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(order));
+        when(orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY, "k-1"))
+                .thenThrow(new DataIntegrityViolationException("uk_orders_user_idempotency_key"));
+
+        assertSame(order, checkoutService.placeOrder(1L, PaymentMethod.KAKAOPAY, "k-1"));
+    }
+
+    @Test
+    @DisplayName("a constraint violation with no order for the key releases the key and rethrows")
+    void uniqueViolation_noWinner_releases() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk_order_items_book");
+        when(idempotencyStore.claim("checkout", 1L, "k-1")).thenReturn(new Claim(Outcome.ACQUIRED, null));
+        when(orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY, "k-1")).thenThrow(violation);
+        when(orderService.findOrderByIdempotencyKey(1L, "k-1")).thenReturn(Optional.empty());
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> checkoutService.placeOrder(1L, PaymentMethod.KAKAOPAY, "k-1")));
+        verify(idempotencyStore).release("checkout", 1L, "k-1");
+        verify(idempotencyStore, never()).complete(anyString(), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("requests without a key go straight to checkout")
+    void noKey_plainCheckout() {
+        when(orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY)).thenReturn(order);
+
+        assertSame(order, checkoutService.placeOrder(1L, PaymentMethod.KAKAOPAY, null));
+        verifyNoInteractions(idempotencyStore);
+    }
+}
@@ -2,19 +2,26 @@ package com.example.Bookstore.service.order;
 
 import com.example.Bookstore.domain.book.Book;
 import com.example.Bookstore.domain.book.Inventory;
+import com.example.Bookstore.domain.book.InventoryChangedEvent;
 import com.example.Bookstore.domain.cart.Cart;
 import com.example.Bookstore.domain.cart.CartItem;
 import com.example.Bookstore.domain.cart.CartStatus;
 import com.example.Bookstore.domain.order.Order;
 import com.example.Bookstore.domain.order.OrderItem;
 import com.example.Bookstore.domain.order.OrderStatus;
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.domain.order.OrderSummary;
 import com.example.Bookstore.domain.payment.Payment;
 import com.example.Bookstore.domain.payment.PaymentMethod;
+import com.example.Bookstore.domain.payment.PaymentStatus;
+import com.example.Bookstore.domain.payment.PaymentStatusChangedEvent;
 import com.example.Bookstore.repository.book.InventoryRepository;
 import com.example.Bookstore.repository.cart.CartItemRepository;
 import com.example.Bookstore.repository.cart.CartRepository;
 import com.example.Bookstore.repository.order.OrderRepository;
+import com.example.Bookstore.repository.order.OrderSummaryRepository;
 import com.example.Bookstore.repository.payment.PaymentRepository;
+import com.example.Bookstore.service.inventory.FlashSaleInventory;
 import com.example.Bookstore.service.payment.PaymentService;
 import com.example.Bookstore.domain.user.User;
 import jakarta.persistence.EntityNotFoundException;
@@ -26,24 +33,36 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
 
     @Mock private OrderRepository orderRepository;
+    @Mock private OrderSummaryRepository orderSummaryRepository;
     @Mock private CartRepository cartRepository;
     @Mock private CartItemRepository cartItemRepository;
     @Mock private InventoryRepository inventoryRepository;
     @Mock private PaymentRepository paymentRepository;
     @Mock private PaymentService paymentService;
+    @Mock private FlashSaleInventory flashSaleInventory;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks private OrderService orderService;
 
@@ -92,6 +111,35 @@ class OrderServiceTest {
         verify(orderRepository).findByUserId(1L);
     }
 
+    @Test
+    @DisplayName("getUserOrderSummaries reads one summary row per order without touching the order graph")
+    void getUserOrderSummaries_readsSummaryTable() {
+        OrderSummary newer = OrderSummary.builder().orderId(31L).userId(1L).status(OrderStatus.PAID).build();
+        OrderSummary older = OrderSummary.builder().orderId(30L).userId(1L).status(OrderStatus.PAID).build();
+        when(orderSummaryRepository.findByUserIdOrderByCreatedAtDescOrderIdDesc(1L, PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of(newer, older), PageRequest.of(0, 2), true));
+
+        Slice<OrderSummary> slice = orderService.getUserOrderSummaries(1L, 0, 2);
+
+        assertEquals(List.of(newer, older), slice.getContent());
+        assertTrue(slice.hasNext());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("getOrderSummaries pages the summary table for the admin list")
+    void getOrderSummaries_pagesSummaryTable() {
+        OrderSummary summary = OrderSummary.builder().orderId(40L).userId(2L).status(OrderStatus.PENDING).build();
+        when(orderSummaryRepository.findAllByOrderByCreatedAtDescOrderIdDesc(PageRequest.of(1, 30)))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(1, 30), 31));
+
+        Page<OrderSummary> page = orderService.getOrderSummaries(1, 30);
+
+        assertEquals(List.of(summary), page.getContent());
+        assertEquals(2, page.getTotalPages());
+        verifyNoInteractions(orderRepository);
+    }
+
     @Test
     @DisplayName("getUserOrderDetail returns when user owns order")
     void getUserOrderDetail_success() {
@@ -117,11 +165,11 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("placeOrderFromCart processes payment, updates stock, empties cart")
+    @DisplayName("placeOrderFromCart commits a pending order, updates stock, empties cart and defers payment")
     void placeOrderFromCart_success() {
         when(cartRepository.findByUser_IdAndStatus(1L, CartStatus.ACTIVE)).thenReturn(Optional.of(cart));
-        when(inventoryRepository.findByBook_Id(11L)).thenReturn(Optional.of(inv1));
-        when(inventoryRepository.findByBook_Id(22L)).thenReturn(Optional.of(inv2));
+        when(inventoryRepository.findAllByBook_IdIn(Set.of(11L, 22L))).thenReturn(List.of(inv1, inv2));
+        when(inventoryRepository.decrementStock(Map.of(11L, 2L, 22L, 1L))).thenReturn(List.of());
 
         ArgumentCaptor<Order> orderSaveCaptor = ArgumentCaptor.forClass(Order.class);
         when(orderRepository.save(orderSaveCaptor.capture())).thenAnswer(invocation -> {
@@ -130,31 +178,153 @@ class OrderServiceTest {
             return o;
         });
 
-        Payment payment = Payment.builder().id(3000L).build();
+        Payment payment = Payment.builder().id(3000L).status(PaymentStatus.PENDING).build();
         when(paymentService.createPayment(any(Order.class), eq(PaymentMethod.KAKAOPAY), any(BigDecimal.class)))
                 .thenReturn(payment);
-        when(paymentService.authorizeAndCapture(payment)).thenReturn(payment);
 
         Order placed = orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY);
 
         // total: 2*10 + 1*20 = 40
         Order savedOrder = orderSaveCaptor.getValue();
         assertEquals(new BigDecimal("40.00"), savedOrder.getTotalAmount());
-        assertEquals(OrderStatus.PAID, placed.getStatus());
+        // PG 결과는 커밋 후 비동기로 오므로 아직 결제 대기
+        assertEquals(OrderStatus.PENDING, placed.getStatus());
 
-        // inventory decreased
-        assertEquals(8L, inv1.getQuantity());
-        assertEquals(4L, inv2.getQuantity());
-        verify(inventoryRepository, times(2)).save(any(Inventory.class));
+        // inventory decreased with one conditional batch, no per-item lookups or saves
+        verify(inventoryRepository).findAllByBook_IdIn(Set.of(11L, 22L));
+        verify(inventoryRepository).decrementStock(Map.of(11L, 2L, 22L, 1L));
+        verify(inventoryRepository, never()).findByBook_Id(anyLong());
+        verify(inventoryRepository, never()).save(any(Inventory.class));
 
         // cart marked checked out and emptied
         assertEquals(CartStatus.CHECKED_OUT, cart.getStatus());
         verify(cartItemRepository).deleteAll(anyList());
         assertTrue(cart.getItems().isEmpty());
 
-        // payment interactions
+        // payment created and authorization requested (sent after commit)
         verify(paymentService).createPayment(any(Order.class), eq(PaymentMethod.KAKAOPAY), eq(new BigDecimal("40.00")));
-        verify(paymentService).authorizeAndCapture(payment);
+        verify(paymentService).requestAuthorization(payment);
+
+        // order-created event for the summary read model (no sales effect), then detail cache invalidation per book;
+        // the sales event waits for the payment result
+        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(3)).publishEvent(eventCaptor.capture());
+        OrderStatusChangedEvent created = (OrderStatusChangedEvent) eventCaptor.getAllValues().get(0);
+        assertEquals(9000L, created.orderId());
+        assertNull(created.from());
+        assertEquals(OrderStatus.PENDING, created.to());
+        assertEquals(0, created.salesSign());
+        assertEquals(List.of(new InventoryChangedEvent(11L), new InventoryChangedEvent(22L)),
+                eventCaptor.getAllValues().subList(1, 3));
+    }
+
+    @Test
+    @DisplayName("placeOrderFromCart reserves flash sale books in Redis and confirms them with the order")
+    void placeOrderFromCart_flashSale_reservesAndConfirms() {
+        FlashSaleInventory.Reservation reservation = mock(FlashSaleInventory.Reservation.class);
+        when(flashSaleInventory.isManaged(anyLong())).thenAnswer(invocation -> invocation.getArgument(0).equals(22L));
+        when(cartRepository.findByUser_IdAndStatus(1L, CartStatus.ACTIVE)).thenReturn(Optional.of(cart));
+        when(inventoryRepository.findAllByBook_IdIn(Set.of(11L))).thenReturn(List.of(inv1));
+        when(inventoryRepository.decrementStock(Map.of(11L, 2L))).thenReturn(List.of());
+        when(flashSaleInventory.reserve(Map.of(22L, 1L))).thenReturn(reservation);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Payment payment = Payment.builder().id(3001L).status(PaymentStatus.PENDING).build();
+        when(paymentService.createPayment(any(Order.class), eq(PaymentMethod.KAKAOPAY), any(BigDecimal.class)))
+                .thenReturn(payment);
+
+        Order placed = orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY);
+
+        assertEquals(OrderStatus.PENDING, placed.getStatus());
+        // book2 재고는 DB 를 거치지 않음
+        verify(inventoryRepository).decrementStock(Map.of(11L, 2L));
+        verify(flashSaleInventory).cancelOnRollback(reservation);
+        verify(flashSaleInventory).confirm(reservation);
+        verify(flashSaleInventory, never()).cancel(any());
+    }
+
+    @Test
+    @DisplayName("placeOrderFromCart releases the flash sale reservation when the order cannot be written")
+    void placeOrderFromCart_flashSale_failure_releases() {
+        FlashSaleInventory.Reservation reservation = mock(FlashSaleInventory.Reservation.class);
+        when(flashSaleInventory.isManaged(anyLong())).thenReturn(true);
+        when(cartRepository.findByUser_IdAndStatus(1L, CartStatus.ACTIVE)).thenReturn(Optional.of(cart));
+        when(flashSaleInventory.reserve(Map.of(11L, 2L, 22L, 1L))).thenReturn(reservation);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentService.createPayment(any(Order.class), eq(PaymentMethod.KAKAOPAY), any(BigDecimal.class)))
+                .thenThrow(new IllegalStateException("Payment could not be created"));
+
+        assertThrows(IllegalStateException.class,
+                () -> orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY));
+        verify(flashSaleInventory).cancel(reservation);
+        verify(flashSaleInventory, never()).confirm(any());
+        verifyNoInteractions(inventoryRepository);
+        assertEquals(CartStatus.ACTIVE, cart.getStatus());
+    }
+
+    @Test
+    @DisplayName("captured payment marks the pending order paid and emits the sales event")
+    void onPaymentStatusChanged_captured_marksPaid() {
+        Order order = Order.builder().id(900L).user(user).status(OrderStatus.PENDING).items(new ArrayList<>()).build();
+        order.getItems().add(OrderItem.builder().order(order).book(book1).quantity(2).build());
+        when(orderRepository.findById(900L)).thenReturn(Optional.of(order));
+
+        orderService.onPaymentStatusChanged(new PaymentStatusChangedEvent(1L, 900L,
+                PaymentStatus.AUTHORIZED, PaymentStatus.CAPTURED, new BigDecimal("20.00")));
+
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        ArgumentCaptor<OrderStatusChangedEvent> eventCaptor = ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(1, eventCaptor.getValue().salesSign());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    @DisplayName("failed payment cancels the pending order and restocks")
+    void onPaymentStatusChanged_failed_cancelsAndRestocks() {
+        when(flashSaleInventory.isManaged(anyLong())).thenAnswer(invocation -> invocation.getArgument(0).equals(22L));
+        Order order = Order.builder().id(901L).user(user).status(OrderStatus.PENDING).items(new ArrayList<>()).build();
+        order.getItems().add(OrderItem.builder().order(order).book(book1).quantity(2).build());
+        order.getItems().add(OrderItem.builder().order(order).book(book2).quantity(1).build());
+        when(orderRepository.findById(901L)).thenReturn(Optional.of(order));
+        when(inventoryRepository.findByBook_Id(11L)).thenReturn(Optional.of(inv1));
+
+        orderService.onPaymentStatusChanged(new PaymentStatusChangedEvent(2L, 901L,
+                PaymentStatus.PENDING, PaymentStatus.FAILED, new BigDecimal("40.00")));
+
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals(12L, inv1.getQuantity());
+        verify(flashSaleInventory).restockAfterCommit(Map.of(22L, 1L));
+        ArgumentCaptor<OrderStatusChangedEvent> eventCaptor = ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(0, eventCaptor.getValue().salesSign());
+    }
+
+    @Test
+    @DisplayName("a payment being reversed after its approval window cancels the pending order")
+    void onPaymentStatusChanged_refundPending_cancels() {
+        Order order = Order.builder().id(903L).user(user).status(OrderStatus.PENDING).items(new ArrayList<>()).build();
+        order.getItems().add(OrderItem.builder().order(order).book(book1).quantity(2).build());
+        when(orderRepository.findById(903L)).thenReturn(Optional.of(order));
+        when(inventoryRepository.findByBook_Id(11L)).thenReturn(Optional.of(inv1));
+
+        orderService.onPaymentStatusChanged(new PaymentStatusChangedEvent(4L, 903L,
+                PaymentStatus.PENDING, PaymentStatus.REFUND_PENDING, new BigDecimal("20.00")));
+
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals(12L, inv1.getQuantity());
+    }
+
+    @Test
+    @DisplayName("payment results for orders that already left PENDING are ignored")
+    void onPaymentStatusChanged_nonPendingOrder_ignored() {
+        Order order = Order.builder().id(902L).user(user).status(OrderStatus.CANCELLED).build();
+        when(orderRepository.findById(902L)).thenReturn(Optional.of(order));
+
+        orderService.onPaymentStatusChanged(new PaymentStatusChangedEvent(3L, 902L,
+                PaymentStatus.PENDING, PaymentStatus.FAILED, new BigDecimal("10.00")));
+
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        verifyNoInteractions(eventPublisher, inventoryRepository);
     }
 
     @Test
@@ -173,11 +343,30 @@ class OrderServiceTest {
     void placeOrderFromCart_insufficientStock_throws() {
         inv1.setQuantity(1L); // need 2
         when(cartRepository.findByUser_IdAndStatus(1L, CartStatus.ACTIVE)).thenReturn(Optional.of(cart));
-        when(inventoryRepository.findByBook_Id(11L)).thenReturn(Optional.of(inv1));
+        when(inventoryRepository.findAllByBook_IdIn(Set.of(11L, 22L))).thenReturn(List.of(inv1, inv2));
 
         IllegalStateException ex = assertThrows(IllegalStateException.class,
                 () -> orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY));
         assertTrue(ex.getMessage().contains("Insufficient stock"));
+        verify(inventoryRepository, never()).decrementStock(anyMap());
+    }
+
+    @Test
+    @DisplayName("placeOrderFromCart fails before payment when a concurrent order took the stock")
+    void placeOrderFromCart_lostRace_throwsBeforePayment() {
+        when(cartRepository.findByUser_IdAndStatus(1L, CartStatus.ACTIVE)).thenReturn(Optional.of(cart));
+        when(inventoryRepository.findAllByBook_IdIn(Set.of(11L, 22L))).thenReturn(List.of(inv1, inv2));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // 확인 이후 다른 주문이 book2 재고를 먼저 차감
+        when(inventoryRepository.decrementStock(Map.of(11L, 2L, 22L, 1L))).thenReturn(List.of(22L));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> orderService.placeOrderFromCart(1L, PaymentMethod.KAKAOPAY));
+        assertTrue(ex.getMessage().contains("Insufficient stock for book: 22"));
+        verifyNoInteractions(paymentService);
+        // 주문 생성 이벤트만 발행되고(주문과 함께 롤백됨) 재고 변경 이벤트는 없음
+        verify(eventPublisher).publishEvent(any(OrderStatusChangedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(InventoryChangedEvent.class));
     }
 
 
@@ -213,6 +402,10 @@ class OrderServiceTest {
         assertEquals(12L, inv1.getQuantity());
         assertEquals(6L, inv2.getQuantity());
         verify(inventoryRepository, times(2)).save(any(Inventory.class));
+        // sales reversed (PAID -> CANCELLED)
+        ArgumentCaptor<OrderStatusChangedEvent> eventCaptor = ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(-1, eventCaptor.getValue().salesSign());
     }
 
     @Test
@@ -239,5 +432,18 @@ class OrderServiceTest {
 
         Order updated = orderService.adminUpdateOrderStatus(99L, OrderStatus.SHIPPED);
         assertEquals(OrderStatus.SHIPPED, updated.getStatus());
+        ArgumentCaptor<OrderStatusChangedEvent> eventCaptor = ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(1, eventCaptor.getValue().salesSign());
+    }
+
+    @Test
+    @DisplayName("adminUpdateOrderStatus skips event when status unchanged")
+    void adminUpdateOrderStatus_sameStatus_noEvent() {
+        Order order = Order.builder().id(98L).user(user).status(OrderStatus.PAID).build();
+        when(orderRepository.findById(98L)).thenReturn(Optional.of(order));
+
+        orderService.adminUpdateOrderStatus(98L, OrderStatus.PAID);
+        verifyNoInteractions(eventPublisher);
     }
 }
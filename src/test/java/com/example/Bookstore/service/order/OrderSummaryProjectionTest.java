@@ -0,0 +1,119 @@
+package com.example.Bookstore.service.order;
+
+import com.example.Bookstore.domain.book.Book;
+import com.example.Bookstore.domain.order.Order;
+import com.example.Bookstore.domain.order.OrderItem;
+import com.example.Bookstore.domain.order.OrderStatus;
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.domain.order.OrderSummary;
+import com.example.Bookstore.domain.user.User;
+import com.example.Bookstore.repository.order.OrderRepository;
+import com.example.Bookstore.repository.order.OrderSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSummaryProjectionTest {
+
+    @Mock private OrderSummaryRepository orderSummaryRepository;
+    @Mock private OrderRepository orderRepository;
+
+    @InjectMocks private OrderSummaryProjection projection;
+
+    private Order order;
+
+    @BeforeEach
+    void setup() {
+        User user = User.builder().id(1L).email("a@a.com").password("pw").build();
+        Book book1 = Book.builder().id(11L).title("B1").imageUrl("/img/b1.jpg").price(new BigDecimal("10.00")).build();
+        Book book2 = Book.builder().id(22L).title("B2").price(new BigDecimal("20.00")).build();
+        order = Order.builder()
+                .id(900L)
+                .user(user)
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("40.00"))
+                .createdAt(LocalDateTime.of(2026, 10, 17, 12, 0))
+                .items(new ArrayList<>())
+                .build();
+        order.getItems().add(OrderItem.builder().id(5001L).order(order).book(book1).quantity(2).build());
+        order.getItems().add(OrderItem.builder().id(5002L).order(order).book(book2).quantity(1).build());
+    }
+
+    @Test
+    @DisplayName("a new order writes one summary row with totals and the first item")
+    void created_upsertsSummary() {
+        when(orderRepository.findById(900L)).thenReturn(Optional.of(order));
+
+        projection.onOrderStatusChanged(OrderStatusChangedEvent.of(order, null));
+
+        ArgumentCaptor<OrderSummary> captor = ArgumentCaptor.forClass(OrderSummary.class);
+        verify(orderSummaryRepository).upsert(captor.capture());
+        OrderSummary summary = captor.getValue();
+        assertEquals(900L, summary.getOrderId());
+        assertEquals(1L, summary.getUserId());
+        assertEquals(OrderStatus.PENDING, summary.getStatus());
+        assertEquals(new BigDecimal("40.00"), summary.getTotalAmount());
+        assertEquals(3, summary.getItemCount());
+        assertEquals(2, summary.getLineCount());
+        assertEquals(11L, summary.getFirstBookId());
+        assertEquals("B1", summary.getFirstItemTitle());
+        assertEquals("/img/b1.jpg", summary.getFirstItemImageUrl());
+        assertEquals(order.getCreatedAt(), summary.getCreatedAt());
+        verify(orderSummaryRepository, never()).updateStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("a status change only updates the status column")
+    void statusChange_updatesStatusOnly() {
+        order.setStatus(OrderStatus.PAID);
+        when(orderSummaryRepository.updateStatus(900L, OrderStatus.PAID)).thenReturn(1);
+
+        projection.onOrderStatusChanged(OrderStatusChangedEvent.of(order, OrderStatus.PENDING));
+
+        verify(orderSummaryRepository, never()).upsert(any());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("a status change for an order without a summary row builds the row from the order")
+    void statusChange_missingRow_buildsFromOrder() {
+        order.setStatus(OrderStatus.CANCELLED);
+        when(orderSummaryRepository.updateStatus(900L, OrderStatus.CANCELLED)).thenReturn(0);
+        when(orderRepository.findById(900L)).thenReturn(Optional.of(order));
+
+        projection.onOrderStatusChanged(OrderStatusChangedEvent.of(order, OrderStatus.PAID));
+
+        ArgumentCaptor<OrderSummary> captor = ArgumentCaptor.forClass(OrderSummary.class);
+        verify(orderSummaryRepository).upsert(captor.capture());
+        assertEquals(OrderStatus.CANCELLED, captor.getValue().getStatus());
+    }
+
+    @Test
+    @DisplayName("summary of an order with no items has zero counts and no first item")
+    void from_emptyOrder() {
+        order.setItems(List.of());
+
+        OrderSummary summary = OrderSummary.from(order);
+
+        assertEquals(0, summary.getItemCount());
+        assertEquals(0, summary.getLineCount());
+        assertNull(summary.getFirstBookId());
+        assertNull(summary.getFirstItemTitle());
+    }
+}
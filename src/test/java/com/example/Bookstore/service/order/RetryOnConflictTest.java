@@ -0,0 +1,67 @@
+package com.example.Bookstore.service.order;
+
+import com.example.Bookstore.config.RetryConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringJUnitConfig({RetryConfig.class, RetryOnConflictTest.ConflictingWriter.class})
+class RetryOnConflictTest {
+
+    static class ConflictingWriter {
+        final AtomicInteger calls = new AtomicInteger();
+        int failures;
+
+        @RetryOnConflict
+        public int write() {
+            if (calls.incrementAndGet() <= failures) {
+                throw new OptimisticLockingFailureException("version mismatch");
+            }
+            return calls.get();
+        }
+
+        @RetryOnConflict
+        public void rejectBusinessError() {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Insufficient stock");
+        }
+    }
+
+    @Autowired private ConflictingWriter writer;
+
+    @BeforeEach
+    void reset() {
+        writer.calls.set(0);
+    }
+
+    @Test
+    @DisplayName("version conflicts are retried until an attempt succeeds")
+    void retriesConflicts() {
+        writer.failures = 2;
+
+        assertEquals(3, writer.write());
+    }
+
+    @Test
+    @DisplayName("gives up after max attempts and rethrows the conflict")
+    void givesUpAfterMaxAttempts() {
+        writer.failures = 5;
+
+        assertThrows(OptimisticLockingFailureException.class, writer::write);
+        assertEquals(3, writer.calls.get());
+    }
+
+    @Test
+    @DisplayName("business errors are not retried")
+    void doesNotRetryBusinessErrors() {
+        assertThrows(IllegalStateException.class, writer::rejectBusinessError);
+        assertEquals(1, writer.calls.get());
+    }
+}
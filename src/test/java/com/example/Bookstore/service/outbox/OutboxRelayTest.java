@@ -0,0 +1,218 @@
+package com.example.Bookstore.service.outbox;
+
+import com.example.Bookstore.config.OutboxProperties;
+import com.example.Bookstore.domain.order.OrderStatus;
+import com.example.Bookstore.domain.order.OrderStatusChangedEvent;
+import com.example.Bookstore.domain.outbox.OutboxDelivery;
+import com.example.Bookstore.domain.outbox.OutboxEvent;
+import com.example.Bookstore.domain.payment.PaymentStatus;
+import com.example.Bookstore.domain.payment.PaymentStatusChangedEvent;
+import com.example.Bookstore.repository.outbox.OutboxDeliveryRepository;
+import com.example.Bookstore.repository.outbox.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    // 받은 이벤트를 모아 두고, failing 이면 예외를 던지는 구독자
+    static class RecordingSubscriber<E> implements OutboxSubscriber<E> {
+        private final String name;
+        private final Class<E> type;
+        final List<E> received = new ArrayList<>();
+        boolean failing;
+
+        RecordingSubscriber(String name, Class<E> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public Class<E> eventType() {
+            return type;
+        }
+
+        @Override
+        public String subscriberName() {
+            return name;
+        }
+
+        @Override
+        public void handle(E event) {
+            if (failing) throw new IllegalStateException("redis down");
+            received.add(event);
+        }
+    }
+
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private OutboxDeliveryRepository outboxDeliveryRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final OutboxProperties properties = new OutboxProperties();
+    private final RecordingSubscriber<OrderStatusChangedEvent> orders = new RecordingSubscriber<>("orders", OrderStatusChangedEvent.class);
+    private final RecordingSubscriber<Object> everything = new RecordingSubscriber<>("everything", Object.class);
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setup() {
+        relay = new OutboxRelay(outboxEventRepository, outboxDeliveryRepository, List.of(orders, everything), objectMapper,
+                TransactionOperations.withoutTransaction(), TransactionOperations.withoutTransaction(), properties);
+    }
+
+    private OutboxEvent outbox(Object event) throws Exception {
+        return OutboxEvent.builder()
+                .id(1L)
+                .eventType(event.getClass().getName())
+                .aggregateType("Order")
+                .aggregateId("9")
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("events are deserialized, dispatched by type and marked published")
+    void relayBatch_dispatchesByType() throws Exception {
+        OrderStatusChangedEvent orderEvent = new OrderStatusChangedEvent(9L, OrderStatus.PENDING, OrderStatus.PAID,
+                LocalDateTime.of(2026, 10, 17, 12, 0), List.of(new OrderStatusChangedEvent.Line(11L, 3L, 2)));
+        PaymentStatusChangedEvent paymentEvent = new PaymentStatusChangedEvent(5L, 9L, PaymentStatus.PENDING,
+                PaymentStatus.CAPTURED, new BigDecimal("40.00"));
+        OutboxEvent first = outbox(orderEvent);
+        OutboxEvent second = outbox(paymentEvent);
+        second.setId(2L);
+        when(outboxEventRepository.lockPending(any(LocalDateTime.class), eq(100))).thenReturn(List.of(first, second));
+
+        assertEquals(2, relay.relayBatch());
+
+        assertEquals(List.of(orderEvent), orders.received);
+        assertEquals(List.of(orderEvent, paymentEvent), everything.received);
+        assertNotNull(first.getPublishedAt());
+        assertNotNull(second.getPublishedAt());
+        verify(outboxDeliveryRepository).deleteByEventIds(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("a partial failure records the subscribers that succeeded and retries only the failed one")
+    void relayBatch_partialFailure_retriesOnlyFailedSubscriber() throws Exception {
+        OrderStatusChangedEvent orderEvent = new OrderStatusChangedEvent(9L, OrderStatus.PENDING, OrderStatus.PAID,
+                LocalDateTime.now(), List.of(new OrderStatusChangedEvent.Line(11L, 3L, 2)));
+        OutboxEvent event = outbox(orderEvent);
+        when(outboxEventRepository.lockPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of(event));
+        orders.failing = true;
+
+        relay.relayBatch();
+
+        assertNull(event.getPublishedAt());
+        assertEquals(List.of(orderEvent), everything.received);
+        verify(outboxDeliveryRepository).recordDeliveries(Map.of(1L, List.of("everything")));
+        verify(outboxDeliveryRepository, never()).deleteByEventIds(anyCollection());
+
+        // 재시도 : 이미 받은 구독자는 건너뜀
+        orders.failing = false;
+        when(outboxDeliveryRepository.findByEventIdIn(List.of(1L))).thenReturn(List.of(
+                OutboxDelivery.builder().eventId(1L).subscriber("everything").build()));
+
+        relay.relayBatch();
+
+        assertNotNull(event.getPublishedAt());
+        assertEquals(List.of(orderEvent), orders.received);
+        assertEquals(List.of(orderEvent), everything.received);
+        verify(outboxDeliveryRepository).recordDeliveries(Map.of(1L, List.of("orders")));
+        verify(outboxDeliveryRepository).deleteByEventIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("events that keep failing are given up after max attempts and no longer scheduled")
+    void relayBatch_maxAttempts_deadLetters() throws Exception {
+        properties.setMaxAttempts(3);
+        orders.failing = true;
+        OutboxEvent event = outbox(new OrderStatusChangedEvent(9L, OrderStatus.PENDING, OrderStatus.PAID,
+                LocalDateTime.now(), List.of()));
+        event.setAttempts(2);
+        LocalDateTime nextAttemptAt = event.getNextAttemptAt();
+        when(outboxEventRepository.lockPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of(event));
+
+        relay.relayBatch();
+
+        assertEquals(3, event.getAttempts());
+        assertNotNull(event.getDeadAt());
+        assertNull(event.getPublishedAt());
+        assertEquals(nextAttemptAt, event.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("subscriber names must be unique because deliveries are tracked by name")
+    void duplicateSubscriberNames_rejected() {
+        RecordingSubscriber<Object> clash = new RecordingSubscriber<>("orders", Object.class);
+
+        assertThrows(IllegalStateException.class, () -> new OutboxRelay(outboxEventRepository, outboxDeliveryRepository,
+                List.of(orders, clash), objectMapper, TransactionOperations.withoutTransaction(),
+                TransactionOperations.withoutTransaction(), properties));
+    }
+
+    @Test
+    @DisplayName("a failing subscriber leaves the event pending with exponential backoff")
+    void relayBatch_failure_backsOff() throws Exception {
+        orders.failing = true;
+        OutboxEvent event = outbox(new OrderStatusChangedEvent(9L, OrderStatus.PENDING, OrderStatus.PAID,
+                LocalDateTime.now(), List.of()));
+        event.setAttempts(2);
+        when(outboxEventRepository.lockPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of(event));
+
+        LocalDateTime before = LocalDateTime.now();
+        relay.relayBatch();
+
+        assertNull(event.getPublishedAt());
+        assertEquals(3, event.getAttempts());
+        // 5s * 2^(3-1) = 20s
+        assertFalse(event.getNextAttemptAt().isBefore(before.plus(Duration.ofSeconds(20))));
+        assertTrue(event.getLastError().contains("redis down"));
+    }
+
+    @Test
+    @DisplayName("unknown event types are not loaded and stay pending")
+    void relayBatch_unknownType() {
+        OutboxEvent event = OutboxEvent.builder().id(2L).eventType("java.lang.Runtime").payload("{}")
+                .aggregateType("X").aggregateId("1").build();
+        when(outboxEventRepository.lockPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of(event));
+
+        relay.relayBatch();
+
+        assertNull(event.getPublishedAt());
+        assertEquals(1, event.getAttempts());
+        assertTrue(everything.received.isEmpty());
+    }
+
+    @Test
+    @DisplayName("relay keeps going while batches come back full")
+    void relay_loopsOverFullBatches() {
+        properties.setBatchSize(1);
+        OutboxEvent unknown = OutboxEvent.builder().id(3L).eventType("x.Y").payload("{}")
+                .aggregateType("X").aggregateId("1").build();
+        when(outboxEventRepository.lockPending(any(LocalDateTime.class), eq(1)))
+                .thenReturn(List.of(unknown))
+                .thenReturn(List.of());
+
+        relay.relay();
+
+        verify(outboxEventRepository, times(2)).lockPending(any(LocalDateTime.class), eq(1));
+    }
+}
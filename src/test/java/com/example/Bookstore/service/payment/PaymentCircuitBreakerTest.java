@@ -0,0 +1,87 @@
+package com.example.Bookstore.service.payment;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final PaymentCircuitBreaker breaker = new PaymentCircuitBreaker(3, Duration.ofSeconds(30), now::get);
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    @Test
+    @DisplayName("opens after consecutive failures and rejects until the open period ends")
+    void opensAfterThreshold() {
+        fail(2);
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, breaker.state());
+
+        fail(1);
+        assertEquals(PaymentCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("a success resets the consecutive failure count")
+    void successResets() {
+        fail(2);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        fail(2);
+
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    @DisplayName("after the open period a single trial call decides whether to close")
+    void halfOpenTrial() {
+        fail(3);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(PaymentCircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("a failed trial re-opens the circuit immediately")
+    void halfOpenFailure_reopens() {
+        fail(3);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(PaymentCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("an abandoned trial lets the next call try instead")
+    void halfOpenAbandoned_allowsNextTrial() {
+        fail(3);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onAbandoned();
+
+        assertTrue(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.Bookstore.service.payment;
+
+import com.example.Bookstore.config.PaymentProperties;
+import com.example.Bookstore.config.PaymentSimulatorProperties;
+import com.example.Bookstore.domain.payment.PaymentStatus;
+import com.example.Bookstore.service.payment.gateway.PaymentGateway;
+import com.example.Bookstore.service.payment.gateway.PaymentGatewayCallback;
+import com.example.Bookstore.service.payment.gateway.PaymentGatewayException;
+import com.example.Bookstore.service.payment.gateway.SimulatedPaymentGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 로컬 PG 시뮬레이터로 PG 지연/장애 상황을 만들어 격벽, 제한 시간, 회로 차단을 확인합니다.
+ */
+@ExtendWith(MockitoExtension.class)
+class PaymentRequestDispatcherTest {
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private final PaymentProperties properties = new PaymentProperties();
+    private final PaymentSimulatorProperties simulatorProperties = new PaymentSimulatorProperties();
+    private SimulatedPaymentGateway simulator;
+    private PaymentRequestDispatcher dispatcher;
+
+    @BeforeEach
+    void setup() {
+        simulatorProperties.setLatencyJitter(Duration.ZERO);
+        simulatorProperties.setCallbackDelay(Duration.ofSeconds(10));
+        simulatorProperties.setFailureRate(0.0);
+        simulator = new SimulatedPaymentGateway(eventPublisher, simulatorProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) dispatcher.shutdown();
+        simulator.shutdown();
+    }
+
+    private PaymentRequestDispatcher dispatcher(PaymentGateway gateway) {
+        dispatcher = new PaymentRequestDispatcher(gateway, eventPublisher, properties);
+        return dispatcher;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("accepted authorizations report the provider transaction id")
+    void authorize_publishesTransactionId() {
+        simulatorProperties.setRequestLatency(Duration.ZERO);
+        dispatcher(simulator).authorize(1L, BigDecimal.TEN);
+
+        verify(eventPublisher, timeout(2000)).publishEvent(argThat((Object event) ->
+                event instanceof PaymentGatewayCallback callback
+                        && callback.paymentId().equals(1L)
+                        && callback.status() == PaymentStatus.PENDING
+                        && callback.transactionId() != null));
+    }
+
+    @Test
+    @DisplayName("a slow provider never blocks the caller and excess requests are shed")
+    void brownout_callersStayFast() {
+        simulatorProperties.setRequestLatency(Duration.ofSeconds(1));
+        properties.setDispatcherThreads(2);
+        properties.setDispatcherQueueCapacity(3);
+        PaymentRequestDispatcher dispatcher = dispatcher(simulator);
+
+        long started = System.nanoTime();
+        for (long paymentId = 1; paymentId <= 20; paymentId++) {
+            dispatcher.authorize(paymentId, BigDecimal.TEN);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // 2 calls in flight, 3 queued, the rest rejected without waiting on the provider
+        assertTrue(elapsed.compareTo(Duration.ofMillis(500)) < 0, "callers waited " + elapsed);
+        assertEquals(15, dispatcher.rejectedCount());
+    }
+
+    @Test
+    @DisplayName("calls over the timeout are interrupted and counted")
+    void slowCall_timesOut() throws InterruptedException {
+        simulatorProperties.setRequestLatency(Duration.ofSeconds(2));
+        properties.setCallTimeout(Duration.ofMillis(100));
+        PaymentRequestDispatcher dispatcher = dispatcher(simulator);
+
+        long started = System.nanoTime();
+        dispatcher.authorize(1L, BigDecimal.TEN);
+        await(() -> dispatcher.timeoutCount() == 1);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("consecutive failures open the circuit and later calls skip the provider")
+    void failures_openCircuit() throws InterruptedException {
+        PaymentGateway failing = mock(PaymentGateway.class);
+        when(failing.inquire(anyString())).thenThrow(new PaymentGatewayException("connection refused"));
+        properties.setDispatcherThreads(1);
+        properties.setCircuitFailureThreshold(2);
+        PaymentRequestDispatcher dispatcher = dispatcher(failing);
+
+        dispatcher.inquire(1L, "T-1");
+        dispatcher.inquire(2L, "T-2");
+        await(() -> dispatcher.circuitState() == PaymentCircuitBreaker.State.OPEN);
+
+        dispatcher.inquire(3L, "T-3");
+
+        assertEquals(1, dispatcher.shortCircuitedCount());
+        verify(failing, times(2)).inquire(anyString());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("startup fails with a clear message when no payment gateway is configured")
+    void noGateway_failsFast() {
+        ObjectProvider<PaymentGateway> none = new StaticListableBeanFactory().getBeanProvider(PaymentGateway.class);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> new PaymentRequestDispatcher(none, eventPublisher, properties));
+
+        assertTrue(ex.getMessage().contains("app.payment.simulator.enabled"));
+    }
+
+    @Test
+    @DisplayName("the default simulator approves every authorization without added latency")
+    void simulatorDefaults_approveAll() {
+        PaymentSimulatorProperties defaults = new PaymentSimulatorProperties();
+
+        assertEquals(0.0, defaults.getFailureRate());
+        assertEquals(Duration.ZERO, defaults.getRequestLatency());
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.Bookstore.service.payment;
+
+import com.example.Bookstore.config.PaymentProperties;
+import com.example.Bookstore.domain.order.Order;
+import com.example.Bookstore.domain.payment.Payment;
+import com.example.Bookstore.domain.payment.PaymentMethod;
+import com.example.Bookstore.domain.payment.PaymentStatus;
+import com.example.Bookstore.domain.payment.PaymentStatusChangedEvent;
+import com.example.Bookstore.repository.payment.PaymentRepository;
+import com.example.Bookstore.service.payment.gateway.PaymentGatewayCallback;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    @Mock private PaymentRepository paymentRepository;
+    @Mock private PaymentRequestDispatcher dispatcher;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private final PaymentProperties properties = new PaymentProperties();
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setup() {
+        paymentService = new PaymentService(paymentRepository, dispatcher, eventPublisher,
+                TransactionOperations.withoutTransaction(), properties);
+    }
+
+    private Payment payment(PaymentStatus status, String transactionId) {
+        Order order = Order.builder().id(77L).build();
+        return Payment.builder()
+                .id(5L)
+                .order(order)
+                .method(PaymentMethod.KAKAOPAY)
+                .status(status)
+                .amount(new BigDecimal("40.00"))
+                .providerTransactionId(transactionId)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private PaymentStatusChangedEvent onlyEvent() {
+        ArgumentCaptor<PaymentStatusChangedEvent> captor = ArgumentCaptor.forClass(PaymentStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("createPayment returns the order's existing payment with a single lookup")
+    void createPayment_existing() {
+        Payment existing = payment(PaymentStatus.PENDING, null);
+        when(paymentRepository.findByOrderId(77L)).thenReturn(Optional.of(existing));
+
+        Payment result = paymentService.createPayment(existing.getOrder(), PaymentMethod.KAKAOPAY, new BigDecimal("40.00"));
+
+        assertSame(existing, result);
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(paymentRepository, never()).existsByOrderId(anyLong());
+    }
+
+    @Test
+    @DisplayName("createPayment inserts a pending payment when the order has none")
+    void createPayment_new() {
+        Order order = Order.builder().id(78L).build();
+        when(paymentRepository.findByOrderId(78L)).thenReturn(Optional.empty());
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Payment result = paymentService.createPayment(order, PaymentMethod.KAKAOPAY, new BigDecimal("40.00"));
+
+        assertEquals(PaymentStatus.PENDING, result.getStatus());
+        assertSame(order, result.getOrder());
+    }
+
+    @Test
+    @DisplayName("authorization is handed to the dispatcher without changing state")
+    void requestAuthorization_dispatches() {
+        Payment payment = payment(PaymentStatus.PENDING, null);
+
+        paymentService.requestAuthorization(payment);
+
+        verify(dispatcher).authorize(5L, new BigDecimal("40.00"));
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("non-positive amounts fail without calling the gateway")
+    void requestAuthorization_invalidAmount_fails() {
+        Payment payment = payment(PaymentStatus.PENDING, null);
+        payment.setAmount(BigDecimal.ZERO);
+
+        paymentService.requestAuthorization(payment);
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals(77L, onlyEvent().orderId());
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    @DisplayName("an accepted request only records the provider transaction id")
+    void callback_pending_recordsTransactionId() {
+        Payment payment = payment(PaymentStatus.PENDING, null);
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.PENDING, null));
+
+        assertEquals("T-1", payment.getProviderTransactionId());
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        verifyNoInteractions(eventPublisher, dispatcher);
+    }
+
+    @Test
+    @DisplayName("authorization moves to AUTHORIZED and requests capture")
+    void callback_authorized_requestsCapture() {
+        Payment payment = payment(PaymentStatus.PENDING, "T-1");
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.AUTHORIZED, null));
+
+        assertEquals(PaymentStatus.AUTHORIZED, payment.getStatus());
+        assertEquals(PaymentStatus.AUTHORIZED, onlyEvent().to());
+        verify(dispatcher).capture(5L, "T-1", new BigDecimal("40.00"));
+    }
+
+    @Test
+    @DisplayName("capture completes the payment once even if the callback is repeated")
+    void callback_captured_isIdempotent() {
+        Payment payment = payment(PaymentStatus.AUTHORIZED, "T-1");
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+        PaymentGatewayCallback captured = new PaymentGatewayCallback(5L, "T-1", PaymentStatus.CAPTURED, null);
+
+        paymentService.onGatewayCallback(captured);
+        paymentService.onGatewayCallback(captured);
+
+        assertEquals(PaymentStatus.CAPTURED, payment.getStatus());
+        PaymentStatusChangedEvent event = onlyEvent();
+        assertEquals(PaymentStatus.AUTHORIZED, event.from());
+        assertEquals(PaymentStatus.CAPTURED, event.to());
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    @DisplayName("declined payments fail with the provider's reason")
+    void callback_failed_recordsReason() {
+        Payment payment = payment(PaymentStatus.PENDING, "T-1");
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.FAILED, "Card declined"));
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals("Card declined", payment.getFailureReason());
+        assertEquals(PaymentStatus.FAILED, onlyEvent().to());
+    }
+
+    @Test
+    @DisplayName("an approval arriving after a local failure is reversed and tracked until the provider confirms")
+    void callback_approvedAfterFailure_refunds() {
+        Payment payment = payment(PaymentStatus.FAILED, "T-1");
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.AUTHORIZED, null));
+
+        assertEquals(PaymentStatus.REFUND_PENDING, payment.getStatus());
+        verify(dispatcher).refund(5L, "T-1", new BigDecimal("40.00"));
+        assertEquals(PaymentStatus.REFUND_PENDING, onlyEvent().to());
+    }
+
+    @Test
+    @DisplayName("an approval arriving while a cancellation is unconfirmed re-sends the refund")
+    void callback_approvedWhileRefundPending_resends() {
+        Payment payment = payment(PaymentStatus.REFUND_PENDING, "T-1");
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.CAPTURED, null));
+
+        assertEquals(PaymentStatus.REFUND_PENDING, payment.getStatus());
+        verify(dispatcher).refund(5L, "T-1", new BigDecimal("40.00"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("a refund is recorded only when the provider reports it")
+    void callback_refunded_confirmsRefund() {
+        Payment payment = payment(PaymentStatus.REFUND_PENDING, "T-1");
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.REFUNDED, null));
+
+        assertEquals(PaymentStatus.REFUNDED, payment.getStatus());
+        PaymentStatusChangedEvent event = onlyEvent();
+        assertEquals(PaymentStatus.REFUND_PENDING, event.from());
+        assertEquals(PaymentStatus.REFUNDED, event.to());
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    @DisplayName("a cancellation confirmed as never approved fails with the cancellation reason")
+    void callback_failedWhileRefundPending_keepsReason() {
+        Payment payment = payment(PaymentStatus.REFUND_PENDING, "T-1");
+        payment.setFailureReason("Cancelled before approval");
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.FAILED, "Declined by simulator"));
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals("Cancelled before approval", payment.getFailureReason());
+    }
+
+    @Test
+    @DisplayName("a cancellation made before the transaction id was known is sent once the id arrives")
+    void callback_transactionIdWhileRefundPending_sendsRefund() {
+        Payment payment = payment(PaymentStatus.REFUND_PENDING, null);
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.PENDING, null));
+
+        assertEquals("T-1", payment.getProviderTransactionId());
+        verify(dispatcher).refund(5L, "T-1", new BigDecimal("40.00"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("concurrent updates are left to polling instead of failing the callback thread")
+    void callback_optimisticConflict_swallowed() {
+        when(paymentRepository.findById(5L)).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertDoesNotThrow(() -> paymentService.onGatewayCallback(
+                new PaymentGatewayCallback(5L, "T-1", PaymentStatus.CAPTURED, null)));
+    }
+
+    @Test
+    @DisplayName("refund of a captured payment waits for the provider before it counts as refunded")
+    void refund_captured() {
+        Payment payment = payment(PaymentStatus.CAPTURED, "T-1");
+
+        paymentService.refund(payment);
+
+        assertEquals(PaymentStatus.REFUND_PENDING, payment.getStatus());
+        verify(dispatcher).refund(5L, "T-1", new BigDecimal("40.00"));
+        assertEquals(PaymentStatus.REFUND_PENDING, onlyEvent().to());
+    }
+
+    @Test
+    @DisplayName("cancelling before the request was accepted leaves the reversal to the transaction id callback or polling")
+    void refund_pendingWithoutTransaction() {
+        Payment payment = payment(PaymentStatus.PENDING, null);
+
+        paymentService.refund(payment);
+
+        assertEquals(PaymentStatus.REFUND_PENDING, payment.getStatus());
+        assertEquals("Cancelled before approval", payment.getFailureReason());
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    @DisplayName("polling re-sends lost requests, inquires in-flight ones and expires old ones")
+    void pollStalePayments() {
+        Payment notSent = payment(PaymentStatus.PENDING, null);
+        Payment awaiting = payment(PaymentStatus.AUTHORIZED, "T-2");
+        awaiting.setId(6L);
+        Payment expired = payment(PaymentStatus.PENDING, "T-3");
+        expired.setId(7L);
+        expired.setCreatedAt(LocalDateTime.now().minusHours(1));
+        when(paymentRepository.findByStatusInAndUpdatedAtBefore(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(notSent, awaiting, expired));
+        when(paymentRepository.findById(7L)).thenReturn(Optional.of(expired));
+
+        paymentService.pollStalePayments();
+
+        verify(dispatcher).authorize(5L, new BigDecimal("40.00"));
+        verify(dispatcher).inquire(6L, "T-2");
+        assertEquals(PaymentStatus.REFUND_PENDING, expired.getStatus());
+        assertEquals("Authorization timed out", expired.getFailureReason());
+        verify(dispatcher).refund(7L, "T-3", new BigDecimal("40.00"));
+    }
+
+    @Test
+    @DisplayName("polling also covers unconfirmed refunds: inquire by transaction, or find the transaction first")
+    void pollStalePayments_refundPending() {
+        Payment withTransaction = payment(PaymentStatus.REFUND_PENDING, "T-4");
+        Payment withoutTransaction = payment(PaymentStatus.REFUND_PENDING, null);
+        withoutTransaction.setId(8L);
+        withoutTransaction.setCreatedAt(LocalDateTime.now().minusHours(1));
+        when(paymentRepository.findByStatusInAndUpdatedAtBefore(argThat((Collection<PaymentStatus> statuses) ->
+                statuses.contains(PaymentStatus.REFUND_PENDING)), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(withTransaction, withoutTransaction));
+
+        paymentService.pollStalePayments();
+
+        verify(dispatcher).inquire(5L, "T-4");
+        verify(dispatcher).lookup(8L);
+        verify(dispatcher, never()).authorize(anyLong(), any());
+        verify(paymentRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("a refund dropped during a provider brownout is re-sent from polling until confirmed")
+    void droppedRefund_recoveredByPolling() {
+        Payment payment = payment(PaymentStatus.CAPTURED, "T-1");
+        // 1st refund is shed by the dispatcher (circuit open / queue full): nothing reaches the provider
+        paymentService.refund(payment);
+        assertEquals(PaymentStatus.REFUND_PENDING, payment.getStatus());
+
+        when(paymentRepository.findByStatusInAndUpdatedAtBefore(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(payment));
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(payment));
+
+        paymentService.pollStalePayments();
+        verify(dispatcher).inquire(5L, "T-1");
+        // provider still shows the charge: the refund goes out again
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.CAPTURED, null));
+        verify(dispatcher, times(2)).refund(5L, "T-1", new BigDecimal("40.00"));
+        assertEquals(PaymentStatus.REFUND_PENDING, payment.getStatus());
+
+        paymentService.onGatewayCallback(new PaymentGatewayCallback(5L, "T-1", PaymentStatus.REFUNDED, null));
+        assertEquals(PaymentStatus.REFUNDED, payment.getStatus());
+    }
+}
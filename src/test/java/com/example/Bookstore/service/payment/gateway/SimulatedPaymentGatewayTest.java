@@ -0,0 +1,104 @@
+package com.example.Bookstore.service.payment.gateway;
+
+import com.example.Bookstore.config.PaymentSimulatorProperties;
+import com.example.Bookstore.domain.payment.PaymentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SimulatedPaymentGatewayTest {
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private final PaymentSimulatorProperties properties = new PaymentSimulatorProperties();
+    private SimulatedPaymentGateway gateway;
+
+    @BeforeEach
+    void setup() {
+        properties.setRequestLatency(Duration.ZERO);
+        properties.setLatencyJitter(Duration.ZERO);
+        properties.setCallbackDelay(Duration.ZERO);
+        properties.setFailureRate(0.0);
+        gateway = new SimulatedPaymentGateway(eventPublisher, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.shutdown();
+    }
+
+    @Test
+    @DisplayName("authorization and capture are reported through callbacks")
+    void authorizeThenCapture() {
+        String tid = gateway.requestAuthorization(1L, new BigDecimal("10.00"));
+        verify(eventPublisher, timeout(1000))
+                .publishEvent(new PaymentGatewayCallback(1L, tid, PaymentStatus.AUTHORIZED, null));
+
+        gateway.requestCapture(tid, new BigDecimal("10.00"));
+        verify(eventPublisher, timeout(1000))
+                .publishEvent(new PaymentGatewayCallback(1L, tid, PaymentStatus.CAPTURED, null));
+        assertEquals(PaymentStatus.CAPTURED, gateway.inquire(tid));
+    }
+
+    @Test
+    @DisplayName("repeated authorization for the same payment reuses the transaction")
+    void authorize_isIdempotentPerPayment() {
+        String first = gateway.requestAuthorization(2L, BigDecimal.ONE);
+        String second = gateway.requestAuthorization(2L, BigDecimal.ONE);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("failure rate declines authorizations")
+    void authorize_declined() {
+        properties.setFailureRate(1.0);
+
+        String tid = gateway.requestAuthorization(3L, BigDecimal.ONE);
+
+        verify(eventPublisher, timeout(1000))
+                .publishEvent(new PaymentGatewayCallback(3L, tid, PaymentStatus.FAILED, "Declined by simulator"));
+    }
+
+    @Test
+    @DisplayName("lost callbacks can still be resolved by inquiry")
+    void lostCallback_inquire() throws InterruptedException {
+        properties.setCallbackLossRate(1.0);
+
+        String tid = gateway.requestAuthorization(4L, BigDecimal.ONE);
+
+        long deadline = System.currentTimeMillis() + 1000;
+        while (gateway.inquire(tid) == PaymentStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(PaymentStatus.AUTHORIZED, gateway.inquire(tid));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("transactions can be found by payment id when the transaction id was never received")
+    void findTransactionId() {
+        String tid = gateway.requestAuthorization(5L, BigDecimal.ONE);
+
+        assertEquals(tid, gateway.findTransactionId(5L));
+        assertNull(gateway.findTransactionId(6L));
+    }
+
+    @Test
+    @DisplayName("unknown transactions are gateway errors, not payment results")
+    void unknownTransaction_throws() {
+        assertThrows(PaymentGatewayException.class, () -> gateway.inquire("nope"));
+    }
+}
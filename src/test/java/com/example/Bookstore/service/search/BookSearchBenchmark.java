@@ -0,0 +1,80 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.repository.book.BookRepository;
+import com.example.Bookstore.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 시드 카탈로그(db.seed)를 대상으로 n-gram 인덱스 검색과 ContainingIgnoreCase(LIKE '%q%') 쿼리를 비교합니다.
+ * MySQL 이 떠 있어야 하므로 기본 test 태스크에서는 제외되고 {@code ./gradlew benchmark} 로 실행합니다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BookSearchBenchmark {
+
+    //부분 단어 위주의 검색어 (저자 "박경리" 안의 "경리" 처럼)
+    private static final List<String> QUERIES = List.of(
+            "경리", "소년", "미래", "어른의", "투자", "프로젝트", "히가시노", "문학", "창비", "한강");
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired private BookRepository bookRepository;
+    @Autowired private BookService bookService;
+    @Autowired private BookSearchIndex bookSearchIndex;
+
+    @Test
+    @DisplayName("n-gram index vs ContainingIgnoreCase on the seeded catalog")
+    void compareWithContainingIgnoreCase() {
+        assumeTrue(bookSearchIndex.isReady() && bookSearchIndex.size() > 0, "검색 인덱스가 비어 있습니다");
+        PageRequest pageable = PageRequest.of(0, 12);
+
+        for (String q : QUERIES) {
+            assertEquals(bookRepository.findByTitleContainingIgnoreCase(q, pageable).getTotalElements(),
+                    bookService.getBooksByTitleContainingIgnoreCase(q, pageable).getTotalElements(), "title: " + q);
+            assertEquals(bookRepository.findByPublisherContainingIgnoreCase(q, pageable).getTotalElements(),
+                    bookService.getBooksByPublisherContainingIgnoreCase(q, pageable).getTotalElements(), "publisher: " + q);
+        }
+
+        System.out.printf("%-10s %14s %14s%n", "field", "LIKE (us/op)", "index (us/op)");
+        report("title",
+                q -> bookRepository.findByTitleContainingIgnoreCase(q, pageable),
+                q -> bookService.getBooksByTitleContainingIgnoreCase(q, pageable));
+        report("publisher",
+                q -> bookRepository.findByPublisherContainingIgnoreCase(q, pageable),
+                q -> bookService.getBooksByPublisherContainingIgnoreCase(q, pageable));
+        report("author",
+                q -> bookRepository.findByBookAuthors_Author_NameContainingIgnoreCase(q, pageable),
+                q -> bookService.getBooksByAuthorContainingIgnoreCase(q, pageable));
+        report("all",
+                q -> bookRepository.findByTitleContainingIgnoreCaseOrBookAuthors_Author_NameContainingIgnoreCaseOrPublisherContainingIgnoreCase(q, q, q, pageable),
+                q -> bookService.getBooksByAllFields(q, pageable));
+    }
+
+    private void report(String field, Function<String, Page<?>> like, Function<String, Page<?>> index) {
+        System.out.printf("%-10s %14.1f %14.1f%n", field, measure(like), measure(index));
+    }
+
+    //검색어 전체를 한 바퀴 도는 데 걸린 평균 시간을 검색어 1건 기준 마이크로초로 반환
+    private double measure(Function<String, Page<?>> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            QUERIES.forEach(search::apply);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            QUERIES.forEach(search::apply);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS / QUERIES.size();
+    }
+}
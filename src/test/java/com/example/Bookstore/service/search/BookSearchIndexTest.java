@@ -0,0 +1,130 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.dto.book.BookCursor;
+import com.example.Bookstore.dto.book.BookSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new BookSearchIndex(new WhitespaceTokenizer());
+        index.rebuild(List.of(
+                new BookSearchDocument(1L, 10L, "토지 1", "마로니에북스", List.of("박경리"), null, null),
+                new BookSearchDocument(2L, 10L, "토지 2", "마로니에북스", List.of("박경리"), null, null),
+                new BookSearchDocument(3L, 20L, "Modern Java in Action", "한빛미디어", List.of("Raoul-Gabriel Urma", "Mario Fusco"), null, null),
+                new BookSearchDocument(4L, 20L, "이것이 자바다", "한빛미디어", List.of("신용권"), null, null)
+        ));
+    }
+
+    @Test
+    @DisplayName("matches partial words case-insensitively like ContainingIgnoreCase")
+    void search_partialWord() {
+        Page<Long> byAuthor = index.search(EnumSet.of(SearchField.AUTHOR), null, "경리", PageRequest.of(0, 10));
+        assertEquals(List.of(1L, 2L), byAuthor.getContent());
+
+        Page<Long> byTitle = index.search(EnumSet.of(SearchField.TITLE), null, "JAVA", PageRequest.of(0, 10));
+        assertEquals(List.of(3L), byTitle.getContent());
+    }
+
+    @Test
+    @DisplayName("uses postings for multi-word queries and verifies the whole phrase")
+    void search_multiWord() {
+        Page<Long> result = index.search(EnumSet.of(SearchField.TITLE), null, "modern java in action", PageRequest.of(0, 10));
+        assertEquals(List.of(3L), result.getContent());
+
+        Page<Long> none = index.search(EnumSet.of(SearchField.TITLE), null, "java modern in", PageRequest.of(0, 10));
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    @DisplayName("all-fields search filtered by category with paging")
+    void search_allFieldsWithCategory() {
+        Page<Long> first = index.search(EnumSet.allOf(SearchField.class), 20L, "한빛", PageRequest.of(0, 1));
+        assertEquals(2, first.getTotalElements());
+        assertEquals(List.of(3L), first.getContent());
+
+        Page<Long> second = index.search(EnumSet.allOf(SearchField.class), 20L, "한빛", PageRequest.of(1, 1));
+        assertEquals(List.of(4L), second.getContent());
+    }
+
+    @Test
+    @DisplayName("upsert replaces old terms and remove drops the book")
+    void upsertAndRemove() {
+        index.upsert(new BookSearchDocument(4L, 20L, "혼자 공부하는 자바", "한빛미디어", List.of("신용권"), null, null));
+        assertTrue(index.search(EnumSet.of(SearchField.TITLE), null, "이것이", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(4L), index.search(EnumSet.of(SearchField.TITLE), null, "공부", PageRequest.of(0, 10)).getContent());
+
+        index.remove(4L);
+        assertTrue(index.search(EnumSet.of(SearchField.AUTHOR), null, "신용권", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("n-gram tokenizer answers partial Hangul words from postings alone")
+    void ngram_partialHangul() {
+        NGramTokenizer tokenizer = new NGramTokenizer(2, 3, false);
+        assertEquals(Set.of("경리"), tokenizer.requiredTerms("경리"));
+        assertTrue(tokenizer.tokenize("박경리").containsAll(Set.of("박경", "경리", "박경리")));
+
+        BookSearchIndex ngramIndex = new BookSearchIndex(tokenizer);
+        ngramIndex.rebuild(List.of(
+                new BookSearchDocument(1L, 10L, "토지 1", "마로니에북스", List.of("박경리"), null, null),
+                new BookSearchDocument(2L, 20L, "소년이 온다", "창비", List.of("한강"), null, null)
+        ));
+        assertEquals(List.of(1L), ngramIndex.search(EnumSet.of(SearchField.AUTHOR), null, "경리", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(2L), ngramIndex.search(EnumSet.of(SearchField.TITLE), null, "이 온", PageRequest.of(0, 10)).getContent());
+        //한 글자 검색어는 후보 없이 문서를 훑어서 찾음
+        assertEquals(List.of(2L), ngramIndex.search(EnumSet.of(SearchField.AUTHOR), null, "강", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("jamo decomposition matches a syllable that is still being typed")
+    void ngram_jamoDecomposition() {
+        assertEquals("ㅂㅏㄱㄱㅕㅇㄹㅣ", NGramTokenizer.decompose("박경리"));
+
+        BookSearchIndex jamoIndex = new BookSearchIndex(new NGramTokenizer(2, 3, true));
+        jamoIndex.rebuild(List.of(new BookSearchDocument(1L, 10L, "토지", "마로니에북스", List.of("박경리"), null, null)));
+        assertEquals(List.of(1L), jamoIndex.search(EnumSet.of(SearchField.TITLE), null, "토ㅈ", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("searchAfter walks results slice by slice with a cursor")
+    void searchAfter_cursor() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        index.rebuild(List.of(
+                new BookSearchDocument(1L, 10L, "자바 기초", "한빛미디어", List.of("신용권"), base, new BigDecimal("20000")),
+                new BookSearchDocument(2L, 10L, "자바 심화", "한빛미디어", List.of("신용권"), base.plusDays(1), new BigDecimal("15000")),
+                new BookSearchDocument(3L, 10L, "자바 실전", "한빛미디어", List.of("신용권"), base.plusDays(1), new BigDecimal("15000"))
+        ));
+
+        Slice<BookSearchDocument> first = index.searchAfter(EnumSet.of(SearchField.TITLE), null, "자바", BookSort.LATEST, null, 2);
+        assertEquals(List.of(3L, 2L), first.getContent().stream().map(BookSearchDocument::id).toList());
+        assertTrue(first.hasNext());
+
+        BookSearchDocument last = first.getContent().get(1);
+        BookCursor cursor = BookCursor.decode(BookCursor.of(BookSort.LATEST, last.id(), last.createdAt(), last.price()).encode());
+        Slice<BookSearchDocument> second = index.searchAfter(EnumSet.of(SearchField.TITLE), null, "자바", BookSort.LATEST, cursor, 2);
+        assertEquals(List.of(1L), second.getContent().stream().map(BookSearchDocument::id).toList());
+        assertFalse(second.hasNext());
+
+        Slice<BookSearchDocument> byPrice = index.searchAfter(EnumSet.of(SearchField.TITLE), null, "자바", BookSort.PRICE,
+                BookCursor.of(BookSort.PRICE, 2L, null, new BigDecimal("15000")), 10);
+        assertEquals(List.of(3L, 1L), byPrice.getContent().stream().map(BookSearchDocument::id).toList());
+    }
+}
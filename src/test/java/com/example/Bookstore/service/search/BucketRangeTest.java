@@ -0,0 +1,70 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.domain.search.BucketGranularity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.Bookstore.domain.search.BucketGranularity.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketRangeTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private static BucketRange range(BucketGranularity g, LocalDateTime from, LocalDateTime to) {
+        return new BucketRange(g, from, to);
+    }
+
+    @Test
+    @DisplayName("short window inside one hour reads minute buckets only")
+    void split_withinHour() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 17, 14, 35, 20);
+
+        List<BucketRange> ranges = BucketRange.split(now.minusMinutes(10), now, LONG_AGO, LONG_AGO);
+
+        assertEquals(List.of(range(MINUTE, LocalDateTime.of(2026, 10, 17, 14, 25), LocalDateTime.of(2026, 10, 17, 14, 36))), ranges);
+    }
+
+    @Test
+    @DisplayName("last 24h uses minute edges and hour buckets in between")
+    void split_last24h() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 17, 14, 35);
+
+        List<BucketRange> ranges = BucketRange.split(now.minusHours(24), now, LONG_AGO, LONG_AGO);
+
+        assertEquals(List.of(
+                range(MINUTE, LocalDateTime.of(2026, 10, 16, 14, 35), LocalDateTime.of(2026, 10, 16, 15, 0)),
+                range(HOUR, LocalDateTime.of(2026, 10, 16, 15, 0), LocalDateTime.of(2026, 10, 17, 14, 0)),
+                range(MINUTE, LocalDateTime.of(2026, 10, 17, 14, 0), LocalDateTime.of(2026, 10, 17, 14, 36))
+        ), ranges);
+    }
+
+    @Test
+    @DisplayName("multi-day window uses day buckets for whole days")
+    void split_week() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 17, 14, 35);
+
+        List<BucketRange> ranges = BucketRange.split(now.minusDays(7), now, LONG_AGO, LONG_AGO);
+
+        assertEquals(List.of(
+                range(MINUTE, LocalDateTime.of(2026, 10, 10, 14, 35), LocalDateTime.of(2026, 10, 10, 15, 0)),
+                range(HOUR, LocalDateTime.of(2026, 10, 10, 15, 0), LocalDateTime.of(2026, 10, 11, 0, 0)),
+                range(DAY, LocalDateTime.of(2026, 10, 11, 0, 0), LocalDateTime.of(2026, 10, 17, 0, 0)),
+                range(HOUR, LocalDateTime.of(2026, 10, 17, 0, 0), LocalDateTime.of(2026, 10, 17, 14, 0)),
+                range(MINUTE, LocalDateTime.of(2026, 10, 17, 14, 0), LocalDateTime.of(2026, 10, 17, 14, 36))
+        ), ranges);
+    }
+
+    @Test
+    @DisplayName("window start older than minute/hour retention snaps to the coarser boundary")
+    void split_snapsToRetainedBuckets() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 17, 14, 35);
+
+        List<BucketRange> ranges = BucketRange.split(now.minusDays(7), now, now.minusHours(3), now.minusDays(3));
+
+        assertEquals(range(DAY, LocalDateTime.of(2026, 10, 10, 0, 0), LocalDateTime.of(2026, 10, 17, 0, 0)), ranges.get(0));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.dto.search.KeywordCount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterSketchTest {
+
+    @Test
+    @DisplayName("keeps the true heavy hitters among many one-off keywords")
+    void top_findsHeavyHitters() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(10, 1024, 4);
+        for (int round = 0; round < 50; round++) {
+            sketch.offer("토지", 3);
+            sketch.offer("자바", 2);
+            sketch.offer("typo-" + round, 1);
+        }
+
+        List<KeywordCount> top = sketch.top(2);
+
+        assertEquals(List.of(new KeywordCount("토지", 150), new KeywordCount("자바", 100)), top);
+        assertTrue(sketch.size() <= 10);
+    }
+
+    @Test
+    @DisplayName("drain returns only unpersisted increments, restore re-exposes them")
+    void drain_andRestore() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(10, 1024, 4);
+        sketch.offer("토지", 4);
+
+        assertEquals(Map.of("토지", 4L), sketch.drainUnpersisted());
+        assertEquals(Map.of(), sketch.drainUnpersisted());
+
+        sketch.offer("토지", 2);
+        Map<String, Long> deltas = sketch.drainUnpersisted();
+        assertEquals(Map.of("토지", 2L), deltas);
+
+        sketch.restoreUnpersisted(deltas);
+        assertEquals(Map.of("토지", 2L), sketch.drainUnpersisted());
+    }
+
+    @Test
+    @DisplayName("a re-admitted keyword does not persist what was already persisted before eviction")
+    void readmission_doesNotDoubleCount() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(1, 1024, 4);
+        sketch.offer("a", 3);
+        assertEquals(Map.of("a", 3L), sketch.drainUnpersisted());
+
+        sketch.offer("b", 5);
+        assertFalse(sketch.isTracked("a"));
+        assertEquals(Map.of("b", 5L), sketch.drainUnpersisted());
+
+        sketch.offer("a", 4);
+        assertTrue(sketch.isTracked("a"));
+        assertEquals(Map.of("a", 4L), sketch.drainUnpersisted());
+    }
+}
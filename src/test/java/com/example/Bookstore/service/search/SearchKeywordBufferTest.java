@@ -0,0 +1,164 @@
+package com.example.Bookstore.service.search;
+
+import com.example.Bookstore.config.SearchKeywordProperties;
+import com.example.Bookstore.domain.search.BucketGranularity;
+import com.example.Bookstore.repository.search.SearchKeywordBucketRepository;
+import com.example.Bookstore.repository.search.SearchKeywordStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchKeywordBufferTest {
+
+    @Mock private SearchKeywordStatRepository searchKeywordStatRepository;
+    @Mock private SearchKeywordBucketRepository searchKeywordBucketRepository;
+    @Mock private SearchSuggestionService searchSuggestionService;
+
+    private final SearchKeywordProperties properties = new SearchKeywordProperties();
+    private SearchKeywordBuffer buffer;
+
+    @BeforeEach
+    void setup() {
+        buffer = new SearchKeywordBuffer(searchKeywordStatRepository, searchKeywordBucketRepository,
+                TransactionOperations.withoutTransaction(), searchSuggestionService, properties);
+    }
+
+    @Test
+    @DisplayName("aggregates searches in memory and writes one batched upsert per flush")
+    @SuppressWarnings("unchecked")
+    void flush_batchesCounts() {
+        buffer.record("토지");
+        buffer.record(" 토지 ");
+        buffer.record("자바");
+
+        buffer.flush();
+
+        ArgumentCaptor<Map<String, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(searchKeywordStatRepository, times(1)).upsertCounts(captor.capture(), any(LocalDateTime.class));
+        assertEquals(Map.of("토지", 2L, "자바", 1L), captor.getValue());
+        verify(searchKeywordBucketRepository).addCounts(eq(BucketGranularity.MINUTE), any(LocalDateTime.class), eq(captor.getValue()));
+        verify(searchSuggestionService).addKeywordCounts(captor.getValue());
+        assertEquals(0, buffer.pendingKeywords());
+
+        buffer.flush();
+        verifyNoMoreInteractions(searchKeywordStatRepository, searchKeywordBucketRepository, searchSuggestionService);
+    }
+
+    @Test
+    @DisplayName("failed flush sends the same increments on the next attempt")
+    @SuppressWarnings("unchecked")
+    void flush_failure_requeues() {
+        buffer.record("토지");
+        doThrow(new QueryTimeoutException("timeout")).doNothing()
+                .when(searchKeywordStatRepository).upsertCounts(anyMap(), any(LocalDateTime.class));
+
+        buffer.flush();
+        buffer.flush();
+        ArgumentCaptor<Map<String, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(searchKeywordStatRepository, times(2)).upsertCounts(captor.capture(), any(LocalDateTime.class));
+        assertEquals(Map.of("토지", 1L), captor.getValue());
+        // 자동완성에는 반영에 성공한 한 번만 더함
+        verify(searchSuggestionService, times(1)).addKeywordCounts(Map.of("토지", 1L));
+    }
+
+    @Test
+    @DisplayName("new keywords beyond the pending limit are dropped, known ones still count")
+    void record_boundedMemory() {
+        properties.setMaxPendingKeywords(2);
+        buffer.record("a");
+        buffer.record("b");
+        buffer.record("c");
+        buffer.record("a");
+
+        assertEquals(2, buffer.pendingKeywords());
+        assertEquals(1L, buffer.droppedCount());
+    }
+
+    @Test
+    @DisplayName("long keywords are truncated to the column length")
+    @SuppressWarnings("unchecked")
+    void record_truncates() {
+        properties.setMaxKeywordLength(3);
+        buffer.record("abcdef");
+
+        buffer.flush();
+
+        ArgumentCaptor<Map<String, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(searchKeywordStatRepository).upsertCounts(captor.capture(), any(LocalDateTime.class));
+        assertEquals(Map.of("abc", 1L), captor.getValue());
+    }
+
+    @Test
+    @DisplayName("once the tracked set is full, rare keywords stay in the sketch and are not persisted")
+    @SuppressWarnings("unchecked")
+    void flush_persistsOnlyHeavyHitters() {
+        properties.setTrackedKeywords(2);
+        buffer = new SearchKeywordBuffer(searchKeywordStatRepository, searchKeywordBucketRepository,
+                TransactionOperations.withoutTransaction(), searchSuggestionService, properties);
+        for (int i = 0; i < 5; i++) buffer.record("토지");
+        for (int i = 0; i < 3; i++) buffer.record("자바");
+        buffer.flush();
+
+        buffer.record("오타");
+        buffer.flush();
+
+        assertFalse(buffer.isTracked("오타"));
+        ArgumentCaptor<Map<String, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(searchKeywordStatRepository, times(1)).upsertCounts(captor.capture(), any(LocalDateTime.class));
+        assertEquals(Map.of("토지", 5L, "자바", 3L), captor.getValue());
+        verify(searchSuggestionService, never()).addKeywordCounts(argThat(deltas -> deltas.containsKey("오타")));
+    }
+
+    @Test
+    @DisplayName("a newly tracked keyword adds only this flush's searches to the minute bucket")
+    @SuppressWarnings("unchecked")
+    void flush_bucketUsesRawCounts() {
+        properties.setTrackedKeywords(1);
+        buffer = new SearchKeywordBuffer(searchKeywordStatRepository, searchKeywordBucketRepository,
+                TransactionOperations.withoutTransaction(), searchSuggestionService, properties);
+        for (int i = 0; i < 3; i++) buffer.record("토지");
+        buffer.flush();
+        for (int i = 0; i < 2; i++) buffer.record("자바");
+        buffer.flush();
+        clearInvocations(searchKeywordStatRepository, searchKeywordBucketRepository);
+
+        // 누적 추정치 4 로 추적 시작 : 통계에는 4, 분 버킷에는 이번 주기의 2 만
+        for (int i = 0; i < 2; i++) buffer.record("자바");
+        buffer.flush();
+
+        assertTrue(buffer.isTracked("자바"));
+        verify(searchKeywordStatRepository).upsertCounts(eq(Map.of("자바", 4L)), any(LocalDateTime.class));
+        verify(searchKeywordBucketRepository).addCounts(eq(BucketGranularity.MINUTE), any(LocalDateTime.class), eq(Map.of("자바", 2L)));
+    }
+
+    @Test
+    @DisplayName("minute bucket counts from a failed flush are sent with the next one")
+    void flush_failure_keepsBucketCounts() {
+        buffer.record("토지");
+        doThrow(new QueryTimeoutException("timeout")).doNothing()
+                .when(searchKeywordBucketRepository).addCounts(any(), any(LocalDateTime.class), anyMap());
+        buffer.flush();
+
+        buffer.record("토지");
+        buffer.flush();
+
+        verify(searchKeywordBucketRepository).addCounts(eq(BucketGranularity.MINUTE), any(LocalDateTime.class), eq(Map.of("토지", 2L)));
+    }
+}
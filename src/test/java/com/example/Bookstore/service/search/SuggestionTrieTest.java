@@ -0,0 +1,45 @@
+package com.example.Bookstore.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    @Test
+    @DisplayName("returns prefix matches ordered by weight, including prefixes ending inside an edge")
+    void suggest_ordersByWeight() {
+        SuggestionTrie trie = new SuggestionTrie(3);
+        trie.add("토지", "토지", SuggestionType.TITLE, 1);
+        trie.add("토지 1", "토지 1", SuggestionType.TITLE, 1);
+        trie.add("토마토", "토마토", SuggestionType.KEYWORD, 5);
+        trie.add("토익", "토익", SuggestionType.KEYWORD, 3);
+
+        assertEquals(List.of("토마토", "토익", "토지"), texts(trie.suggest("토", 10)));
+        assertEquals(List.of("토지", "토지 1"), texts(trie.suggest("토지", 10)));
+        assertEquals(List.of("토마토"), texts(trie.suggest("토마", 10)));
+        assertTrue(trie.suggest("소년", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("incremental weight changes reorder and refill the per-node top-k")
+    void addAndSubtract_updateTopK() {
+        SuggestionTrie trie = new SuggestionTrie(2);
+        trie.add("자바", "자바", SuggestionType.KEYWORD, 2);
+        trie.add("자바의 정석", "자바의 정석", SuggestionType.TITLE, 1);
+        trie.add("자바스크립트", "자바스크립트", SuggestionType.KEYWORD, 1);
+
+        trie.add("자바스크립트", "자바스크립트", SuggestionType.KEYWORD, 5);
+        assertEquals(List.of("자바스크립트", "자바"), texts(trie.suggest("자", 10)));
+
+        trie.subtract("자바스크립트", 6);
+        assertEquals(List.of("자바", "자바의 정석"), texts(trie.suggest("자", 10)));
+    }
+
+    private List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}
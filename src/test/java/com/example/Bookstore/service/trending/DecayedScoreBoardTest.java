@@ -0,0 +1,92 @@
+package com.example.Bookstore.service.trending;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecayedScoreBoardTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("score halves after one half-life")
+    void decay_halvesPerHalfLife() {
+        DecayedScoreBoard board = new DecayedScoreBoard(Duration.ofHours(1), 10, T0);
+        board.record(1L, 10L, 8.0, T0);
+
+        board.refresh(T0 + 2 * HOUR);
+
+        assertEquals(2.0, board.top().get(0).score(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("recent demand outranks older, larger demand")
+    void recentEventsWin() {
+        DecayedScoreBoard board = new DecayedScoreBoard(Duration.ofHours(1), 10, T0);
+        board.record(1L, 10L, 10.0, T0);
+        board.record(2L, 10L, 4.0, T0 + 3 * HOUR);
+
+        board.refresh(T0 + 3 * HOUR);
+
+        assertEquals(List.of(2L, 1L), board.top().stream().map(DecayedScoreBoard.Score::bookId).toList());
+    }
+
+    @Test
+    @DisplayName("keeps top-K overall and per category, and a negative record cancels out exactly")
+    void topK_perCategory_andCancellation() {
+        DecayedScoreBoard board = new DecayedScoreBoard(Duration.ofHours(1), 2, T0);
+        board.record(1L, 10L, 5.0, T0);
+        board.record(2L, 10L, 3.0, T0);
+        board.record(3L, 20L, 4.0, T0);
+        board.record(4L, 20L, 1.0, T0);
+        board.record(1L, 10L, -5.0, T0);
+
+        board.refresh(T0);
+
+        assertEquals(List.of(3L, 2L), board.top().stream().map(DecayedScoreBoard.Score::bookId).toList());
+        assertEquals(List.of(2L), board.top(10L).stream().map(DecayedScoreBoard.Score::bookId).toList());
+        assertEquals(List.of(3L, 4L), board.top(20L).stream().map(DecayedScoreBoard.Score::bookId).toList());
+    }
+
+    @Test
+    @DisplayName("rebase keeps the same decayed scores far past the landmark")
+    void rebase_preservesScores() {
+        Duration halfLife = Duration.ofMinutes(1);
+        DecayedScoreBoard board = new DecayedScoreBoard(halfLife, 10, T0);
+        long later = T0 + 1000 * halfLife.toMillis();
+        board.record(1L, 10L, 4.0, later - halfLife.toMillis());
+
+        board.refresh(later);
+
+        assertEquals(2.0, board.top().get(0).score(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("snapshot round-trips scores and prune drops cold books")
+    void snapshot_roundTrip_andPrune() throws IOException {
+        DecayedScoreBoard board = new DecayedScoreBoard(Duration.ofHours(1), 10, T0);
+        board.record(1L, 10L, 8.0, T0);
+        board.record(2L, null, 0.01, T0);
+        assertEquals(1, board.prune(T0, 0.05));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        board.writeSnapshot(new DataOutputStream(bytes));
+
+        DecayedScoreBoard restored = new DecayedScoreBoard(Duration.ofHours(1), 10, T0 + HOUR);
+        restored.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        restored.refresh(T0 + HOUR);
+
+        assertEquals(1, restored.size());
+        assertEquals(4.0, restored.top(10L).get(0).score(), 1e-9);
+    }
+}
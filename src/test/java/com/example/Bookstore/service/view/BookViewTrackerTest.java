@@ -0,0 +1,107 @@
+package com.example.Bookstore.service.view;
+
+import com.example.Bookstore.config.BookViewProperties;
+import com.example.Bookstore.repository.book.BookRepository;
+import com.example.Bookstore.service.RecentBookService;
+import com.example.Bookstore.service.trending.TrendingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookViewTrackerTest {
+
+    @Mock private BookRepository bookRepository;
+    @Mock private RecentBookService recentBookService;
+    @Mock private TrendingService trendingService;
+
+    private final BookViewProperties properties = new BookViewProperties();
+    private BookViewTracker tracker;
+
+    @BeforeEach
+    void setup() {
+        properties.setQueueCapacity(3);
+        // 소비자 스레드는 띄우지 않고 drain() 으로 직접 처리
+        tracker = new BookViewTracker(bookRepository, recentBookService, trendingService, properties);
+    }
+
+    @Test
+    @DisplayName("a drained batch updates recent books once per batch and feeds trending per view")
+    void drain_processesBatch() {
+        tracker.submit(1L, 5L, 100L);
+        tracker.submit(1L, 6L, 200L);
+        tracker.submit(null, 5L, 100L);
+
+        assertEquals(3, tracker.drain());
+
+        verify(recentBookService).recordRecentBooks(Map.of(1L, List.of(5L, 6L)));
+        verify(trendingService, times(2)).recordView(5L, 100L);
+        verify(trendingService).recordView(6L, 200L);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("view counts are aggregated per book and written in one batch on flush")
+    void flush_aggregatesViewCounts() {
+        tracker.submit(1L, 5L, 100L);
+        tracker.submit(2L, 5L, 100L);
+        tracker.submit(null, 6L, 200L);
+        tracker.drain();
+
+        tracker.flushViewCounts();
+        tracker.flushViewCounts();
+
+        verify(bookRepository).addViewCounts(Map.of(5L, 2L, 6L, 1L));
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("failed flush keeps the increments for the next round")
+    void flush_failure_retries() {
+        tracker.submit(null, 5L, 100L);
+        tracker.drain();
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(bookRepository).addViewCounts(anyMap());
+
+        tracker.flushViewCounts();
+        tracker.submit(null, 5L, 100L);
+        tracker.drain();
+        tracker.flushViewCounts();
+
+        verify(bookRepository).addViewCounts(Map.of(5L, 1L));
+        verify(bookRepository).addViewCounts(Map.of(5L, 2L));
+    }
+
+    @Test
+    @DisplayName("full queue drops new views without blocking the request")
+    void submit_fullQueue_drops() {
+        for (int i = 0; i < 5; i++) {
+            tracker.submit(null, (long) i, null);
+        }
+
+        assertEquals(3, tracker.queuedCount());
+        assertEquals(2, tracker.droppedCount());
+    }
+
+    @Test
+    @DisplayName("shutdown processes the remaining queue and flushes view counts")
+    void shutdown_drainsAndFlushes() {
+        tracker.submit(1L, 5L, 100L);
+
+        tracker.shutdown();
+
+        assertEquals(0, tracker.queuedCount());
+        verify(recentBookService).recordRecentBooks(Map.of(1L, List.of(5L)));
+        verify(bookRepository).addViewCounts(Map.of(5L, 1L));
+    }
+}